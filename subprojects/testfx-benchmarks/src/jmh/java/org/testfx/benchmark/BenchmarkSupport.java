@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.benchmark;
+
+import java.util.concurrent.TimeoutException;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+import org.testfx.api.FxToolkit;
+
+/**
+ * Helpers shared by the benchmarks: starting the (headless) toolkit and building synthetic scene graphs.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {}
+
+    /**
+     * Starts the toolkit (if not already running) and registers the primary stage.
+     */
+    static void registerPrimaryStage() {
+        try {
+            FxToolkit.registerPrimaryStage();
+        }
+        catch (TimeoutException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Builds a tree of {@link VBox}es ("branch" style class) with the given depth where each branch has
+     * {@code breadth} children, and the branches at the lowest level contain {@code breadth} {@link Text}
+     * leaves ("leaf" style class, ids and texts "leaf-0", "leaf-1", ...).
+     */
+    static Parent sceneGraph(int depth, int breadth) {
+        int[] leafCount = {0};
+        return branch(depth, breadth, leafCount);
+    }
+
+    private static Parent branch(int depth, int breadth, int[] leafCount) {
+        Pane branch = new VBox();
+        branch.getStyleClass().add("branch");
+        for (int i = 0; i < breadth; i++) {
+            Node child;
+            if (depth > 1) {
+                child = branch(depth - 1, breadth, leafCount);
+            }
+            else {
+                String name = "leaf-" + leafCount[0]++;
+                child = new Text(name);
+                child.setId(name);
+                child.getStyleClass().add("leaf");
+            }
+            branch.getChildren().add(child);
+        }
+        return branch;
+    }
+
+}
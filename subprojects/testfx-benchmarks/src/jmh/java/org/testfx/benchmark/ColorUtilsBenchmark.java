@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.benchmark;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.paint.Color;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.testfx.util.ColorUtils;
+
+/**
+ * Measures the named color lookups of {@link ColorUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorUtilsBenchmark {
+
+    private static final int COLOR_COUNT = 1024;
+
+    Color[] colors;
+    int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        colors = new Color[COLOR_COUNT];
+        for (int i = 0; i < COLOR_COUNT; i++) {
+            colors[i] = Color.rgb(random.nextInt(256), random.nextInt(256), random.nextInt(256));
+        }
+    }
+
+    private Color nextColor() {
+        index = (index + 1) % COLOR_COUNT;
+        return colors[index];
+    }
+
+    @Benchmark
+    public Color getClosestNamedColor() {
+        return ColorUtils.getClosestNamedColor(nextColor());
+    }
+
+    @Benchmark
+    public Optional<Color> getNamedColorByName() {
+        return ColorUtils.getNamedColor("cornflowerblue");
+    }
+
+    @Benchmark
+    public Optional<Color> getNamedColorByColor() {
+        return ColorUtils.getNamedColor(nextColor());
+    }
+
+    @Benchmark
+    public double calculateColorDistSq() {
+        return ColorUtils.calculateColorDistSq(nextColor(), Color.CORNFLOWERBLUE);
+    }
+
+}
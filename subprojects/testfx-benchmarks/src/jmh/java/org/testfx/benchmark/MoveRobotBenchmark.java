@@ -0,0 +1,172 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.benchmark;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.testfx.robot.BaseRobot;
+import org.testfx.robot.Motion;
+import org.testfx.robot.MouseRobot;
+import org.testfx.robot.SleepRobot;
+import org.testfx.robot.impl.MoveRobotImpl;
+
+/**
+ * Measures the path generation of {@link MoveRobotImpl}. The robots it drives do nothing except consume the
+ * generated points, so neither the robot adapter nor the sleeps between steps are part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoveRobotBenchmark {
+
+    @Param({"DIRECT", "HORIZONTAL_FIRST"})
+    Motion motion;
+
+    @Param({"50", "500"})
+    double distance;
+
+    MoveRobotImpl moveRobot;
+    ConsumingMouseRobot mouseRobot;
+
+    @Setup
+    public void setup() {
+        mouseRobot = new ConsumingMouseRobot();
+        moveRobot = new MoveRobotImpl(new ConsumingBaseRobot(), mouseRobot, new NoSleepRobot());
+    }
+
+    @Benchmark
+    public double moveBy() {
+        moveRobot.moveBy(distance, distance / 3, motion);
+        return mouseRobot.checksum;
+    }
+
+    private static class ConsumingBaseRobot implements BaseRobot {
+
+        @Override
+        public void pressKeyboard(KeyCode key) {
+        }
+
+        @Override
+        public void releaseKeyboard(KeyCode key) {
+        }
+
+        @Override
+        public void typeKeyboard(Scene scene, KeyCode key, String character) {
+        }
+
+        @Override
+        public Point2D retrieveMouse() {
+            return Point2D.ZERO;
+        }
+
+        @Override
+        public void moveMouse(Point2D point) {
+        }
+
+        @Override
+        public void scrollMouse(int amount) {
+        }
+
+        @Override
+        public void pressMouse(MouseButton button) {
+        }
+
+        @Override
+        public void releaseMouse(MouseButton button) {
+        }
+
+        @Override
+        public Image captureRegion(Rectangle2D region) {
+            return null;
+        }
+
+    }
+
+    private static class NoSleepRobot implements SleepRobot {
+
+        @Override
+        public void sleep(long milliseconds) {
+        }
+
+        @Override
+        public void sleep(long duration, TimeUnit timeUnit) {
+        }
+
+    }
+
+    private static class ConsumingMouseRobot implements MouseRobot {
+
+        private double checksum;
+
+        @Override
+        public void press(MouseButton... buttons) {
+        }
+
+        @Override
+        public void pressNoWait(MouseButton... buttons) {
+        }
+
+        @Override
+        public Set<MouseButton> getPressedButtons() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public void release(MouseButton... buttons) {
+        }
+
+        @Override
+        public void releaseNoWait(MouseButton... buttons) {
+        }
+
+        @Override
+        public void move(Point2D location) {
+            checksum += location.getX() + location.getY();
+        }
+
+        @Override
+        public void moveNoWait(Point2D location) {
+            checksum += location.getX() + location.getY();
+        }
+
+        @Override
+        public void scroll(int wheelAmount) {
+        }
+
+        @Override
+        public void scrollNoWait(int wheelAmount) {
+        }
+
+    }
+
+}
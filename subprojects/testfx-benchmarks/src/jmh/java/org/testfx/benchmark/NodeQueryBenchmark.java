@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.testfx.service.query.impl.NodeQueryImpl;
+import org.testfx.util.NodeQueryUtils;
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * Measures {@link NodeQueryUtils} traversals and {@link NodeQueryImpl} chains on a synthetic scene graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodeQueryBenchmark {
+
+    @Param({"3", "5"})
+    int depth;
+
+    @Param({"4"})
+    int breadth;
+
+    Parent root;
+    String lastLeafId;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.registerPrimaryStage();
+        root = BenchmarkSupport.sceneGraph(depth, breadth);
+        lastLeafId = "leaf-" + ((int) Math.pow(breadth, depth) - 1);
+        // The visibility checks need the nodes to be part of a scene.
+        WaitForAsyncUtils.waitForAsyncFx(10000, () -> new Scene(root, 800, 600));
+    }
+
+    @Benchmark
+    public Set<Node> lookupBySelector() {
+        return NodeQueryUtils.bySelector(".leaf").apply(root);
+    }
+
+    @Benchmark
+    public Set<Node> lookupById() {
+        return NodeQueryUtils.byPredicate(NodeQueryUtils.hasId(lastLeafId)).apply(root);
+    }
+
+    @Benchmark
+    public Set<Node> lookupByText() {
+        return NodeQueryUtils.byText(lastLeafId).apply(root);
+    }
+
+    @Benchmark
+    public Set<Node> nodeQueryChain() {
+        return new NodeQueryImpl()
+                .from(root)
+                .lookup(".branch")
+                .lookup(".leaf")
+                .match(NodeQueryUtils.isVisible())
+                .queryAll();
+    }
+
+    @Benchmark
+    public Node nodeQueryFirst() {
+        return new NodeQueryImpl()
+                .from(root)
+                .lookup(".leaf")
+                .query();
+    }
+
+}
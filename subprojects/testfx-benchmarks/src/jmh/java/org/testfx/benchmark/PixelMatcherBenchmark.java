@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.testfx.service.support.PixelMatcherResult;
+import org.testfx.service.support.impl.PixelMatcherBase;
+import org.testfx.service.support.impl.PixelMatcherRgb;
+
+/**
+ * Measures {@link PixelMatcherBase#match} on two noisy images that differ in about one percent of their pixels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PixelMatcherBenchmark {
+
+    @Param({"256", "1024"})
+    int size;
+
+    WritableImage image0;
+    WritableImage image1;
+    PixelMatcherRgb pixelMatcher;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.registerPrimaryStage();
+        Random random = new Random(42);
+        image0 = new WritableImage(size, size);
+        image1 = new WritableImage(size, size);
+        PixelWriter writer0 = image0.getPixelWriter();
+        PixelWriter writer1 = image1.getPixelWriter();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int argb = 0xFF000000 | random.nextInt(0x1000000);
+                writer0.setArgb(x, y, argb);
+                writer1.setArgb(x, y, random.nextInt(100) == 0 ? ~argb | 0xFF000000 : argb);
+            }
+        }
+        pixelMatcher = new PixelMatcherRgb();
+    }
+
+    @Benchmark
+    public PixelMatcherResult match() {
+        return pixelMatcher.match(image0, image1);
+    }
+
+    @Benchmark
+    public boolean matchColors() {
+        return pixelMatcher.matchColors(Color.CORNFLOWERBLUE, Color.ROYALBLUE);
+    }
+
+}
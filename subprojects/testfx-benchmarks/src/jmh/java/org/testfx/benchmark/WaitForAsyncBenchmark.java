@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * Measures the round-trip latency between the benchmark thread and the FX application thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WaitForAsyncBenchmark {
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.registerPrimaryStage();
+    }
+
+    @Benchmark
+    public Integer asyncFxRoundTrip() {
+        return WaitForAsyncUtils.waitFor(WaitForAsyncUtils.asyncFx(() -> 42));
+    }
+
+    @Benchmark
+    public Integer asyncRoundTrip() {
+        return WaitForAsyncUtils.waitFor(WaitForAsyncUtils.async(() -> 42));
+    }
+
+    @Benchmark
+    public void waitForFxEventsSingleAttempt() {
+        WaitForAsyncUtils.waitForFxEvents(1);
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Scene;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.testfx.service.finder.impl.WindowFinderImpl;
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * Measures the window ordering of {@link WindowFinderImpl} with a number of showing (owned) stages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WindowFinderBenchmark {
+
+    @Param({"1", "10", "50"})
+    int windowCount;
+
+    WindowFinderImpl windowFinder;
+    List<Stage> stages;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.registerPrimaryStage();
+        stages = WaitForAsyncUtils.waitForAsyncFx(10000, () -> {
+            List<Stage> createdStages = new ArrayList<>();
+            for (int i = 0; i < windowCount; i++) {
+                Stage stage = new Stage();
+                if (i % 2 == 1) {
+                    // Half of the stages are owned, which makes the proximity ordering do some work.
+                    stage.initOwner(createdStages.get(i / 2));
+                }
+                stage.setTitle("stage-" + i);
+                stage.setScene(new Scene(new Region(), 100, 100));
+                stage.show();
+                createdStages.add(stage);
+            }
+            return createdStages;
+        });
+        windowFinder = new WindowFinderImpl();
+        windowFinder.targetWindow(stages.get(stages.size() - 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        WaitForAsyncUtils.waitForAsyncFx(10000, () -> stages.forEach(Stage::hide));
+    }
+
+    @Benchmark
+    public List<Window> listWindows() {
+        return windowFinder.listWindows();
+    }
+
+    @Benchmark
+    public List<Window> listTargetWindows() {
+        return windowFinder.listTargetWindows();
+    }
+
+    @Benchmark
+    public Window windowByTitle() {
+        return windowFinder.window("stage-0");
+    }
+
+}
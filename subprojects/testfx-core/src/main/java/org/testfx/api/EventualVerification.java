@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.api;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ObservableValue;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * The outcome of a successful {@link FxAssert#verifyThatEventually(javafx.scene.Node, Matcher, long, TimeUnit,
+ * Observable...) eventual verification}: how often the matcher was evaluated and how long it took until it matched.
+ * <p>
+ * The matcher is evaluated on the JavaFX Application Thread: once immediately and then either once per pulse or,
+ * if observables were given, once after each invalidation of one of them (multiple invalidations before the next
+ * evaluation are coalesced). The values of the observables are read on each evaluation, so that observables which
+ * are not read by the matcher itself (e.g. bindings) are invalidated again. The node to verify is resolved only once
+ * and reused for every evaluation. If the matcher throws an exception, the verification fails right away.
+ */
+public final class EventualVerification<T> {
+
+    private static final long RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
+
+    private final Supplier<T> nodeResolver;
+    private final Matcher<? super T> matcher;
+    private final Observable[] invalidatedBy;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicBoolean evaluationScheduled = new AtomicBoolean();
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final InvalidationListener invalidationListener = observable -> scheduleEvaluation();
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            evaluate();
+        }
+    };
+
+    private volatile T node;
+    private volatile RuntimeException resolveException;
+    private volatile RuntimeException matchException;
+    private volatile long latencyNanos;
+    private long startNanos;
+
+    EventualVerification(Supplier<T> nodeResolver, Matcher<? super T> matcher, Observable... invalidatedBy) {
+        this.nodeResolver = nodeResolver;
+        this.matcher = matcher;
+        this.invalidatedBy = invalidatedBy;
+    }
+
+    /**
+     * Returns the number of times the matcher was evaluated.
+     */
+    public int getEvaluations() {
+        return evaluations.get();
+    }
+
+    /**
+     * Returns the time it took from starting the verification until the matcher matched.
+     */
+    public long getLatency(TimeUnit timeUnit) {
+        return timeUnit.convert(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    EventualVerification<T> await(long timeout, TimeUnit timeUnit,
+                                  Function<StringBuilder, StringBuilder> errorMessageMapper) {
+        if (Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("an eventual verification can not be awaited on the " +
+                "JavaFX Application Thread");
+        }
+        startNanos = System.nanoTime();
+        WaitForAsyncUtils.asyncFx(this::start);
+        boolean done;
+        try {
+            done = finished.await(timeout, timeUnit) || finished.getCount() == 0;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(exception);
+        }
+        finally {
+            WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, this::stop);
+        }
+        if (matchException != null) {
+            throw failure(timeout, timeUnit, "matcher threw " + matchException, matchException, errorMessageMapper);
+        }
+        if (!done) {
+            String mismatch = WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
+                this::describeMismatch);
+            throw failure(timeout, timeUnit, mismatch, resolveException, errorMessageMapper);
+        }
+        return this;
+    }
+
+    private AssertionError failure(long timeout, TimeUnit timeUnit, String mismatch, Throwable cause,
+                                   Function<StringBuilder, StringBuilder> errorMessageMapper) {
+        int count = evaluations.get();
+        StringBuilder sb = new StringBuilder("\nExpected: ").append(StringDescription.toString(matcher))
+            .append(" within ").append(timeout).append(' ').append(timeUnit.toString().toLowerCase(Locale.ROOT))
+            .append("\n     but: ").append(mismatch)
+            .append("\n(evaluated ").append(count).append(count == 1 ? " time)" : " times)");
+        return new AssertionError(errorMessageMapper.apply(sb).toString(), cause);
+    }
+
+    private void start() {
+        evaluate();
+        if (finished.getCount() == 0) {
+            return;
+        }
+        if (invalidatedBy.length == 0) {
+            pulseTimer.start();
+        } else {
+            for (Observable observable : invalidatedBy) {
+                observable.addListener(invalidationListener);
+            }
+        }
+    }
+
+    private void stop() {
+        pulseTimer.stop();
+        for (Observable observable : invalidatedBy) {
+            observable.removeListener(invalidationListener);
+        }
+    }
+
+    private void scheduleEvaluation() {
+        if (evaluationScheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                evaluationScheduled.set(false);
+                evaluate();
+            });
+        }
+    }
+
+    private void evaluate() {
+        if (finished.getCount() == 0) {
+            return;
+        }
+        evaluations.incrementAndGet();
+        for (Observable observable : invalidatedBy) {
+            if (observable instanceof ObservableValue) {
+                // an invalid observable value does not notify its listeners again until it is validated
+                ((ObservableValue<?>) observable).getValue();
+            }
+        }
+        if (node == null) {
+            try {
+                node = nodeResolver.get();
+                resolveException = null;
+            }
+            catch (RuntimeException exception) {
+                resolveException = exception;
+                return;
+            }
+        }
+        boolean matches;
+        try {
+            matches = matcher.matches(node);
+        }
+        catch (RuntimeException exception) {
+            // the matcher would throw again on every evaluation, so fail right away
+            matchException = exception;
+            finished.countDown();
+            stop();
+            return;
+        }
+        if (matches) {
+            latencyNanos = System.nanoTime() - startNanos;
+            finished.countDown();
+            stop();
+        }
+    }
+
+    private String describeMismatch() {
+        if (resolveException != null) {
+            return resolveException.toString();
+        }
+        StringDescription description = new StringDescription();
+        matcher.describeMismatch(node, description);
+        return description.toString();
+    }
+
+}
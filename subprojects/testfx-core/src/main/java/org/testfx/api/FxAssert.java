@@ -17,8 +17,10 @@
 package org.testfx.api;
 
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import javafx.beans.Observable;
 import javafx.scene.Node;
 
 import org.hamcrest.Matcher;
@@ -138,6 +140,87 @@ public final class FxAssert {
         verifyThatImpl("", nodeQuery.query(), toNodeMatcher(nodePredicate), errorMessageMapper);
     }
 
+    /**
+     * Verifies that the given {@code node} eventually matches the given {@code nodeMatcher} within the given
+     * {@code timeout}. Instead of polling the matcher from the test thread, it is evaluated on the JavaFX Application
+     * Thread once per pulse or, if {@code invalidatedBy} observables are given, after each of their invalidations.
+     *
+     * @return the number of evaluations and the latency until the node matched
+     * @throws AssertionError if the node did not match within the given timeout
+     */
+    public static <T extends Node> EventualVerification<T> verifyThatEventually(T node, Matcher<T> nodeMatcher,
+                                                                                long timeout, TimeUnit timeUnit,
+                                                                                Observable... invalidatedBy) {
+        return verifyThatEventually(node, nodeMatcher, timeout, timeUnit, Function.identity(), invalidatedBy);
+    }
+
+    public static <T extends Node> EventualVerification<T> verifyThatEventually(T node, Matcher<T> nodeMatcher,
+                                                                                long timeout, TimeUnit timeUnit,
+                                                                                Function<StringBuilder, StringBuilder>
+                                                                                    errorMessageMapper,
+                                                                                Observable... invalidatedBy) {
+        return new EventualVerification<>(() -> node, nodeMatcher, invalidatedBy)
+            .await(timeout, timeUnit, errorMessageMapper);
+    }
+
+    /**
+     * Verifies that the node found by the given {@code nodeQuery} eventually matches the given {@code nodeMatcher}
+     * within the given {@code timeout}, see {@link #verifyThatEventually(Node, Matcher, long, TimeUnit,
+     * Observable...)}. The node is looked up until it is found and then reused for all further evaluations.
+     *
+     * @return the number of evaluations and the latency until the node matched
+     * @throws AssertionError if the node was not found or did not match within the given timeout
+     */
+    public static <T extends Node> EventualVerification<T> verifyThatEventually(String nodeQuery,
+                                                                                Matcher<T> nodeMatcher,
+                                                                                long timeout, TimeUnit timeUnit,
+                                                                                Observable... invalidatedBy) {
+        return verifyThatEventually(nodeQuery, nodeMatcher, timeout, timeUnit, Function.identity(), invalidatedBy);
+    }
+
+    public static <T extends Node> EventualVerification<T> verifyThatEventually(String nodeQuery,
+                                                                                Matcher<T> nodeMatcher,
+                                                                                long timeout, TimeUnit timeUnit,
+                                                                                Function<StringBuilder, StringBuilder>
+                                                                                    errorMessageMapper,
+                                                                                Observable... invalidatedBy) {
+        return new EventualVerification<T>(() -> toNode(nodeQuery), nodeMatcher, invalidatedBy)
+            .await(timeout, timeUnit, errorMessageMapper);
+    }
+
+    /**
+     * Verifies that the node found by the given {@code nodeQuery} eventually matches the given {@code nodeMatcher}
+     * within the given {@code timeout}, see {@link #verifyThatEventually(Node, Matcher, long, TimeUnit,
+     * Observable...)}. The node is queried until it is found and then reused for all further evaluations.
+     *
+     * @return the number of evaluations and the latency until the node matched
+     * @throws AssertionError if the node was not found or did not match within the given timeout
+     */
+    public static <T extends Node> EventualVerification<T> verifyThatEventually(NodeQuery nodeQuery,
+                                                                                Matcher<T> nodeMatcher,
+                                                                                long timeout, TimeUnit timeUnit,
+                                                                                Observable... invalidatedBy) {
+        return verifyThatEventually(nodeQuery, nodeMatcher, timeout, timeUnit, Function.identity(), invalidatedBy);
+    }
+
+    public static <T extends Node> EventualVerification<T> verifyThatEventually(NodeQuery nodeQuery,
+                                                                                Matcher<T> nodeMatcher,
+                                                                                long timeout, TimeUnit timeUnit,
+                                                                                Function<StringBuilder, StringBuilder>
+                                                                                    errorMessageMapper,
+                                                                                Observable... invalidatedBy) {
+        return new EventualVerification<T>(nodeQuery::query, nodeMatcher, invalidatedBy)
+            .await(timeout, timeUnit, errorMessageMapper);
+    }
+
+    /**
+     * Starts a batch of verifications that are evaluated together on the JavaFX Application Thread by
+     * {@link FxAssertBatch#verify()}, which reports all failed verifications at once.
+     */
+    public static FxAssertBatch verifyAll() {
+        return new FxAssertBatch();
+    }
+
     public static FxAssertContext assertContext() {
         if (context == null) {
             context = new FxAssertContext();
@@ -162,17 +245,17 @@ public final class FxAssert {
         }
     }
 
-    private static <T extends Node> T toNode(String nodeQuery) {
+    static <T extends Node> T toNode(String nodeQuery) {
         NodeFinder nodeFinder = assertContext().getNodeFinder();
         return nodeFinder.lookup(nodeQuery).query();
     }
 
-    private static <T extends Node> Set<T> toNodeSet(String nodeQuery) {
+    static <T extends Node> Set<T> toNodeSet(String nodeQuery) {
         NodeFinder nodeFinder = assertContext().getNodeFinder();
         return nodeFinder.lookup(nodeQuery).queryAll();
     }
 
-    private static <T extends Node> Matcher<T> toNodeMatcher(Predicate<T> nodePredicate) {
+    static <T extends Node> Matcher<T> toNodeMatcher(Predicate<T> nodePredicate) {
         return GeneralMatchers.baseMatcher("applies on Predicate", nodePredicate);
     }
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javafx.scene.Node;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
+import org.testfx.service.query.NodeQuery;
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * Collects verifications that are then evaluated together in a single pass on the JavaFX Application Thread, so
+ * that all of them see the scene graph in the same state and the test thread only has to wait once:
+ * <pre>{@code
+ * FxAssert.verifyAll()
+ *     .that("#name", hasText("Alice"))
+ *     .that("#age", hasText("42"))
+ *     .that(saveButton, isEnabled())
+ *     .verify(informedErrorMessage(this));
+ * }</pre>
+ * Every verification is evaluated, even if a previous one failed, and all failures are reported together in
+ * a single {@link AssertionError}. Node queries are looked up during that pass as well. As the verifications run
+ * on the JavaFX Application Thread they must not wait for it (e.g. via
+ * {@link WaitForAsyncUtils#waitForFxEvents()}).
+ */
+public final class FxAssertBatch {
+
+    private static final long VERIFICATION_TIMEOUT_IN_MILLIS = 10000;
+
+    private final List<Runnable> verifications = new ArrayList<>();
+
+    FxAssertBatch() {}
+
+    public <T> FxAssertBatch that(T value, Matcher<? super T> matcher) {
+        verifications.add(() -> MatcherAssert.assertThat("", value, matcher));
+        return this;
+    }
+
+    public <T extends Node> FxAssertBatch that(T node, Predicate<T> nodePredicate) {
+        return that(node, FxAssert.toNodeMatcher(nodePredicate));
+    }
+
+    public <T extends Node> FxAssertBatch that(String nodeQuery, Matcher<T> nodeMatcher) {
+        verifications.add(() -> MatcherAssert.assertThat("", FxAssert.<T>toNode(nodeQuery), nodeMatcher));
+        return this;
+    }
+
+    public <T extends Node> FxAssertBatch that(String nodeQuery, Predicate<T> nodePredicate) {
+        return that(nodeQuery, FxAssert.toNodeMatcher(nodePredicate));
+    }
+
+    public <T extends Node> FxAssertBatch that(NodeQuery nodeQuery, Matcher<T> nodeMatcher) {
+        verifications.add(() -> MatcherAssert.assertThat("", nodeQuery.<T>query(), nodeMatcher));
+        return this;
+    }
+
+    public <T extends Node> FxAssertBatch that(NodeQuery nodeQuery, Predicate<T> nodePredicate) {
+        return that(nodeQuery, FxAssert.toNodeMatcher(nodePredicate));
+    }
+
+    public <T extends Node> FxAssertBatch thatIter(String nodeQuery, Matcher<Iterable<T>> nodesMatcher) {
+        verifications.add(() -> MatcherAssert.assertThat("", FxAssert.<T>toNodeSet(nodeQuery), nodesMatcher));
+        return this;
+    }
+
+    public <T extends Node> FxAssertBatch thatIter(NodeQuery nodeQuery, Matcher<Iterable<T>> nodesMatcher) {
+        verifications.add(() -> MatcherAssert.assertThat("", nodeQuery.<T>queryAll(), nodesMatcher));
+        return this;
+    }
+
+    /**
+     * Evaluates all collected verifications on the JavaFX Application Thread.
+     *
+     * @throws AssertionError if at least one verification failed, describing all failures
+     */
+    public void verify() {
+        verify(Function.identity());
+    }
+
+    /**
+     * Evaluates all collected verifications on the JavaFX Application Thread.
+     *
+     * @param errorMessageMapper maps the description of all failures, e.g.
+     * {@link org.testfx.util.DebugUtils#informedErrorMessage(FxRobot)}
+     * @throws AssertionError if at least one verification failed, describing all failures
+     */
+    public void verify(Function<StringBuilder, StringBuilder> errorMessageMapper) {
+        List<String> failures = WaitForAsyncUtils.waitForAsyncFx(VERIFICATION_TIMEOUT_IN_MILLIS, () -> {
+            List<String> messages = new ArrayList<>();
+            for (Runnable verification : verifications) {
+                try {
+                    verification.run();
+                }
+                catch (AssertionError error) {
+                    messages.add(String.valueOf(error.getMessage()).trim());
+                }
+                catch (RuntimeException exception) {
+                    messages.add(exception.toString());
+                }
+            }
+            return messages;
+        });
+        if (!failures.isEmpty()) {
+            StringBuilder sb = new StringBuilder().append(failures.size()).append(" of ").append(verifications.size())
+                .append(" verifications failed:");
+            for (int i = 0; i < failures.size(); i++) {
+                sb.append("\n\n").append(i + 1).append(") ").append(failures.get(i));
+            }
+            throw new AssertionError(errorMessageMapper.apply(sb));
+        }
+    }
+
+}
@@ -43,6 +43,7 @@ import javafx.scene.input.MouseButton;
 import javafx.stage.Window;
 
 import org.hamcrest.Matcher;
+import org.testfx.robot.Gesture;
 import org.testfx.robot.Motion;
 import org.testfx.service.locator.PointLocator;
 import org.testfx.service.query.BoundsQuery;
@@ -53,6 +54,7 @@ import org.testfx.util.BoundsQueryUtils;
 
 import static org.testfx.util.NodeQueryUtils.isVisible;
 import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.deferFxEventsWaits;
 import static org.testfx.util.WaitForAsyncUtils.waitFor;
 import static org.testfx.util.WaitForAsyncUtils.waitForFxEvents;
 
@@ -67,6 +69,14 @@ public class FxRobot implements FxRobotInterface {
         context = new FxRobotContext();
     }
 
+    /**
+     * Constructs a robot that uses the given context, e.g. a context isolated to one window with
+     * {@link FxRobotContext#FxRobotContext(Window)}.
+     */
+    public FxRobot(FxRobotContext context) {
+        this.context = context;
+    }
+
     /**
      * Returns the internal context.
      */
@@ -448,6 +458,29 @@ public class FxRobot implements FxRobotInterface {
         return this;
     }
 
+    @Override
+    public FxRobot batch(Runnable actions) {
+        deferFxEventsWaits(actions);
+        return this;
+    }
+
+    @Override
+    public FxRobot startRecording() {
+        context.getGestureRobot().startRecording();
+        return this;
+    }
+
+    @Override
+    public Gesture stopRecording() {
+        return context.getGestureRobot().stopRecording();
+    }
+
+    @Override
+    public FxRobot replay(Gesture gesture) {
+        context.getGestureRobot().replay(gesture);
+        return this;
+    }
+
     @Override
     public FxRobot push(KeyCode... combination) {
         context.getTypeRobot().push(combination);
@@ -547,6 +580,29 @@ public class FxRobot implements FxRobotInterface {
         return this;
     }
 
+    @Override
+    public FxRobot scrollCoalesced(int amount, VerticalDirection direction) {
+        context.getScrollRobot().scrollCoalesced(amount, direction);
+        return this;
+    }
+
+    @Override
+    public FxRobot scrollCoalesced(int amount, HorizontalDirection direction) {
+        context.getScrollRobot().scrollCoalesced(amount, direction);
+        return this;
+    }
+
+    @Override
+    public FxRobot scrollTo(Node node) {
+        context.getScrollRobot().scrollTo(node);
+        return this;
+    }
+
+    @Override
+    public FxRobot scrollTo(String query) {
+        return scrollTo(queryNode(lookup(query), "the query \"" + query + "\""));
+    }
+
     @Override
     public FxRobot press(KeyCode... keys) {
         context.getKeyboardRobot().press(keys);
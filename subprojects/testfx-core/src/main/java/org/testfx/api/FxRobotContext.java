@@ -16,11 +16,14 @@
  */
 package org.testfx.api;
 
+import java.util.Objects;
 import javafx.geometry.Pos;
+import javafx.stage.Window;
 
 import org.testfx.robot.BaseRobot;
 import org.testfx.robot.ClickRobot;
 import org.testfx.robot.DragRobot;
+import org.testfx.robot.GestureRobot;
 import org.testfx.robot.KeyboardRobot;
 import org.testfx.robot.MouseRobot;
 import org.testfx.robot.MoveRobot;
@@ -31,6 +34,7 @@ import org.testfx.robot.WriteRobot;
 import org.testfx.robot.impl.BaseRobotImpl;
 import org.testfx.robot.impl.ClickRobotImpl;
 import org.testfx.robot.impl.DragRobotImpl;
+import org.testfx.robot.impl.GestureRobotImpl;
 import org.testfx.robot.impl.KeyboardRobotImpl;
 import org.testfx.robot.impl.MouseRobotImpl;
 import org.testfx.robot.impl.MoveRobotImpl;
@@ -40,11 +44,14 @@ import org.testfx.robot.impl.TypeRobotImpl;
 import org.testfx.robot.impl.WriteRobotImpl;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.finder.WindowFinder;
+import org.testfx.service.finder.impl.NodeFinderImpl;
+import org.testfx.service.finder.impl.WindowFinderImpl;
 import org.testfx.service.locator.BoundsLocator;
 import org.testfx.service.locator.PointLocator;
 import org.testfx.service.locator.impl.BoundsLocatorImpl;
 import org.testfx.service.locator.impl.PointLocatorImpl;
 import org.testfx.service.support.CaptureSupport;
+import org.testfx.service.support.RobotInstrumentation;
 import org.testfx.service.support.impl.CaptureSupportImpl;
 
 /**
@@ -58,6 +65,7 @@ public class FxRobotContext {
     private final BoundsLocator boundsLocator;
     private final PointLocator pointLocator;
     private final BaseRobot baseRobot;
+    private final GestureRobot gestureRobot;
     private final MouseRobot mouseRobot;
     private final KeyboardRobot keyboardRobot;
     private final MoveRobot moveRobot;
@@ -69,19 +77,47 @@ public class FxRobotContext {
     private final WriteRobot writeRobot;
     private final CaptureSupport captureSupport;
     private Pos pointPosition;
+    private volatile RobotInstrumentation instrumentation = RobotInstrumentation.NONE;
 
     public FxRobotContext() {
-        windowFinder = FxService.serviceContext().getWindowFinder();
-        nodeFinder = FxService.serviceContext().getNodeFinder();
+        this(FxService.serviceContext().getWindowFinder(), FxService.serviceContext().getNodeFinder(), null);
+    }
+
+    /**
+     * Creates a context that is isolated from all other contexts, so that tests can run concurrently, each in its
+     * own window: it has its own window and node finders which only see the given {@code scopeWindow} and the
+     * windows owned by it, and its robots only deliver input to those windows. This requires the headless robot
+     * adapter ({@code -Dtestfx.robot=headless}).
+     *
+     * @throws IllegalStateException if another robot adapter is used
+     */
+    public FxRobotContext(Window scopeWindow) {
+        this(new WindowFinderImpl(Objects.requireNonNull(scopeWindow, "scopeWindow must not be null")), scopeWindow);
+    }
+
+    private FxRobotContext(WindowFinder windowFinder, Window scopeWindow) {
+        this(windowFinder, new NodeFinderImpl(windowFinder), scopeWindow);
+    }
+
+    private FxRobotContext(WindowFinder windowFinder, NodeFinder nodeFinder, Window scopeWindow) {
+        this.windowFinder = windowFinder;
+        this.nodeFinder = nodeFinder;
         boundsLocator = new BoundsLocatorImpl();
         pointLocator = new PointLocatorImpl(boundsLocator);
-        baseRobot = new BaseRobotImpl();
-        keyboardRobot = new KeyboardRobotImpl(baseRobot);
-        mouseRobot = new MouseRobotImpl(baseRobot);
-        sleepRobot = new SleepRobotImpl();
+        // The robots report to whatever instrumentation is currently set on this context.
+        RobotInstrumentation contextInstrumentation = (stage, durationNanos) ->
+                instrumentation.record(stage, durationNanos);
+        BaseRobotImpl baseRobotImpl = scopeWindow == null ? new BaseRobotImpl(contextInstrumentation) :
+                new BaseRobotImpl(contextInstrumentation, window -> windowFinder.listWindows().contains(window));
+        GestureRobotImpl gestureRobotImpl = new GestureRobotImpl(baseRobotImpl, windowFinder);
+        baseRobot = gestureRobotImpl;
+        gestureRobot = gestureRobotImpl;
+        keyboardRobot = new KeyboardRobotImpl(baseRobot, contextInstrumentation);
+        mouseRobot = new MouseRobotImpl(baseRobot, contextInstrumentation);
+        sleepRobot = new SleepRobotImpl(contextInstrumentation);
         typeRobot = new TypeRobotImpl(keyboardRobot, sleepRobot);
-        writeRobot = new WriteRobotImpl(baseRobot, sleepRobot, windowFinder);
-        moveRobot = new MoveRobotImpl(baseRobot, mouseRobot, sleepRobot);
+        writeRobot = new WriteRobotImpl(baseRobot, sleepRobot, windowFinder, contextInstrumentation);
+        moveRobot = new MoveRobotImpl(baseRobot, mouseRobot, sleepRobot, contextInstrumentation);
         clickRobot = new ClickRobotImpl(mouseRobot, moveRobot, sleepRobot);
         dragRobot = new DragRobotImpl(mouseRobot, moveRobot);
         scrollRobot = new ScrollRobotImpl(mouseRobot);
@@ -105,6 +141,18 @@ public class FxRobotContext {
         this.pointPosition = pointPosition;
     }
 
+    public RobotInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Sets the instrumentation that the robots of this context report the duration of each stage of their
+     * operations to, or {@link RobotInstrumentation#NONE} to stop reporting.
+     */
+    public void setInstrumentation(RobotInstrumentation instrumentation) {
+        this.instrumentation = Objects.requireNonNull(instrumentation, "instrumentation must not be null");
+    }
+
     public BoundsLocator getBoundsLocator() {
         return boundsLocator;
     }
@@ -117,6 +165,10 @@ public class FxRobotContext {
         return baseRobot;
     }
 
+    public GestureRobot getGestureRobot() {
+        return gestureRobot;
+    }
+
     public MouseRobot getMouseRobot() {
         return mouseRobot;
     }
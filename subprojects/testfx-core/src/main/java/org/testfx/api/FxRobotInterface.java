@@ -39,6 +39,7 @@ import javafx.scene.input.MouseButton;
 import javafx.stage.Window;
 
 import org.hamcrest.Matcher;
+import org.testfx.robot.Gesture;
 import org.testfx.robot.Motion;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.finder.WindowFinder;
@@ -498,6 +499,33 @@ public interface FxRobotInterface {
      */
     FxRobotInterface interrupt(int attemptsCount);
 
+    /**
+     * Runs the given robot actions on the calling thread as a single "action scope": the waits for
+     * FX events that each key press/release, mouse press/release and move would normally make are deferred,
+     * so the low-level events are sent back-to-back, followed by exactly one wait at the end of the scope
+     * (see {@link WaitForAsyncUtils#deferFxEventsWaits(Runnable)}). For example, pushing
+     * {@code CONTROL+SHIFT+ALT+K} inside a batch waits once instead of eight times.
+     *
+     * @param actions the robot actions to run
+     * @return this robot
+     */
+    FxRobotInterface batch(Runnable actions);
+
+    /**
+     * Calls {@link org.testfx.robot.GestureRobot#startRecording()} and returns itself for more method chaining.
+     */
+    FxRobotInterface startRecording();
+
+    /**
+     * Calls {@link org.testfx.robot.GestureRobot#stopRecording()} and returns the recorded gesture.
+     */
+    Gesture stopRecording();
+
+    /**
+     * Calls {@link org.testfx.robot.GestureRobot#replay(Gesture)} and returns itself for more method chaining.
+     */
+    FxRobotInterface replay(Gesture gesture);
+
     /**
      * Calls {@link org.testfx.robot.SleepRobot#sleep(long)} and returns itself for more method chaining.
      */
@@ -1312,6 +1340,30 @@ public interface FxRobotInterface {
      */
     FxRobotInterface scroll(HorizontalDirection direction);
 
+    /**
+     * Calls {@link org.testfx.robot.ScrollRobot#scrollCoalesced(int, VerticalDirection)} and returns itself for
+     * more method chaining.
+     */
+    FxRobotInterface scrollCoalesced(int amount, VerticalDirection direction);
+
+    /**
+     * Calls {@link org.testfx.robot.ScrollRobot#scrollCoalesced(int, HorizontalDirection)} and returns itself for
+     * more method chaining.
+     */
+    FxRobotInterface scrollCoalesced(int amount, HorizontalDirection direction);
+
+    /**
+     * Calls {@link org.testfx.robot.ScrollRobot#scrollTo(Node)} and returns itself for more method chaining.
+     */
+    FxRobotInterface scrollTo(Node node);
+
+    // Convenience methods:
+    /**
+     * Convenience method: Calls {@link org.testfx.robot.ScrollRobot#scrollTo(Node)} with the node returned from
+     * {@link #lookup(String)} and returns itself for more method chaining.
+     */
+    FxRobotInterface scrollTo(String query);
+
     /**
      * Calls {@link org.testfx.robot.TypeRobot#push(KeyCode...)} and returns itself for more method chaining.
      */
@@ -16,7 +16,6 @@
  */
 package org.testfx.api;
 
-import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
@@ -31,10 +30,14 @@ import javafx.stage.Window;
 
 import org.testfx.toolkit.ApplicationLauncher;
 import org.testfx.toolkit.ApplicationService;
+import org.testfx.toolkit.StagePool;
 import org.testfx.toolkit.ToolkitService;
 import org.testfx.toolkit.impl.ApplicationLauncherImpl;
 import org.testfx.toolkit.impl.ApplicationServiceImpl;
+import org.testfx.toolkit.impl.StagePoolImpl;
 import org.testfx.toolkit.impl.ToolkitServiceImpl;
+import org.testfx.util.FrameRecorder;
+import org.testfx.util.FxThreadWatchdog;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.testfx.internal.JavaVersionAdapter.getWindows;
@@ -65,6 +68,9 @@ import static org.testfx.util.WaitForAsyncUtils.waitForFxEvents;
  * Other stages can be registered as {@code registeredStage}  using {@link #registerStage
  * registerStage(Supplier&lt;Stage&gt;)}.
  * <p>
+ * Warm stages that are reused across tests can be registered as {@code registeredStage} using
+ * {@link #acquireStage()} and given back with {@link #releaseStage(Stage)}.
+ * <p>
  * <h4>2. Content Fixtures</h4>
  * <p>
  * They can be attached to the {@code registeredStage}.
@@ -74,8 +80,10 @@ import static org.testfx.util.WaitForAsyncUtils.waitForFxEvents;
  * <p>
  * Use: {@link #setupStage setupStage(Consumer&lt;Stage&gt;)},
  * {@link #setupApplication setupApplication(Class&lt;? extends Application&gt;)},
- * {@link #setupScene setupScene(Supplier&lt;Scene&gt;)} or
- * {@link #setupSceneRoot setupSceneRoot(Supplier&lt;Parent&gt;)}
+ * {@link #setupScene setupScene(Supplier&lt;Scene&gt;)},
+ * {@link #setupSceneRoot setupSceneRoot(Supplier&lt;Parent&gt;)} or, for expensive scene roots that should only
+ * be built once, {@link #setupCachedSceneRoot setupCachedSceneRoot(Object, Supplier&lt;Parent&gt;,
+ * Consumer&lt;Parent&gt;)}
  * <p>
  * <h4>3. Individual Fixtures</h4>
  * <p>
@@ -94,6 +102,7 @@ public final class FxToolkit {
     private static final ApplicationService APP_SERVICE = new ApplicationServiceImpl();
     private static final FxToolkitContext CONTEXT = new FxToolkitContext();
     private static final ToolkitService SERVICE = new ToolkitServiceImpl(APP_LAUNCHER, APP_SERVICE);
+    private static final StagePool STAGE_POOL = new StagePoolImpl(CONTEXT.getPrimaryStageFuture());
 
     private FxToolkit() {}
 
@@ -109,6 +118,8 @@ public final class FxToolkit {
                         CONTEXT.getApplicationClass(), CONTEXT.getApplicationArgs()));
         CONTEXT.setRegisteredStage(primaryStage);
         Platform.setImplicitExit(false);
+        FxThreadWatchdog.startIfEnabled();
+        FrameRecorder.startIfEnabled();
         return primaryStage;
     }
 
@@ -124,6 +135,40 @@ public final class FxToolkit {
         return stage;
     }
 
+    /**
+     * Takes a warm stage from the {@link StagePool}, registers it and returns it. The first stage handed out is the
+     * primary stage, so {@link #registerPrimaryStage()} must have been called before.
+     *
+     * @throws TimeoutException if execution is not finished before {@link FxToolkitContext#getSetupTimeoutInMillis()}
+     */
+    public static Stage acquireStage() throws TimeoutException {
+        Stage stage = waitForSetup(STAGE_POOL.acquire());
+        CONTEXT.setRegisteredStage(stage);
+        return stage;
+    }
+
+    /**
+     * Takes a warm stage from the {@link StagePool} without registering it, so that tests which run concurrently
+     * can each use their own stage, e.g. with {@link #setupApplication(Stage, Supplier)} and an
+     * {@link FxRobot} with an isolated {@link FxRobotContext#FxRobotContext(Window) context}.
+     *
+     * @throws TimeoutException if execution is not finished before {@link FxToolkitContext#getSetupTimeoutInMillis()}
+     */
+    public static Stage acquireIsolatedStage() throws TimeoutException {
+        return waitForSetup(STAGE_POOL.acquire());
+    }
+
+    /**
+     * Resets the given stage, which must have been returned by {@link #acquireStage()} or
+     * {@link #acquireIsolatedStage()}, and puts it back into the {@link StagePool}. See
+     * {@link StagePool#release(Stage)} for what is reset.
+     *
+     * @throws TimeoutException if execution is not finished before {@link FxToolkitContext#getSetupTimeoutInMillis()}
+     */
+    public static void releaseStage(Stage stage) throws TimeoutException {
+        waitForSetup(STAGE_POOL.release(stage));
+    }
+
     /**
      * Sets up the registered stage by passing it into the given {@code stageConsumer} on the
      * {@code JavaFX Application Thread} and returns the stage once finished.
@@ -153,6 +198,17 @@ public final class FxToolkit {
         return waitForSetup(SERVICE.setupApplication(CONTEXT::getRegisteredStage, applicationSupplier));
     }
 
+    /**
+     * Sets up the supplied application in the given stage instead of the registered stage and returns that
+     * application once finished.
+     *
+     * @throws TimeoutException if execution is not finished before {@link FxToolkitContext#getSetupTimeoutInMillis()}
+     */
+    public static Application setupApplication(Stage stage, Supplier<Application> applicationSupplier)
+            throws TimeoutException {
+        return waitForSetup(SERVICE.setupApplication(() -> stage, applicationSupplier));
+    }
+
     /**
      * Performs the clean up of the application. This is done by calling
      * {@link ToolkitService#cleanupApplication(Application)} (which usually
@@ -187,6 +243,28 @@ public final class FxToolkit {
     public static Parent setupSceneRoot(Supplier<Parent> sceneRootSupplier) throws TimeoutException {
         return waitForSetup(SERVICE.setupSceneRoot(CONTEXT.getRegisteredStage(), sceneRootSupplier));
     }
+
+    /**
+     * Like {@link #setupSceneRoot(Supplier)}, but builds the root node only once per {@code fixtureKey}, e.g. when
+     * it is loaded from FXML or holds a large table. Later calls with the same key reuse the cached root node after
+     * passing it to {@code sceneRootReset}, which must restore it to its pristine state.
+     *
+     * @throws TimeoutException if execution is not finished before {@link FxToolkitContext#getSetupTimeoutInMillis()}
+     */
+    public static Parent setupCachedSceneRoot(Object fixtureKey,
+                                              Supplier<Parent> sceneRootSupplier,
+                                              Consumer<Parent> sceneRootReset) throws TimeoutException {
+        return waitForSetup(SERVICE.setupCachedSceneRoot(CONTEXT.getRegisteredStage(), fixtureKey,
+                sceneRootSupplier, sceneRootReset));
+    }
+
+    /**
+     * Forgets all root nodes cached by {@link #setupCachedSceneRoot(Object, Supplier, Consumer)}.
+     */
+    public static void clearCachedSceneRoots() {
+        SERVICE.clearCachedSceneRoots();
+    }
+
     /**
      * Runs the given {@code runnable} on the {@code JavaFX Application Thread} and returns once finished.
      */
@@ -248,16 +326,37 @@ public final class FxToolkit {
 
     /**
      * Detects if the JavaFx Application Thread is currently running.
+     * <p>
+     * The thread is remembered once known, so that this check is a cheap liveness query. Unlike
+     * {@link Thread#getAllStackTraces()} it neither brings all threads to a safepoint nor walks their stacks.
      * @return {@literal true} if the FX Application Thread is running, false otherwise
      */
     public static boolean isFXApplicationThreadRunning() {
-        Set<Thread> threads = Thread.getAllStackTraces().keySet();
-        for (Thread thread : threads) {
-            if (thread.getName().equals("JavaFX Application Thread")) {
-                return true;
+        Thread fxApplicationThread = CONTEXT.getFxApplicationThread();
+        if (fxApplicationThread == null) {
+            // The toolkit might have been started without the primary stage future, e.g. by a JFXPanel.
+            fxApplicationThread = findFXApplicationThread();
+            if (fxApplicationThread == null) {
+                return false;
+            }
+            CONTEXT.setFxApplicationThread(fxApplicationThread);
+        }
+        return fxApplicationThread.isAlive();
+    }
+
+    private static Thread findFXApplicationThread() {
+        ThreadGroup rootGroup = Thread.currentThread().getThreadGroup();
+        while (rootGroup.getParent() != null) {
+            rootGroup = rootGroup.getParent();
+        }
+        Thread[] threads = new Thread[rootGroup.activeCount() + 8];
+        int threadCount = rootGroup.enumerate(threads, true);
+        for (int i = 0; i < threadCount; i++) {
+            if (threads[i].getName().equals("JavaFX Application Thread")) {
+                return threads[i];
             }
         }
-        return false;
+        return null;
     }
 
 }
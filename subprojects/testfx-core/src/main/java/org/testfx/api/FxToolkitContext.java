@@ -19,6 +19,7 @@ package org.testfx.api;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.event.Event;
 import javafx.stage.Stage;
 
@@ -28,11 +29,13 @@ import org.testfx.toolkit.PrimaryStageApplication;
  * Stores the contextual information for {@link FxToolkit}:
  * <ul>
  *     <li>the primary stage future</li>
+ *     <li>the "JavaFX Application Thread" that completed the primary stage future</li>
  *     <li>the {@link Application} as a {@link Class} object</li>
  *     <li>the application's arguments</li>
  *     <li>the registered {@link Stage}</li>
  *     <li>the timeout limit for launching an application</li>
  *     <li>the timeout limit for setting up a component</li>
+ *     <li>whether test frameworks reuse warm stages across tests</li>
  * </ul>
  */
 public class FxToolkitContext {
@@ -54,6 +57,11 @@ public class FxToolkitContext {
      */
     private String[] applicationArgs = new String[] {};
 
+    /**
+     * The "JavaFX Application Thread", captured when it completes the {@link #primaryStageFuture}.
+     */
+    private volatile Thread fxApplicationThread;
+
     private Stage registeredStage;
 
     private FiredEvents firedEvents;
@@ -68,10 +76,37 @@ public class FxToolkitContext {
      */
     private long setupTimeoutInMillis = Long.getLong("testfx.setup.timeout", 30000);
 
+    /**
+     * Whether the test framework integrations take the registered stage from the stage pool and reset it after each
+     * test instead of hiding all stages. Default value: {@code false}
+     */
+    private volatile boolean stageReuse = Boolean.getBoolean("testfx.stage.reuse");
+
+    public FxToolkitContext() {
+        primaryStageFuture.thenRun(() -> {
+            // Only capture the thread if the future was completed by the FX application thread and not already
+            // done when this context was created.
+            if (Platform.isFxApplicationThread()) {
+                fxApplicationThread = Thread.currentThread();
+            }
+        });
+    }
+
     public CompletableFuture<Stage> getPrimaryStageFuture() {
         return primaryStageFuture;
     }
 
+    /**
+     * Returns the "JavaFX Application Thread" or {@code null} if it is not known (yet).
+     */
+    public Thread getFxApplicationThread() {
+        return fxApplicationThread;
+    }
+
+    public void setFxApplicationThread(Thread fxApplicationThread) {
+        this.fxApplicationThread = fxApplicationThread;
+    }
+
     public Class<? extends Application> getApplicationClass() {
         return applicationClass;
     }
@@ -96,10 +131,24 @@ public class FxToolkitContext {
         firedEvents = FiredEvents.beginStoringFiredEventsOf(registeredStage);
     }
 
+    /**
+     * Returns the most recent events fired on the registered stage, which are only retained if the
+     * {@code testfx.fired.events.retain} system property is {@code true}.
+     *
+     * @deprecated use {@link #getFiredEventsRecorder()}, which also describes and counts the fired events
+     */
+    @Deprecated
     public List<Event> getFiredEvents() {
         return firedEvents.getEvents();
     }
 
+    /**
+     * Returns the recorder of the events fired on the registered stage, or {@code null} if no stage is registered.
+     */
+    public FiredEvents getFiredEventsRecorder() {
+        return firedEvents;
+    }
+
     public long getLaunchTimeoutInMillis() {
         return launchTimeoutInMillis;
     }
@@ -116,4 +165,12 @@ public class FxToolkitContext {
         this.setupTimeoutInMillis = setupTimeoutInMillis;
     }
 
+    public boolean isStageReuse() {
+        return stageReuse;
+    }
+
+    public void setStageReuse(boolean stageReuse) {
+        this.stageReuse = stageReuse;
+    }
+
 }
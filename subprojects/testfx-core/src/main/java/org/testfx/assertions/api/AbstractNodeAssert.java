@@ -16,9 +16,11 @@
  */
 package org.testfx.assertions.api;
 
+import java.nio.file.Path;
 import javafx.scene.Node;
 
 import org.testfx.matcher.base.NodeMatchers;
+import org.testfx.service.support.SceneGraphSnapshot;
 
 import static org.testfx.assertions.api.Assertions.assertThat;
 import static org.testfx.assertions.impl.Adapter.fromInverseMatcher;
@@ -132,4 +134,29 @@ public class AbstractNodeAssert<SELF extends AbstractNodeAssert<SELF>> extends A
         assertThat(actual).is(fromMatcher(NodeMatchers.hasChildren(amount, query)));
         return myself;
     }
+
+    /**
+     * Verifies that the subtree of the actual {@link javafx.scene.Node} is structurally equal to the given
+     * {@code expected} snapshot.
+     *
+     * @param expected the snapshot the subtree of the actual {@code Node} must match
+     * @return this assertion object
+     */
+    public SELF matchesSnapshot(SceneGraphSnapshot expected) {
+        assertThat(actual).is(fromMatcher(NodeMatchers.matchesSnapshot(expected)));
+        return myself;
+    }
+
+    /**
+     * Verifies that the subtree of the actual {@link javafx.scene.Node} is structurally equal to the snapshot
+     * stored in the given golden file, which is (re-)written instead if the {@code testfx.snapshot.update} system
+     * property is set to {@code true}.
+     *
+     * @param goldenFile the file containing the snapshot the subtree of the actual {@code Node} must match
+     * @return this assertion object
+     */
+    public SELF matchesGoldenSnapshot(Path goldenFile) {
+        assertThat(actual).is(fromMatcher(NodeMatchers.matchesGoldenSnapshot(goldenFile)));
+        return myself;
+    }
 }
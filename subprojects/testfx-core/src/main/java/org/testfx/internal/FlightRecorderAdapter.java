@@ -0,0 +1,195 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Emits JDK Flight Recorder events for waits, async tasks, robot actions and captures, so that long test runs
+ * can be profiled with the standard JFR tooling (e.g. {@code -XX:StartFlightRecording}) and UI stalls can be
+ * correlated with GC pauses or a blocked FX application thread.
+ * <p>
+ * TestFX is compiled against Java 8, so the event types are created at runtime with
+ * {@code jdk.jfr.EventFactory} (accessed through method handles). If the {@code jdk.jfr} module is not
+ * available (when running on the module path, add it with {@code --add-modules jdk.jfr}) or
+ * {@code -Dtestfx.jfr=false} is set, all methods are no-ops. If no recording is running, an
+ * event costs a single {@code EventType.isEnabled()} check.
+ * <p>
+ * All events are in the "TestFX" category and have the fields {@code operation}, {@code queueDepth} (the number
+ * of tasks scheduled by {@code asyncFx} that have not started running yet) and
+ * {@code originThread} (the thread the event's work was submitted from). The duration and the thread that
+ * committed the event are recorded by JFR itself.
+ */
+public final class FlightRecorderAdapter {
+
+    /**
+     * The TestFX event types.
+     */
+    public enum EventKind {
+        WAIT_FOR("WaitFor", "Wait For"),
+        WAIT_FOR_FX_EVENTS("WaitForFxEvents", "Wait For FX Events"),
+        ASYNC("Async", "Async Task"),
+        ASYNC_FX("AsyncFx", "Async FX Task"),
+        ROBOT_ADAPTER("RobotAdapter", "Robot Adapter Call"),
+        CAPTURE("Capture", "Capture");
+
+        private final String eventName;
+        private final String label;
+
+        EventKind(String eventName, String label) {
+            this.eventName = eventName;
+            this.label = label;
+        }
+    }
+
+    private static final int OPERATION_FIELD = 0;
+    private static final int QUEUE_DEPTH_FIELD = 1;
+    private static final int ORIGIN_THREAD_FIELD = 2;
+
+    private static final MethodHandle[] IS_ENABLED = new MethodHandle[EventKind.values().length];
+    private static final MethodHandle[] NEW_EVENT = new MethodHandle[EventKind.values().length];
+    private static final MethodHandle BEGIN;
+    private static final MethodHandle SET;
+    private static final MethodHandle COMMIT;
+    private static final boolean AVAILABLE;
+
+    static {
+        MethodHandle begin = null;
+        MethodHandle set = null;
+        MethodHandle commit = null;
+        boolean available = false;
+        if (!"false".equals(System.getProperty("testfx.jfr"))) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> eventClass = Class.forName("jdk.jfr.Event");
+                Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+                Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+                Method create = eventFactoryClass.getMethod("create", List.class, List.class);
+                Method newEvent = eventFactoryClass.getMethod("newEvent");
+                Method getEventType = eventFactoryClass.getMethod("getEventType");
+                MethodHandle isEnabled = lookup.findVirtual(eventTypeClass, "isEnabled",
+                        MethodType.methodType(boolean.class));
+                List<Object> fields = Arrays.asList(
+                        valueDescriptor(String.class, "operation", "Operation"),
+                        valueDescriptor(int.class, "queueDepth", "FX Queue Depth"),
+                        valueDescriptor(String.class, "originThread", "Origin Thread"));
+                for (EventKind kind : EventKind.values()) {
+                    List<Object> annotations = new ArrayList<>();
+                    annotations.add(annotation("jdk.jfr.Name", "org.testfx." + kind.eventName));
+                    annotations.add(annotation("jdk.jfr.Label", kind.label));
+                    annotations.add(annotation("jdk.jfr.Category", new String[] {"TestFX"}));
+                    Object factory = create.invoke(null, annotations, fields);
+                    IS_ENABLED[kind.ordinal()] = isEnabled.bindTo(getEventType.invoke(factory))
+                            .asType(MethodType.methodType(boolean.class));
+                    NEW_EVENT[kind.ordinal()] = lookup.unreflect(newEvent).bindTo(factory)
+                            .asType(MethodType.methodType(Object.class));
+                }
+                begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(void.class, Object.class));
+                set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+                        .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+                commit = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(void.class, Object.class));
+                available = true;
+            }
+            catch (ReflectiveOperationException | LinkageError | RuntimeException ignore) {
+                // No (usable) flight recorder: events are disabled.
+            }
+        }
+        BEGIN = begin;
+        SET = set;
+        COMMIT = commit;
+        AVAILABLE = available;
+    }
+
+    private FlightRecorderAdapter() {}
+
+    /**
+     * Begins an event of the given kind.
+     *
+     * @return the started event, or {@code null} if flight recording is unavailable or the event is disabled
+     */
+    public static Object begin(EventKind kind) {
+        if (!AVAILABLE) {
+            return null;
+        }
+        try {
+            if (!(boolean) IS_ENABLED[kind.ordinal()].invokeExact()) {
+                return null;
+            }
+            Object event = (Object) NEW_EVENT[kind.ordinal()].invokeExact();
+            BEGIN.invokeExact(event);
+            return event;
+        }
+        catch (Throwable ignore) {
+            return null;
+        }
+    }
+
+    /**
+     * Commits an event returned by {@link #begin(EventKind)}. Does nothing if {@code event} is {@code null}.
+     */
+    public static void commit(Object event, String operation, int queueDepth, String originThread) {
+        if (event == null) {
+            return;
+        }
+        try {
+            SET.invokeExact(event, OPERATION_FIELD, (Object) operation);
+            SET.invokeExact(event, QUEUE_DEPTH_FIELD, (Object) queueDepth);
+            SET.invokeExact(event, ORIGIN_THREAD_FIELD, (Object) originThread);
+            COMMIT.invokeExact(event);
+        }
+        catch (Throwable ignore) {
+            // Never let profiling break a test.
+        }
+    }
+
+    /**
+     * Commits an event returned by {@link #begin(EventKind)} that was submitted from the current thread.
+     */
+    public static void commit(Object event, String operation, int queueDepth) {
+        if (event != null) {
+            commit(event, operation, queueDepth, Thread.currentThread().getName());
+        }
+    }
+
+    private static Object valueDescriptor(Class<?> type, String name, String label)
+            throws ReflectiveOperationException {
+        Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+        Constructor<?> constructor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+        return constructor.newInstance(type, name, Collections.singletonList(annotation("jdk.jfr.Label", label)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object annotation(String annotationClassName, Object value) throws ReflectiveOperationException {
+        Class<? extends Annotation> annotationClass =
+                (Class<? extends Annotation>) Class.forName(annotationClassName);
+        Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+        Constructor<?> constructor = annotationElementClass.getConstructor(Class.class, Object.class);
+        return constructor.newInstance(annotationClass, value);
+    }
+
+}
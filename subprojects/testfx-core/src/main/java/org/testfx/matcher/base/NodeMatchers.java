@@ -16,6 +16,9 @@
  */
 package org.testfx.matcher.base;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 import javafx.scene.Node;
 
@@ -23,14 +26,18 @@ import org.hamcrest.Matcher;
 import org.testfx.api.FxAssert;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.query.NodeQuery;
+import org.testfx.service.support.SceneGraphSnapshot;
 
 import static org.testfx.matcher.base.GeneralMatchers.baseMatcher;
+import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
 
 /**
  * TestFX matchers for {@link Node} instances.
  */
 public class NodeMatchers {
 
+    private static final int MAX_DESCRIBED_SNAPSHOT_DIFFERENCES = 20;
+
     private NodeMatchers() {}
 
     /**
@@ -115,6 +122,31 @@ public class NodeMatchers {
         return baseMatcher(descriptionText, node -> hasChildren(node, amount, query));
     }
 
+    /**
+     * Creates a matcher that matches all {@link Node}s whose subtree is structurally equal to the given
+     * {@code expected} snapshot (see {@link SceneGraphSnapshot#capture(Node)}). The subtree is captured once on
+     * the JavaFX Application Thread and compared in a single pass.
+     */
+    public static Matcher<Node> matchesSnapshot(SceneGraphSnapshot expected) {
+        return typeSafeMatcher(Node.class, "matches snapshot",
+            node -> describeSnapshotDifferences(expected.diff(SceneGraphSnapshot.capture(node))),
+            node -> expected.diff(SceneGraphSnapshot.capture(node)).isEmpty());
+    }
+
+    /**
+     * Creates a matcher that matches all {@link Node}s whose subtree is structurally equal to the snapshot stored
+     * in the given golden file. If the {@code testfx.snapshot.update} system property is set to {@code true}, the
+     * golden file is (re-)written with the snapshot of the node and the node matches. Otherwise a missing golden
+     * file fails the match.
+     */
+    public static Matcher<Node> matchesGoldenSnapshot(Path goldenFile) {
+        return typeSafeMatcher(Node.class, "matches golden snapshot " + goldenFile,
+            node -> Files.exists(goldenFile) ? describeSnapshotDifferences(SceneGraphSnapshot.readFrom(goldenFile)
+                .diff(SceneGraphSnapshot.capture(node))) : "golden snapshot not found (set the system property " +
+                "testfx.snapshot.update to true to write it)",
+            node -> matchesGoldenSnapshot(node, goldenFile));
+    }
+
     private static boolean hasChild(Node node, String query) {
         NodeFinder nodeFinder = FxAssert.assertContext().getNodeFinder();
         NodeQuery nodeQuery = nodeFinder.from(node);
@@ -127,4 +159,26 @@ public class NodeMatchers {
         return nodeQuery.lookup(query).queryAll().size() == amount;
     }
 
+    private static boolean matchesGoldenSnapshot(Node node, Path goldenFile) {
+        SceneGraphSnapshot actual = SceneGraphSnapshot.capture(node);
+        if (Boolean.getBoolean("testfx.snapshot.update")) {
+            actual.writeTo(goldenFile);
+            return true;
+        }
+        return Files.exists(goldenFile) && SceneGraphSnapshot.readFrom(goldenFile).diff(actual).isEmpty();
+    }
+
+    private static String describeSnapshotDifferences(List<String> differences) {
+        StringBuilder description = new StringBuilder("a Node with ").append(differences.size())
+            .append(" snapshot difference(s):");
+        differences.stream()
+            .limit(MAX_DESCRIBED_SNAPSHOT_DIFFERENCES)
+            .forEach(difference -> description.append("\n  ").append(difference));
+        if (differences.size() > MAX_DESCRIBED_SNAPSHOT_DIFFERENCES) {
+            description.append("\n  ... and ").append(differences.size() - MAX_DESCRIBED_SNAPSHOT_DIFFERENCES)
+                .append(" more");
+        }
+        return description.toString();
+    }
+
 }
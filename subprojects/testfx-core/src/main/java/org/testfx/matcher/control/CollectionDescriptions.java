@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.matcher.control;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Produces bounded descriptions of large item collections (e.g. the rows of a {@code TableView}) for matcher
+ * mismatch descriptions: only the head and the tail of the collection and, optionally, the elements nearest to
+ * the expected one are described and the length of the description is capped.
+ */
+final class CollectionDescriptions {
+
+    static final int HEAD_AND_TAIL_SIZE = 10;
+    static final int NEAREST_SIZE = 3;
+    static final int MAX_LENGTH = 4000;
+
+    private CollectionDescriptions() {}
+
+    /**
+     * Describes all elements if there are at most {@code 2 * HEAD_AND_TAIL_SIZE} of them, otherwise only
+     * the first and the last {@code HEAD_AND_TAIL_SIZE} elements.
+     */
+    static String describeHeadAndTail(int size, IntFunction<String> describeElement) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        if (size <= 2 * HEAD_AND_TAIL_SIZE) {
+            for (int index = 0; index < size; index++) {
+                joiner.add(describeElement.apply(index));
+            }
+        } else {
+            for (int index = 0; index < HEAD_AND_TAIL_SIZE; index++) {
+                joiner.add(describeElement.apply(index));
+            }
+            joiner.add("... " + (size - 2 * HEAD_AND_TAIL_SIZE) + " more ...");
+            for (int index = size - HEAD_AND_TAIL_SIZE; index < size; index++) {
+                joiner.add(describeElement.apply(index));
+            }
+        }
+        return cap(joiner.toString());
+    }
+
+    /**
+     * Describes the (at most {@code NEAREST_SIZE}) elements with the highest positive score, in the order of
+     * their index, or returns an empty string if the collection is small enough to be described completely by
+     * {@link #describeHeadAndTail(int, IntFunction)} or no element has a positive score.
+     */
+    static String describeNearest(int size, IntUnaryOperator score, IntFunction<String> describeElement) {
+        if (size <= 2 * HEAD_AND_TAIL_SIZE) {
+            return "";
+        }
+        int[] nearest = new int[NEAREST_SIZE];
+        int[] nearestScores = new int[NEAREST_SIZE];
+        int count = 0;
+        for (int index = 0; index < size; index++) {
+            int elementScore = score.applyAsInt(index);
+            if (elementScore <= 0 || count == NEAREST_SIZE && elementScore <= nearestScores[count - 1]) {
+                continue;
+            }
+            int position = count < NEAREST_SIZE ? count++ : NEAREST_SIZE - 1;
+            while (position > 0 && nearestScores[position - 1] < elementScore) {
+                nearest[position] = nearest[position - 1];
+                nearestScores[position] = nearestScores[position - 1];
+                position--;
+            }
+            nearest[position] = index;
+            nearestScores[position] = elementScore;
+        }
+        if (count == 0) {
+            return "";
+        }
+        Arrays.sort(nearest, 0, count);
+        StringJoiner joiner = new StringJoiner(", ", " (nearest: ", ")");
+        for (int i = 0; i < count; i++) {
+            joiner.add(describeElement.apply(nearest[i]) + " at index " + nearest[i]);
+        }
+        return cap(joiner.toString());
+    }
+
+    private static String cap(String description) {
+        return description.length() <= MAX_LENGTH ? description : description.substring(0, MAX_LENGTH) + "...";
+    }
+
+}
@@ -16,16 +16,20 @@
  */
 package org.testfx.matcher.control;
 
+import java.util.Locale;
 import java.util.Objects;
 import javafx.scene.Node;
 import javafx.scene.control.Cell;
 import javafx.scene.control.Labeled;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
+import javafx.util.Callback;
 
 import org.hamcrest.Matcher;
 import org.testfx.api.FxAssert;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.query.NodeQuery;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
 
@@ -35,6 +39,7 @@ import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
 public class ListViewMatchers {
 
     private static final String SELECTOR_LIST_CELL = ".list-cell";
+    private static final long RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
 
     private ListViewMatchers() {}
 
@@ -45,10 +50,45 @@ public class ListViewMatchers {
      */
     public static Matcher<ListView> hasListCell(Object value) {
         String descriptionText = "has list cell \"" + value + "\"";
-        return typeSafeMatcher(ListView.class, descriptionText, ListViewMatchers::getItemsString,
+        return typeSafeMatcher(ListView.class, descriptionText, listView -> getItemsString(listView, value),
             listView -> hasListCell(listView, value));
     }
 
+    /**
+     * Creates a matcher that matches all {@link ListView}s that have an item that equals the given {@code value}
+     * or that is displayed with the text {@code value.toString()} by the cell factory of the ListView.
+     * <p>
+     * Unlike {@link #hasListCell(Object)} the matcher evaluates the items of the ListView instead of the rendered
+     * cells, so it also matches items that are currently not visible in the viewport. The items are scanned in
+     * order on the JavaFX Application Thread until the first match.
+     *
+     * @param value the item (or its displayed text) the matched ListView's should have
+     */
+    public static Matcher<ListView> hasListItem(Object value) {
+        return hasListItem(value, false);
+    }
+
+    /**
+     * Creates a matcher that matches all {@link ListView}s that have an item that equals the given {@code value}
+     * or that is displayed with the text {@code value.toString()} by the cell factory of the ListView, see
+     * {@link #hasListItem(Object)}.
+     *
+     * @param value the item (or its displayed text) the matched ListView's should have
+     * @param scrollTo whether the ListView is scrolled to the first matching item so that its cell becomes visible
+     * (the cells are laid out on the next pulse)
+     */
+    public static Matcher<ListView> hasListItem(Object value, boolean scrollTo) {
+        String descriptionText = "has list item \"" + value + "\"";
+        return typeSafeMatcher(ListView.class, descriptionText, listView -> getItemsString(listView, value),
+            listView -> WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> {
+                int index = indexOfListItem(listView, value);
+                if (index >= 0 && scrollTo) {
+                    listView.scrollTo(index);
+                }
+                return index >= 0;
+            }));
+    }
+
     /**
      * Creates a matcher that matches all {@link ListView}s that have exactly {@code amount} items (i.e.
      * sizeof({@link ListView#getItems()}) = {@code amount}).
@@ -127,6 +167,41 @@ public class ListViewMatchers {
             .tryQuery().isPresent();
     }
 
+    private static <T> int indexOfListItem(ListView<T> listView, Object value) {
+        Callback<ListView<T>, ListCell<T>> cellFactory = listView.getCellFactory();
+        ListCell<T> cell = cellFactory == null ? null : cellFactory.call(listView);
+        if (cell != null) {
+            cell.updateListView(listView);
+        }
+        try {
+            for (int index = 0; index < listView.getItems().size(); index++) {
+                T item = listView.getItems().get(index);
+                if (Objects.equals(item, value)) {
+                    return index;
+                }
+                if (value != null) {
+                    String text;
+                    if (cell != null) {
+                        cell.updateIndex(index);
+                        text = cell.getText();
+                    } else {
+                        text = item == null ? null : item.toString();
+                    }
+                    if (value.toString().equals(text)) {
+                        return index;
+                    }
+                }
+            }
+            return -1;
+        }
+        finally {
+            if (cell != null) {
+                cell.updateIndex(-1);
+                cell.updateListView(null);
+            }
+        }
+    }
+
     private static boolean hasCellValue(Cell cell, Object value) {
         return !cell.isEmpty() && Objects.equals(cell.getItem(), value);
     }
@@ -146,15 +221,18 @@ public class ListViewMatchers {
     }
 
     private static String getItemsString(ListView<?> listView) {
-        StringBuilder items = new StringBuilder("[");
-        for (int i = 0; i < listView.getItems().size(); i++) {
-            items.append(listView.getItems().get(i).toString());
-            if (i < listView.getItems().size() - 1) {
-                items.append(", ");
-            }
-        }
-        items.append("]");
-        return items.toString();
+        return CollectionDescriptions.describeHeadAndTail(listView.getItems().size(),
+            index -> String.valueOf(listView.getItems().get(index)));
+    }
+
+    private static String getItemsString(ListView<?> listView, Object value) {
+        String valueText = String.valueOf(value).toLowerCase(Locale.ROOT);
+        return getItemsString(listView) + CollectionDescriptions.describeNearest(listView.getItems().size(),
+            index -> {
+                String itemText = String.valueOf(listView.getItems().get(index)).toLowerCase(Locale.ROOT);
+                return itemText.equals(valueText) ? 2 : itemText.contains(valueText) ? 1 : 0;
+            },
+            index -> String.valueOf(listView.getItems().get(index)));
     }
 
     private static String getPlaceHolderDescription(Node placeHolder, boolean describeVisibility) {
@@ -16,15 +16,10 @@
  */
 package org.testfx.matcher.control;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
-import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.control.Cell;
 import javafx.scene.control.TableColumn;
@@ -34,6 +29,7 @@ import org.hamcrest.Matcher;
 import org.testfx.api.FxAssert;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.query.NodeQuery;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
 
@@ -43,6 +39,7 @@ import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
 public class TableViewMatchers {
 
     private static final String SELECTOR_TABLE_CELL = ".table-cell";
+    private static final long RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
 
     private TableViewMatchers() {}
 
@@ -66,6 +63,36 @@ public class TableViewMatchers {
             tableView -> hasTableCell(tableView, value));
     }
 
+    /**
+     * Creates a matcher that matches all {@link TableView}s that have a cell in one of their visible columns whose
+     * value or {@code value.toString()} equals the given value.
+     * <p>
+     * Unlike {@link #hasTableCell(Object)} the matcher evaluates the cell values of the items of the TableView
+     * instead of the rendered cells, so it also matches cells that are currently not visible in the viewport and
+     * does not require scrolling them into view first. The rows are scanned in order on the JavaFX Application
+     * Thread until the first match.
+     *
+     * @param value the cell value (or its String representation) the matched TableView's should have
+     */
+    public static Matcher<TableView> hasTableCellValue(Object value) {
+        return hasTableCellValue(value, false);
+    }
+
+    /**
+     * Creates a matcher that matches all {@link TableView}s that have a cell in one of their visible columns whose
+     * value or {@code value.toString()} equals the given value, see {@link #hasTableCellValue(Object)}.
+     *
+     * @param value the cell value (or its String representation) the matched TableView's should have
+     * @param scrollTo whether the TableView is scrolled to the row and column of the first matching cell so that
+     * it becomes visible (the cells are laid out on the next pulse)
+     */
+    public static Matcher<TableView> hasTableCellValue(Object value, boolean scrollTo) {
+        String descriptionText = "has table cell value \"" + value + "\"";
+        return typeSafeMatcher(TableView.class, descriptionText, TableViewMatchers::toText,
+            tableView -> WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
+                () -> hasTableCellValue(tableView, value, scrollTo)));
+    }
+
     /**
      * Creates a matcher that matches all {@link TableView}s that have exactly {@code amount} items.
      *
@@ -156,13 +183,31 @@ public class TableViewMatchers {
      * contained in the row you want to verify a {@code TableView} contains - one such value for each column of
      * that {@code TableView}. Use {@code null} if the value is expected to not be set or if no cell 
      * value factory has been set.
+     * <p>
+     * The rows are scanned in order and the cell values of each row are only evaluated until the first one that
+     * differs, so the matcher stops at the first matching row. For many assertions against the same large table
+     * consider {@link #indexRows(TableView)}.
      */
     public static Matcher<TableView> containsRow(Object...cells) {
         String descriptionText = "has row: " + Arrays.toString(cells);
-        return typeSafeMatcher(TableView.class, descriptionText, TableViewMatchers::toText,
+        return typeSafeMatcher(TableView.class, descriptionText,
+            tableView -> toTextWithNearestRows(tableView, cells),
             tableView -> containsRow(tableView, cells));
     }
 
+    /**
+     * Builds a per-column hash index of the cell values of the given {@link TableView}. The index should be built
+     * once per batch of assertions against an unmodified table. Each {@link TableViewRowIndex#containsRow(Object...)
+     * containsRow} matcher it creates then only has to look at the rows sharing the most selective of the expected
+     * cell values instead of scanning all rows.
+     *
+     * @param tableView the table to index
+     * @return the index of the cell values of the table
+     */
+    public static TableViewRowIndex indexRows(TableView<?> tableView) {
+        return new TableViewRowIndex(tableView);
+    }
+
     private static boolean hasTableCell(TableView tableView, Object value) {
         NodeFinder nodeFinder = FxAssert.assertContext().getNodeFinder();
         NodeQuery nodeQuery = nodeFinder.from(tableView);
@@ -171,48 +216,46 @@ public class TableViewMatchers {
             .tryQuery().isPresent();
     }
 
+    private static <T> boolean hasTableCellValue(TableView<T> tableView, Object value, boolean scrollTo) {
+        List<TableColumn<T, ?>> columns = tableView.getVisibleLeafColumns();
+        for (int rowIndex = 0; rowIndex < tableView.getItems().size(); rowIndex++) {
+            for (TableColumn<T, ?> column : columns) {
+                if (hasItemValue(getCellValue(column, rowIndex), value)) {
+                    if (scrollTo) {
+                        tableView.scrollTo(rowIndex);
+                        tableView.scrollToColumn(column);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private static <T> boolean containsRowAtIndex(TableView<T> tableView, int rowIndex, Object...cells) {
         if (rowIndex < 0 || rowIndex >= tableView.getItems().size()) {
             return false;
         }
 
-        List<ObservableValue<?>> rowValues = getRowValues(tableView, rowIndex);
-        for (int i = 0; i < cells.length; i++) {
-            if (rowValues.get(i).getValue() == null) {
-                if (cells[i] != null) {
-                    return false;
-                }
-            } else {
-                if (!rowValues.get(i).getValue().equals(cells[i])) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return cells.length <= tableView.getColumns().size() && rowMatches(tableView, rowIndex, cells);
     }
 
-    private static List<ObservableValue<?>> getRowValues(TableView<?> tableView, int rowIndex) {
-        List<ObservableValue<?>> rowValues = new ArrayList<>(tableView.getColumns().size());
-        for (int i = 0; i < tableView.getColumns().size(); i++) {
-            TableColumn<?, ?> column = tableView.getColumns().get(i);
-            ObservableValue<?> cellObservableValue = column.getCellObservableValue(rowIndex);
-            if (cellObservableValue == null) {
-                cellObservableValue = new SimpleObjectProperty<>();
-            }
-            rowValues.add(i, cellObservableValue);
-        }
-        return rowValues;
+    /**
+     * Returns a bounded textual representation of the rows of the given {@code tableView}, see
+     * {@link CollectionDescriptions#describeHeadAndTail(int, java.util.function.IntFunction)}.
+     */
+    static String toText(TableView<?> tableView) {
+        return CollectionDescriptions.describeHeadAndTail(tableView.getItems().size(),
+            rowIndex -> toText(tableView, rowIndex));
     }
 
     /**
-     * Returns a textual representation of all rows of the given {@code tableView}.
+     * Returns a bounded textual representation of the rows of the given {@code tableView} followed by the rows
+     * that contain most of the given {@code cells}.
      */
-    private static String toText(TableView<?> tableView) {
-        StringJoiner joiner = new StringJoiner(", ", "[", "]");
-        for (int rowIndex = 0; rowIndex < tableView.getItems().size(); rowIndex++) {
-            joiner.add(toText(tableView, rowIndex));
-        }
-        return joiner.toString();
+    static String toTextWithNearestRows(TableView<?> tableView, Object...cells) {
+        return toText(tableView) + CollectionDescriptions.describeNearest(tableView.getItems().size(),
+            rowIndex -> countMatchingCells(tableView, rowIndex, cells), rowIndex -> toText(tableView, rowIndex));
     }
 
     /**
@@ -220,46 +263,51 @@ public class TableViewMatchers {
      * {@code tableView}.
      */
     private static String toText(TableView<?> tableView, int rowIndex) {
-        return '[' + getRowValues(tableView, rowIndex).stream()
-                .map(observableValue -> observableValue.getValue() == null ?
-                        "null" : observableValue.getValue().toString())
-                .collect(Collectors.joining(", ")) + ']';
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (TableColumn<?, ?> column : tableView.getColumns()) {
+            joiner.add(String.valueOf(getCellValue(column, rowIndex)));
+        }
+        return joiner.toString();
     }
 
-    private static <T> boolean containsRow(TableView<T> tableView, Object...cells) {
-        if (tableView.getItems().isEmpty()) {
-            return false;
+    private static int countMatchingCells(TableView<?> tableView, int rowIndex, Object...cells) {
+        int count = 0;
+        for (int i = 0; i < Math.min(cells.length, tableView.getColumns().size()); i++) {
+            if (Objects.equals(getCellValue(tableView.getColumns().get(i), rowIndex), cells[i])) {
+                count++;
+            }
         }
+        return count;
+    }
 
-        Map<Integer, List<ObservableValue<?>>> rowValuesMap = new HashMap<>(tableView.getColumns().size());
-        for (int j = 0; j < tableView.getItems().size(); j++) {
-            List<ObservableValue<?>> rowValues = getRowValues(tableView, j);
-            rowValuesMap.put(j, rowValues);
+    static boolean containsRow(TableView<?> tableView, Object...cells) {
+        if (cells.length == 0 || cells.length > tableView.getColumns().size()) {
+            return false;
+        }
+        for (int rowIndex = 0; rowIndex < tableView.getItems().size(); rowIndex++) {
+            if (rowMatches(tableView, rowIndex, cells)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        for (List<ObservableValue<?>> rowValues : rowValuesMap.values()) {
-            for (int i = 0; i < cells.length; i++) {
-                if (rowValues.get(i).getValue() == null && cells[i] != null) {
-                    break;
-                } else if (cells[i] == null && rowValues.get(i).getValue() != null) {
-                    break;
-                } else if (rowValues.get(i).getValue() != null && !rowValues.get(i).getValue().equals(cells[i])) {
-                    break;
-                } else {
-                    if (i == cells.length - 1) {
-                        if (rowValues.get(i).getValue() == null && cells[i] != null) {
-                            break;
-                        } else if (cells[i] == null && rowValues.get(i).getValue() != null) {
-                            break;
-                        } else {
-                            return true;
-                        }
-                    }
-                }
+    /**
+     * Returns whether the row at the given {@code rowIndex} contains the given {@code cells}, evaluating only as
+     * many cell values as needed to find the first differing one.
+     */
+    private static boolean rowMatches(TableView<?> tableView, int rowIndex, Object...cells) {
+        for (int i = 0; i < cells.length; i++) {
+            if (!Objects.equals(getCellValue(tableView.getColumns().get(i), rowIndex), cells[i])) {
+                return false;
             }
         }
+        return true;
+    }
 
-        return false;
+    static Object getCellValue(TableColumn<?, ?> column, int rowIndex) {
+        ObservableValue<?> cellObservableValue = column.getCellObservableValue(rowIndex);
+        return cellObservableValue == null ? null : cellObservableValue.getValue();
     }
 
     private static boolean hasCellValue(Cell cell, Object value) {
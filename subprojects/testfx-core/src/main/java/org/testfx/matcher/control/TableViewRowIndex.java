@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.matcher.control;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javafx.scene.control.TableView;
+
+import org.hamcrest.Matcher;
+
+import static org.testfx.matcher.base.GeneralMatchers.typeSafeMatcher;
+
+/**
+ * A per-column hash index of the cell values of a {@link TableView} that is built once and can then be used for
+ * a batch of row assertions against that table, each of which only has to look at the rows sharing the most
+ * selective of the expected cell values:
+ * <pre>{@code
+ * TableViewRowIndex rows = TableViewMatchers.indexRows(tableView);
+ * verifyThat(tableView, rows.containsRow("alice", 30));
+ * verifyThat(tableView, rows.containsRow("bob", 31));
+ * }</pre>
+ * The index reflects the cell values at the time it was built. It is rebuilt when the number of rows or columns
+ * of the table changed, any other modification of the table requires a new index to be created. Matchers
+ * created by an index fall back to scanning the rows when they are applied to a different {@code TableView}.
+ */
+public final class TableViewRowIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final TableView<?> tableView;
+    private Object[][] values;
+    private List<Map<Object, int[]>> rowsByValue;
+
+    TableViewRowIndex(TableView<?> tableView) {
+        this.tableView = Objects.requireNonNull(tableView, "tableView must not be null");
+        build();
+    }
+
+    /**
+     * Creates a matcher that matches the indexed {@link TableView} if it has at least one row that contains
+     * the given values for each column, see {@link TableViewMatchers#containsRow(Object...)}.
+     *
+     * @param cells the values contained in the row - one such value for each column of the {@code TableView}
+     */
+    public Matcher<TableView> containsRow(Object... cells) {
+        String descriptionText = "has row: " + Arrays.toString(cells);
+        return typeSafeMatcher(TableView.class, descriptionText,
+            table -> TableViewMatchers.toTextWithNearestRows(table, cells),
+            table -> table == tableView ? containsRow(cells) : TableViewMatchers.containsRow(table, cells));
+    }
+
+    /**
+     * Returns the indices of all rows of the indexed {@link TableView} that contain the given values for each
+     * column, in ascending order.
+     *
+     * @param cells the values contained in the rows - one such value for each column of the {@code TableView}
+     * @return the indices of the matching rows
+     */
+    public synchronized int[] findRows(Object... cells) {
+        if (values.length != tableView.getColumns().size() ||
+            values.length > 0 && values[0].length != tableView.getItems().size()) {
+            build();
+        }
+        if (cells.length == 0 || cells.length > values.length) {
+            return NO_ROWS;
+        }
+        int[] candidates = null;
+        for (int i = 0; i < cells.length; i++) {
+            int[] rows = rowsByValue.get(i).getOrDefault(cells[i], NO_ROWS);
+            if (candidates == null || rows.length < candidates.length) {
+                candidates = rows;
+            }
+        }
+        int[] matches = new int[candidates.length];
+        int count = 0;
+        for (int row : candidates) {
+            if (rowMatches(row, cells)) {
+                matches[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private boolean containsRow(Object... cells) {
+        return findRows(cells).length > 0;
+    }
+
+    private boolean rowMatches(int row, Object... cells) {
+        for (int i = 0; i < cells.length; i++) {
+            if (!Objects.equals(values[i][row], cells[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void build() {
+        int columns = tableView.getColumns().size();
+        int rows = tableView.getItems().size();
+        values = new Object[columns][rows];
+        rowsByValue = new ArrayList<>(columns);
+        for (int column = 0; column < columns; column++) {
+            Map<Object, List<Integer>> postings = new HashMap<>();
+            for (int row = 0; row < rows; row++) {
+                Object value = TableViewMatchers.getCellValue(tableView.getColumns().get(column), row);
+                values[column][row] = value;
+                postings.computeIfAbsent(value, key -> new ArrayList<>()).add(row);
+            }
+            Map<Object, int[]> index = new HashMap<>(postings.size() * 2);
+            postings.forEach((value, postingRows) ->
+                index.put(value, postingRows.stream().mapToInt(Integer::intValue).toArray()));
+            rowsByValue.add(index);
+        }
+    }
+
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.robot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+
+/**
+ * An immutable, recorded stream of low-level robot events (mouse moves, presses, releases and scrolls as
+ * well as key presses, releases and types) as they were sent to the {@link BaseRobot}, that is after all
+ * node and point queries were resolved.
+ * <p>
+ * Besides the events, a gesture contains <em>anchors</em>: the id and screen bounds of the node that was
+ * under the mouse when a mouse button was pressed. Anchors are the only points where a replay looks at the
+ * scene graph again (see {@link GestureRobot#replay(Gesture)}).
+ * <p>
+ * Gestures are stored in a compact binary form (one byte per event type followed by its float, int or
+ * string payload) which can be written to and read from disk with {@link #writeTo(Path)} and
+ * {@link #readFrom(Path)}. Keys and mouse buttons are stored by name, as their ordinals differ between
+ * JavaFX versions.
+ */
+public final class Gesture {
+
+    private static final int MAGIC = 0x54465847; // "TFXG"
+    private static final byte VERSION = 2;
+
+    private static final byte MOVE_MOUSE = 1;
+    private static final byte PRESS_MOUSE = 2;
+    private static final byte RELEASE_MOUSE = 3;
+    private static final byte SCROLL_MOUSE = 4;
+    private static final byte PRESS_KEYBOARD = 5;
+    private static final byte RELEASE_KEYBOARD = 6;
+    private static final byte TYPE_KEYBOARD = 7;
+    private static final byte ANCHOR = 8;
+
+    private final byte[] data;
+    private final int eventCount;
+
+    private Gesture(byte[] data, int eventCount) {
+        this.data = data;
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * Creates a new builder for recording a gesture.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Decodes a gesture from the bytes returned by {@link #toByteArray()}.
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid gesture
+     */
+    public static Gesture fromByteArray(byte[] bytes) {
+        byte[] data = Arrays.copyOf(bytes, bytes.length);
+        CountingHandler counter = new CountingHandler();
+        try {
+            decode(data, counter);
+        }
+        catch (IOException | RuntimeException exception) {
+            throw new IllegalArgumentException("bytes are not a valid gesture", exception);
+        }
+        return new Gesture(data, counter.count);
+    }
+
+    /**
+     * Reads a gesture that was written with {@link #writeTo(Path)}.
+     */
+    public static Gesture readFrom(Path path) {
+        try {
+            return fromByteArray(Files.readAllBytes(path));
+        }
+        catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Returns the encoded form of this gesture.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, data.length);
+    }
+
+    /**
+     * Writes the encoded form of this gesture to the given path.
+     */
+    public void writeTo(Path path) {
+        try {
+            Files.write(path, data);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Returns the number of events (including anchors) in this gesture.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Passes each recorded event, in order, to the given handler.
+     */
+    public void forEach(Handler handler) {
+        try {
+            decode(data, handler);
+        }
+        catch (IOException exception) {
+            // Can not happen: the data was validated when this gesture was created.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void decode(byte[] data, Handler handler) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("missing gesture header");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("unsupported gesture version: " + version);
+        }
+        int type;
+        while ((type = input.read()) != -1) {
+            switch (type) {
+                case MOVE_MOUSE:
+                    handler.moveMouse(new Point2D(input.readFloat(), input.readFloat()));
+                    break;
+                case PRESS_MOUSE:
+                    handler.pressMouse(MouseButton.valueOf(input.readUTF()));
+                    break;
+                case RELEASE_MOUSE:
+                    handler.releaseMouse(MouseButton.valueOf(input.readUTF()));
+                    break;
+                case SCROLL_MOUSE:
+                    handler.scrollMouse(input.readInt());
+                    break;
+                case PRESS_KEYBOARD:
+                    handler.pressKeyboard(KeyCode.valueOf(input.readUTF()));
+                    break;
+                case RELEASE_KEYBOARD:
+                    handler.releaseKeyboard(KeyCode.valueOf(input.readUTF()));
+                    break;
+                case TYPE_KEYBOARD:
+                    handler.typeKeyboard(KeyCode.valueOf(input.readUTF()), input.readUTF());
+                    break;
+                case ANCHOR:
+                    handler.anchor(input.readUTF(), new BoundingBox(input.readFloat(), input.readFloat(),
+                            input.readFloat(), input.readFloat()));
+                    break;
+                default:
+                    throw new IOException("unknown gesture event type: " + type);
+            }
+        }
+    }
+
+    /**
+     * Receives the events of a {@link Gesture} in the order they were recorded.
+     */
+    public interface Handler {
+
+        void moveMouse(Point2D point);
+
+        void pressMouse(MouseButton button);
+
+        void releaseMouse(MouseButton button);
+
+        void scrollMouse(int amount);
+
+        void pressKeyboard(KeyCode key);
+
+        void releaseKeyboard(KeyCode key);
+
+        void typeKeyboard(KeyCode key, String character);
+
+        /**
+         * Called for an anchor point, i.e. the node with the given {@code id} had the given screen
+         * {@code bounds} when the gesture was recorded.
+         */
+        void anchor(String id, Bounds bounds);
+
+    }
+
+    /**
+     * Builds a {@link Gesture} one event at a time. Builders are not thread-safe.
+     */
+    public static final class Builder {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream output = new DataOutputStream(bytes);
+        private int eventCount;
+
+        private Builder() {
+            write(() -> {
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+            });
+        }
+
+        public Builder moveMouse(Point2D point) {
+            return event(MOVE_MOUSE, () -> {
+                output.writeFloat((float) point.getX());
+                output.writeFloat((float) point.getY());
+            });
+        }
+
+        public Builder pressMouse(MouseButton button) {
+            return event(PRESS_MOUSE, () -> output.writeUTF(button.name()));
+        }
+
+        public Builder releaseMouse(MouseButton button) {
+            return event(RELEASE_MOUSE, () -> output.writeUTF(button.name()));
+        }
+
+        public Builder scrollMouse(int amount) {
+            return event(SCROLL_MOUSE, () -> output.writeInt(amount));
+        }
+
+        public Builder pressKeyboard(KeyCode key) {
+            return event(PRESS_KEYBOARD, () -> output.writeUTF(key.name()));
+        }
+
+        public Builder releaseKeyboard(KeyCode key) {
+            return event(RELEASE_KEYBOARD, () -> output.writeUTF(key.name()));
+        }
+
+        public Builder typeKeyboard(KeyCode key, String character) {
+            return event(TYPE_KEYBOARD, () -> {
+                output.writeUTF(key.name());
+                output.writeUTF(character);
+            });
+        }
+
+        public Builder anchor(String id, Bounds bounds) {
+            return event(ANCHOR, () -> {
+                output.writeUTF(id);
+                output.writeFloat((float) bounds.getMinX());
+                output.writeFloat((float) bounds.getMinY());
+                output.writeFloat((float) bounds.getWidth());
+                output.writeFloat((float) bounds.getHeight());
+            });
+        }
+
+        public Gesture build() {
+            return new Gesture(bytes.toByteArray(), eventCount);
+        }
+
+        private Builder event(byte type, IoAction payload) {
+            write(() -> {
+                output.writeByte(type);
+                payload.run();
+            });
+            eventCount++;
+            return this;
+        }
+
+        private void write(IoAction action) {
+            try {
+                action.run();
+            }
+            catch (IOException exception) {
+                // Can not happen when writing to a ByteArrayOutputStream.
+                throw new IllegalStateException(exception);
+            }
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static final class CountingHandler implements Handler {
+
+        private int count;
+
+        @Override
+        public void moveMouse(Point2D point) {
+            count++;
+        }
+
+        @Override
+        public void pressMouse(MouseButton button) {
+            count++;
+        }
+
+        @Override
+        public void releaseMouse(MouseButton button) {
+            count++;
+        }
+
+        @Override
+        public void scrollMouse(int amount) {
+            count++;
+        }
+
+        @Override
+        public void pressKeyboard(KeyCode key) {
+            count++;
+        }
+
+        @Override
+        public void releaseKeyboard(KeyCode key) {
+            count++;
+        }
+
+        @Override
+        public void typeKeyboard(KeyCode key, String character) {
+            count++;
+        }
+
+        @Override
+        public void anchor(String id, Bounds bounds) {
+            count++;
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.robot;
+
+public interface GestureRobot {
+
+    /**
+     * Starts recording every low-level event that is sent to the {@link BaseRobot} until
+     * {@link #stopRecording()} is called.
+     *
+     * @throws IllegalStateException if a recording is already in progress
+     */
+    void startRecording();
+
+    /**
+     * Stops the current recording.
+     *
+     * @return the recorded gesture
+     * @throws IllegalStateException if no recording is in progress
+     */
+    Gesture stopRecording();
+
+    /**
+     *
+     * @return whether a recording is in progress
+     */
+    boolean isRecording();
+
+    /**
+     * Replays the given gesture by sending its events back-to-back to the {@link BaseRobot}, without the
+     * per-event waits and movement steps of the other robots. The scene graph is only consulted at the
+     * gesture's anchor points: all pending FX events are waited for, the anchored node is looked up by its id
+     * and, if it has moved, the mouse location (and all following mouse locations) are shifted by the same
+     * amount. A single wait for FX events is made after the last event.
+     *
+     * @param gesture the gesture to replay
+     * @throws org.testfx.api.FxRobotException if an anchored node can not be found or has changed its size
+     */
+    void replay(Gesture gesture);
+
+}
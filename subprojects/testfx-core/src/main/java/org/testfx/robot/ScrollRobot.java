@@ -18,6 +18,7 @@ package org.testfx.robot;
 
 import javafx.geometry.HorizontalDirection;
 import javafx.geometry.VerticalDirection;
+import javafx.scene.Node;
 
 public interface ScrollRobot {
 
@@ -72,4 +73,35 @@ public interface ScrollRobot {
      * @param positiveAmount the number of scroll ticks to scroll right
      */
     void scrollRight(int positiveAmount);
+
+    /**
+     * Scrolls vertically by {@code amount} (in terms of ticks of a mouse wheel) in given direction. Unlike
+     * {@link #scroll(int, VerticalDirection)}, all ticks are sent back-to-back and
+     * {@link org.testfx.util.WaitForAsyncUtils#waitForFxEvents()} is called only once, after the last tick.
+     *
+     * @param positiveAmount the number of scroll ticks to scroll vertically
+     * @param direction the vertical direction in which to scroll (up or down)
+     */
+    void scrollCoalesced(int positiveAmount, VerticalDirection direction);
+
+    /**
+     * Scrolls horizontally by {@code amount} (in terms of ticks of a mouse wheel) in given direction. Unlike
+     * {@link #scroll(int, HorizontalDirection)}, all ticks are sent back-to-back and
+     * {@link org.testfx.util.WaitForAsyncUtils#waitForFxEvents()} is called only once, after the last tick.
+     *
+     * @param positiveAmount the number of scroll ticks to scroll horizontally
+     * @param direction the horizontal direction in which to scroll (left or right)
+     */
+    void scrollCoalesced(int positiveAmount, HorizontalDirection direction);
+
+    /**
+     * Scrolls every {@link javafx.scene.control.ScrollPane} and {@code VirtualFlow} that contains the given
+     * {@code node} (innermost first) just far enough for the node to become visible in its viewport. The scroll
+     * positions are adjusted directly, rather than via mouse wheel ticks, and
+     * {@link org.testfx.util.WaitForAsyncUtils#waitForFxEvents()} is called once afterwards.
+     *
+     * @param node the node to scroll into view
+     */
+    void scrollTo(Node node);
+
 }
@@ -16,25 +16,49 @@
  */
 package org.testfx.robot.impl;
 
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
+import javafx.stage.Window;
 
+import org.testfx.internal.FlightRecorderAdapter;
+import org.testfx.internal.FlightRecorderAdapter.EventKind;
 import org.testfx.robot.BaseRobot;
 import org.testfx.service.adapter.RobotAdapter;
 import org.testfx.service.adapter.impl.AwtRobotAdapter;
 import org.testfx.service.adapter.impl.GlassRobotAdapter;
+import org.testfx.service.adapter.impl.HeadlessRobotAdapter;
 import org.testfx.service.adapter.impl.JavafxRobotAdapter;
+import org.testfx.service.support.RobotInstrumentation;
+import org.testfx.service.support.RobotInstrumentation.Stage;
+import org.testfx.util.WaitForAsyncUtils;
 
 public class BaseRobotImpl implements BaseRobot {
 
     private final RobotAdapter robotAdapter;
     private final JavafxRobotAdapter javafxRobotAdapter;
+    private final RobotInstrumentation instrumentation;
 
     public BaseRobotImpl() {
+        this(RobotInstrumentation.NONE);
+    }
+
+    public BaseRobotImpl(RobotInstrumentation instrumentation) {
+        this(instrumentation, null);
+    }
+
+    /**
+     * Creates a base robot whose input only reaches the windows accepted by the given {@code windowScope}, or all
+     * windows if it is {@code null}. Only the headless robot adapter can be scoped, as the other adapters drive the
+     * one mouse and keyboard of the OS.
+     */
+    public BaseRobotImpl(RobotInstrumentation instrumentation, Predicate<Window> windowScope) {
+        this.instrumentation = instrumentation;
         boolean verbose = Boolean.getBoolean("testfx.verbose");
         // Default to "glass" if "testfx.robot" is not explicitly set.
         String robotAdapterName = System.getProperty("testfx.robot", "glass");
@@ -51,60 +75,94 @@ public class BaseRobotImpl implements BaseRobot {
                 }
                 robotAdapter = GlassRobotAdapter.createGlassRobot();
                 break;
+            case "headless":
+                if (verbose) {
+                    System.out.println("testfx: initializing headless (in-process) robot");
+                }
+                robotAdapter = windowScope == null ? new HeadlessRobotAdapter() : new HeadlessRobotAdapter(windowScope);
+                break;
             default:
                 throw new IllegalStateException(String.format(
-                        "unknown robot adapter 'testfx.robot=%s' (must be 'awt' or 'glass')", robotAdapterName));
+                        "unknown robot adapter 'testfx.robot=%s' (must be 'awt', 'glass' or 'headless')",
+                        robotAdapterName));
+        }
+        if (windowScope != null && !(robotAdapter instanceof HeadlessRobotAdapter)) {
+            throw new IllegalStateException(String.format(
+                    "robot adapter 'testfx.robot=%s' cannot be scoped to windows (must be 'headless')",
+                    robotAdapterName));
         }
         javafxRobotAdapter = new JavafxRobotAdapter();
     }
 
     @Override
     public void pressKeyboard(KeyCode key) {
-        robotAdapter.keyPress(key);
+        callAdapter("keyPress", () -> robotAdapter.keyPress(key));
     }
 
     @Override
     public void releaseKeyboard(KeyCode key) {
-        robotAdapter.keyRelease(key);
+        callAdapter("keyRelease", () -> robotAdapter.keyRelease(key));
     }
 
     @Override
     public void typeKeyboard(Scene scene, KeyCode key, String character) {
         // KeyEvent: "For key typed events, {@code code} is always {@code KeyCode.UNDEFINED}."
-        javafxRobotAdapter.robotCreate(scene);
-        javafxRobotAdapter.keyPress(key);
-        javafxRobotAdapter.keyType(KeyCode.UNDEFINED, character);
-        javafxRobotAdapter.keyRelease(key);
+        callAdapter("keyType", () -> {
+            javafxRobotAdapter.robotCreate(scene);
+            javafxRobotAdapter.keyPress(key);
+            javafxRobotAdapter.keyType(KeyCode.UNDEFINED, character);
+            javafxRobotAdapter.keyRelease(key);
+        });
     }
 
     @Override
     public Point2D retrieveMouse() {
-        return robotAdapter.getMouseLocation();
+        return callAdapter("getMouseLocation", () -> robotAdapter.getMouseLocation());
     }
 
     @Override
     public void moveMouse(Point2D point) {
-        robotAdapter.mouseMove(point);
+        callAdapter("mouseMove", () -> robotAdapter.mouseMove(point));
     }
 
     @Override
     public void scrollMouse(int amount) {
-        robotAdapter.mouseWheel(amount);
+        callAdapter("mouseWheel", () -> robotAdapter.mouseWheel(amount));
     }
 
     @Override
     public void pressMouse(MouseButton button) {
-        robotAdapter.mousePress(button);
+        callAdapter("mousePress", () -> robotAdapter.mousePress(button));
     }
 
     @Override
     public void releaseMouse(MouseButton button) {
-        robotAdapter.mouseRelease(button);
+        callAdapter("mouseRelease", () -> robotAdapter.mouseRelease(button));
     }
 
     @Override
     public Image captureRegion(Rectangle2D region) {
-        return robotAdapter.getCaptureRegion(region);
+        return callAdapter("getCaptureRegion", () -> robotAdapter.getCaptureRegion(region));
+    }
+
+    private void callAdapter(String operation, Runnable call) {
+        Object event = FlightRecorderAdapter.begin(EventKind.ROBOT_ADAPTER);
+        try {
+            instrumentation.time(Stage.ROBOT_ADAPTER, call);
+        }
+        finally {
+            FlightRecorderAdapter.commit(event, operation, WaitForAsyncUtils.getPendingFxTasksCount());
+        }
+    }
+
+    private <T> T callAdapter(String operation, Supplier<T> call) {
+        Object event = FlightRecorderAdapter.begin(EventKind.ROBOT_ADAPTER);
+        try {
+            return instrumentation.time(Stage.ROBOT_ADAPTER, call);
+        }
+        finally {
+            FlightRecorderAdapter.commit(event, operation, WaitForAsyncUtils.getPendingFxTasksCount());
+        }
     }
 
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.robot.impl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.stage.Window;
+
+import org.testfx.api.FxRobotException;
+import org.testfx.robot.BaseRobot;
+import org.testfx.robot.Gesture;
+import org.testfx.robot.GestureRobot;
+import org.testfx.service.finder.WindowFinder;
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * A {@link BaseRobot} that forwards to another base robot and, while recording, additionally writes every
+ * event it forwards into a {@link Gesture}. It is the base robot all other robots of an
+ * {@link org.testfx.api.FxRobotContext} are wired to, so that recordings see the fully resolved event stream.
+ */
+public class GestureRobotImpl implements GestureRobot, BaseRobot {
+
+    private static final long RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
+
+    private final BaseRobot baseRobot;
+    private final WindowFinder windowFinder;
+    private Gesture.Builder recording;
+
+    public GestureRobotImpl(BaseRobot baseRobot, WindowFinder windowFinder) {
+        this.baseRobot = baseRobot;
+        this.windowFinder = windowFinder;
+    }
+
+    @Override
+    public synchronized void startRecording() {
+        if (recording != null) {
+            throw new IllegalStateException("a gesture is already being recorded");
+        }
+        recording = Gesture.builder();
+    }
+
+    @Override
+    public synchronized Gesture stopRecording() {
+        if (recording == null) {
+            throw new IllegalStateException("no gesture is being recorded");
+        }
+        Gesture gesture = recording.build();
+        recording = null;
+        return gesture;
+    }
+
+    @Override
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    @Override
+    public void replay(Gesture gesture) {
+        gesture.forEach(new Replayer());
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    @Override
+    public void pressKeyboard(KeyCode key) {
+        record(builder -> builder.pressKeyboard(key));
+        baseRobot.pressKeyboard(key);
+    }
+
+    @Override
+    public void releaseKeyboard(KeyCode key) {
+        record(builder -> builder.releaseKeyboard(key));
+        baseRobot.releaseKeyboard(key);
+    }
+
+    @Override
+    public void typeKeyboard(Scene scene, KeyCode key, String character) {
+        record(builder -> builder.typeKeyboard(key, character));
+        baseRobot.typeKeyboard(scene, key, character);
+    }
+
+    @Override
+    public Point2D retrieveMouse() {
+        return baseRobot.retrieveMouse();
+    }
+
+    @Override
+    public void moveMouse(Point2D point) {
+        record(builder -> builder.moveMouse(point));
+        baseRobot.moveMouse(point);
+    }
+
+    @Override
+    public void scrollMouse(int amount) {
+        record(builder -> builder.scrollMouse(amount));
+        baseRobot.scrollMouse(amount);
+    }
+
+    @Override
+    public void pressMouse(MouseButton button) {
+        if (isRecording()) {
+            Point2D point = baseRobot.retrieveMouse();
+            Optional<Node> anchorNode = WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
+                () -> anchorNodeAt(point));
+            anchorNode.ifPresent(node -> record(builder -> builder.anchor(node.getId(), screenBoundsOf(node))));
+        }
+        record(builder -> builder.pressMouse(button));
+        baseRobot.pressMouse(button);
+    }
+
+    @Override
+    public void releaseMouse(MouseButton button) {
+        record(builder -> builder.releaseMouse(button));
+        baseRobot.releaseMouse(button);
+    }
+
+    @Override
+    public Image captureRegion(Rectangle2D region) {
+        return baseRobot.captureRegion(region);
+    }
+
+    private synchronized void record(Consumer<Gesture.Builder> event) {
+        if (recording != null) {
+            event.accept(recording);
+        }
+    }
+
+    /**
+     * Returns the deepest node with an id whose screen bounds contain the given point, looking at the
+     * top-most showing window first.
+     */
+    private Optional<Node> anchorNodeAt(Point2D point) {
+        List<Window> windows = windowFinder.listWindows();
+        for (int i = windows.size() - 1; i >= 0; i--) {
+            Window window = windows.get(i);
+            if (window.isShowing() && window.getScene() != null) {
+                Node node = anchorNodeAt(window.getScene().getRoot(), point);
+                if (node != null) {
+                    return Optional.of(node);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Node anchorNodeAt(Node node, Point2D point) {
+        if (!node.isVisible() || !screenBoundsOf(node).contains(point)) {
+            return null;
+        }
+        if (node instanceof Parent) {
+            List<Node> children = ((Parent) node).getChildrenUnmodifiable();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                Node anchorNode = anchorNodeAt(children.get(i), point);
+                if (anchorNode != null) {
+                    return anchorNode;
+                }
+            }
+        }
+        return node.getId() != null ? node : null;
+    }
+
+    private static Bounds screenBoundsOf(Node node) {
+        return node.localToScreen(node.getBoundsInLocal());
+    }
+
+    private Window fetchTargetWindow() {
+        Window targetWindow = windowFinder.window(Window::isFocused);
+        if (targetWindow == null) {
+            targetWindow = windowFinder.targetWindow();
+        }
+        if (targetWindow == null) {
+            targetWindow = windowFinder.window(0);
+        }
+        return targetWindow;
+    }
+
+    /**
+     * Sends the events of a gesture to the wrapped base robot, shifting mouse locations by the offset
+     * between the recorded and the current location of the most recent anchor.
+     */
+    private class Replayer implements Gesture.Handler {
+
+        private double offsetX;
+        private double offsetY;
+        private Point2D recordedPoint;
+        private Scene scene;
+
+        @Override
+        public void moveMouse(Point2D point) {
+            recordedPoint = point;
+            baseRobot.moveMouse(point.add(offsetX, offsetY));
+        }
+
+        @Override
+        public void pressMouse(MouseButton button) {
+            baseRobot.pressMouse(button);
+        }
+
+        @Override
+        public void releaseMouse(MouseButton button) {
+            baseRobot.releaseMouse(button);
+        }
+
+        @Override
+        public void scrollMouse(int amount) {
+            baseRobot.scrollMouse(amount);
+        }
+
+        @Override
+        public void pressKeyboard(KeyCode key) {
+            baseRobot.pressKeyboard(key);
+        }
+
+        @Override
+        public void releaseKeyboard(KeyCode key) {
+            baseRobot.releaseKeyboard(key);
+        }
+
+        @Override
+        public void typeKeyboard(KeyCode key, String character) {
+            if (scene == null) {
+                scene = fetchTargetWindow().getScene();
+            }
+            baseRobot.typeKeyboard(scene, key, character);
+        }
+
+        @Override
+        public void anchor(String id, Bounds recordedBounds) {
+            // The only point during a replay where we synchronize with the scene graph.
+            WaitForAsyncUtils.waitForFxEvents();
+            scene = null;
+            Bounds bounds = WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> lookupBounds(id));
+            if (bounds == null) {
+                throw new FxRobotException("anchor node \"#" + id + "\" of the gesture could not be found");
+            }
+            if (Math.abs(bounds.getWidth() - recordedBounds.getWidth()) >= 1 ||
+                    Math.abs(bounds.getHeight() - recordedBounds.getHeight()) >= 1) {
+                throw new FxRobotException("anchor node \"#" + id + "\" of the gesture has changed its size " +
+                        "from " + recordedBounds.getWidth() + "x" + recordedBounds.getHeight() + " to " +
+                        bounds.getWidth() + "x" + bounds.getHeight());
+            }
+            // Gestures store single precision coordinates, so only whole pixel offsets are meaningful.
+            double anchorOffsetX = Math.rint(bounds.getMinX() - recordedBounds.getMinX());
+            double anchorOffsetY = Math.rint(bounds.getMinY() - recordedBounds.getMinY());
+            if (anchorOffsetX != offsetX || anchorOffsetY != offsetY) {
+                offsetX = anchorOffsetX;
+                offsetY = anchorOffsetY;
+                if (recordedPoint != null) {
+                    baseRobot.moveMouse(recordedPoint.add(offsetX, offsetY));
+                }
+            }
+        }
+
+        private Bounds lookupBounds(String id) {
+            List<Window> windows = windowFinder.listWindows();
+            for (int i = windows.size() - 1; i >= 0; i--) {
+                Window window = windows.get(i);
+                if (window.isShowing() && window.getScene() != null) {
+                    Node node = window.getScene().getRoot().lookup("#" + id);
+                    if (node != null) {
+                        return screenBoundsOf(node);
+                    }
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
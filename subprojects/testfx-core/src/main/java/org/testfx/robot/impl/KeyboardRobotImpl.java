@@ -26,6 +26,9 @@ import javafx.scene.input.KeyCode;
 
 import org.testfx.robot.BaseRobot;
 import org.testfx.robot.KeyboardRobot;
+import org.testfx.service.support.RobotInstrumentation;
+import org.testfx.service.support.RobotInstrumentation.Stage;
+import org.testfx.util.FrameRecorder;
 import org.testfx.util.WaitForAsyncUtils;
 
 public class KeyboardRobotImpl implements KeyboardRobot {
@@ -37,18 +40,24 @@ public class KeyboardRobotImpl implements KeyboardRobot {
             .startsWith("mac") ? KeyCode.COMMAND : KeyCode.CONTROL;
 
     private final BaseRobot baseRobot;
+    private final RobotInstrumentation instrumentation;
     private final Set<KeyCode> pressedKeys = ConcurrentHashMap.newKeySet();
 
     public KeyboardRobotImpl(BaseRobot baseRobot) {
+        this(baseRobot, RobotInstrumentation.NONE);
+    }
+
+    public KeyboardRobotImpl(BaseRobot baseRobot, RobotInstrumentation instrumentation) {
         Objects.requireNonNull(baseRobot, "baseRobot must not be null");
         this.baseRobot = baseRobot;
+        this.instrumentation = instrumentation;
     }
  
     @Override
     public void press(KeyCode... keys) {
         Arrays.asList(keys).forEach(k -> {
             pressKey(k);
-            WaitForAsyncUtils.waitForFxEvents();
+            waitForFxEvents();
         });
     }
 
@@ -62,12 +71,12 @@ public class KeyboardRobotImpl implements KeyboardRobot {
         if (keys.length == 0) {
             pressedKeys.forEach(k -> {
                 releaseKey(k);
-                WaitForAsyncUtils.waitForFxEvents();
+                waitForFxEvents();
             });
         } else {
             Arrays.asList(keys).forEach(k -> {
                 releaseKey(k);
-                WaitForAsyncUtils.waitForFxEvents();
+                waitForFxEvents();
             });
         }
     }
@@ -87,6 +96,11 @@ public class KeyboardRobotImpl implements KeyboardRobot {
         return Collections.unmodifiableSet(pressedKeys);
     }
 
+    private void waitForFxEvents() {
+        instrumentation.time(Stage.WAIT_FOR_FX_EVENTS, () -> WaitForAsyncUtils.waitForFxEvents());
+        FrameRecorder.recordFrame();
+    }
+
     private void pressKey(KeyCode keyCode) {
         KeyCode realKeyCode = keyCode == KeyCode.SHORTCUT ? OS_SPECIFIC_SHORTCUT : keyCode;
         if (pressedKeys.add(realKeyCode)) {
@@ -27,22 +27,31 @@ import javafx.scene.input.MouseButton;
 
 import org.testfx.robot.BaseRobot;
 import org.testfx.robot.MouseRobot;
+import org.testfx.service.support.RobotInstrumentation;
+import org.testfx.service.support.RobotInstrumentation.Stage;
+import org.testfx.util.FrameRecorder;
 import org.testfx.util.WaitForAsyncUtils;
 
 public class MouseRobotImpl implements MouseRobot {
 
     private final BaseRobot baseRobot;
+    private final RobotInstrumentation instrumentation;
     private final Set<MouseButton> pressedButtons = new HashSet<>();
 
     public MouseRobotImpl(BaseRobot baseRobot) {
+        this(baseRobot, RobotInstrumentation.NONE);
+    }
+
+    public MouseRobotImpl(BaseRobot baseRobot, RobotInstrumentation instrumentation) {
         Objects.requireNonNull(baseRobot, "baseRobot must not be null");
         this.baseRobot = baseRobot;
+        this.instrumentation = instrumentation;
     }
  
     @Override
     public void press(MouseButton... buttons) {
         pressNoWait(buttons);
-        WaitForAsyncUtils.waitForFxEvents();
+        waitForFxEvents();
     }
 
     @Override
@@ -58,7 +67,7 @@ public class MouseRobotImpl implements MouseRobot {
     @Override
     public void release(MouseButton... buttons) {
         releaseNoWait(buttons);
-        WaitForAsyncUtils.waitForFxEvents();
+        waitForFxEvents();
     }
 
     @Override
@@ -74,7 +83,7 @@ public class MouseRobotImpl implements MouseRobot {
     @Override
     public void move(Point2D location) {
         moveNoWait(location);
-        WaitForAsyncUtils.waitForFxEvents();
+        waitForFxEvents();
     }
 
     @Override
@@ -85,7 +94,7 @@ public class MouseRobotImpl implements MouseRobot {
     @Override
     public void scroll(int wheelAmount) {
         scrollNoWait(wheelAmount);
-        WaitForAsyncUtils.waitForFxEvents();
+        waitForFxEvents();
     }
 
     @Override
@@ -98,6 +107,11 @@ public class MouseRobotImpl implements MouseRobot {
         return Collections.unmodifiableSet(pressedButtons);
     }
 
+    private void waitForFxEvents() {
+        instrumentation.time(Stage.WAIT_FOR_FX_EVENTS, () -> WaitForAsyncUtils.waitForFxEvents());
+        FrameRecorder.recordFrame();
+    }
+
     private void pressButton(MouseButton button) {
         if (pressedButtons.add(button)) {
             baseRobot.pressMouse(button);
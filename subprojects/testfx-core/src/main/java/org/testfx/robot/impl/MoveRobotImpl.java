@@ -29,6 +29,8 @@ import org.testfx.robot.MouseRobot;
 import org.testfx.robot.MoveRobot;
 import org.testfx.robot.SleepRobot;
 import org.testfx.service.query.PointQuery;
+import org.testfx.service.support.RobotInstrumentation;
+import org.testfx.service.support.RobotInstrumentation.Stage;
 
 public class MoveRobotImpl implements MoveRobot {
 
@@ -53,11 +55,18 @@ public class MoveRobotImpl implements MoveRobot {
     private final BaseRobot baseRobot;
     private final MouseRobot mouseRobot;
     private final SleepRobot sleepRobot;
+    private final RobotInstrumentation instrumentation;
 
     public MoveRobotImpl(BaseRobot baseRobot, MouseRobot mouseRobot, SleepRobot sleepRobot) {
+        this(baseRobot, mouseRobot, sleepRobot, RobotInstrumentation.NONE);
+    }
+
+    public MoveRobotImpl(BaseRobot baseRobot, MouseRobot mouseRobot, SleepRobot sleepRobot,
+                         RobotInstrumentation instrumentation) {
         this.baseRobot = baseRobot;
         this.mouseRobot = mouseRobot;
         this.sleepRobot = sleepRobot;
+        this.instrumentation = instrumentation;
     }
 
     @Override
@@ -69,13 +78,15 @@ public class MoveRobotImpl implements MoveRobot {
             // The user explicitly requested a non-default type of motion, so honor it.
             motion = pointQuery.queryMotion().get();
         }
-        Point2D targetPoint = pointQuery.query();
+        Point2D targetPoint = instrumentation.time(Stage.POINT_QUERY, pointQuery::query);
         if (sourcePoint != targetPoint) {
-            moveMouseStepwiseBetween(sourcePoint, targetPoint, motion);
+            Motion stepMotion = motion;
+            instrumentation.time(Stage.MOVE_STEPS,
+                () -> moveMouseStepwiseBetween(sourcePoint, targetPoint, stepMotion));
         }
 
         // If the target has moved while we were moving the mouse, update to the new position.
-        Point2D finalPoint = pointQuery.query();
+        Point2D finalPoint = instrumentation.time(Stage.POINT_QUERY, pointQuery::query);
         mouseRobot.move(finalPoint);
     }
 
@@ -84,7 +95,7 @@ public class MoveRobotImpl implements MoveRobot {
 
         Point2D sourcePoint = baseRobot.retrieveMouse();
         Point2D targetPoint = new Point2D(sourcePoint.getX() + x, sourcePoint.getY() + y);
-        moveMouseStepwiseBetween(sourcePoint, targetPoint, motion);
+        instrumentation.time(Stage.MOVE_STEPS, () -> moveMouseStepwiseBetween(sourcePoint, targetPoint, motion));
     }
 
     private void moveMouseStepwiseBetween(Point2D sourcePoint,
@@ -16,12 +16,22 @@
  */
 package org.testfx.robot.impl;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Objects;
+import javafx.geometry.Bounds;
 import javafx.geometry.HorizontalDirection;
 import javafx.geometry.VerticalDirection;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ScrollPane;
 
 import org.testfx.robot.MouseRobot;
 import org.testfx.robot.ScrollRobot;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.waitFor;
 
 public class ScrollRobotImpl implements ScrollRobot {
 
@@ -100,4 +110,124 @@ public class ScrollRobotImpl implements ScrollRobot {
             mouseRobot.scroll(SCROLL_ONE_UP_OR_LEFT);
         }
     }
+
+    @Override
+    public void scrollCoalesced(int positiveAmount, VerticalDirection direction) {
+        switch (direction) {
+            case UP:
+                scrollTicksNoWait(positiveAmount, SCROLL_ONE_UP_OR_LEFT);
+                break;
+            case DOWN:
+                scrollTicksNoWait(positiveAmount, SCROLL_ONE_DOWN_OR_RIGHT);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown vertical direction: " + direction);
+        }
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    @Override
+    public void scrollCoalesced(int positiveAmount, HorizontalDirection direction) {
+        switch (direction) {
+            case RIGHT:
+                scrollTicksNoWait(positiveAmount, SCROLL_ONE_DOWN_OR_RIGHT);
+                break;
+            case LEFT:
+                scrollTicksNoWait(positiveAmount, SCROLL_ONE_UP_OR_LEFT);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown horizontal direction: " + direction);
+        }
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    @Override
+    public void scrollTo(Node node) {
+        Objects.requireNonNull(node, "node must not be null");
+        waitFor(asyncFx(() -> {
+            // the cell is not a direct child of its VirtualFlow but sits in a Group inside a clipped container
+            IndexedCell<?> cell = node instanceof IndexedCell ? (IndexedCell<?>) node : null;
+            for (Parent parent = node.getParent(); parent != null; parent = parent.getParent()) {
+                if (parent instanceof ScrollPane) {
+                    scrollIntoViewport((ScrollPane) parent, node);
+                }
+                else if (isVirtualFlow(parent) && cell != null) {
+                    scrollIntoViewport(parent, cell);
+                    cell = null;
+                }
+                else if (cell == null && parent instanceof IndexedCell) {
+                    cell = (IndexedCell<?>) parent;
+                }
+            }
+        }));
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    private void scrollTicksNoWait(int positiveAmount, int tick) {
+        for (int scrollTick = 0; scrollTick < positiveAmount; scrollTick++) {
+            mouseRobot.scrollNoWait(tick);
+        }
+    }
+
+    private static void scrollIntoViewport(ScrollPane scrollPane, Node node) {
+        Node content = scrollPane.getContent();
+        if (content == null) {
+            return;
+        }
+        Bounds nodeBounds = content.sceneToLocal(node.localToScene(node.getBoundsInLocal()));
+        Bounds contentBounds = content.getLayoutBounds();
+        Bounds viewportBounds = scrollPane.getViewportBounds();
+        scrollPane.setHvalue(scrollValueFor(scrollPane.getHvalue(), scrollPane.getHmin(), scrollPane.getHmax(),
+                nodeBounds.getMinX() - contentBounds.getMinX(), nodeBounds.getWidth(),
+                contentBounds.getWidth(), viewportBounds.getWidth()));
+        scrollPane.setVvalue(scrollValueFor(scrollPane.getVvalue(), scrollPane.getVmin(), scrollPane.getVmax(),
+                nodeBounds.getMinY() - contentBounds.getMinY(), nodeBounds.getHeight(),
+                contentBounds.getHeight(), viewportBounds.getHeight()));
+        scrollPane.layout();
+    }
+
+    /**
+     * Returns the scroll value that moves the span {@code [nodeMin, nodeMin + nodeSize]} into the viewport
+     * with as little scrolling as possible, or {@code value} if it is already visible.
+     */
+    private static double scrollValueFor(double value, double min, double max, double nodeMin, double nodeSize,
+                                         double contentSize, double viewportSize) {
+        double scrollableSize = contentSize - viewportSize;
+        if (scrollableSize <= 0 || max <= min) {
+            return value;
+        }
+        double viewportMin = (value - min) / (max - min) * scrollableSize;
+        double targetMin = viewportMin;
+        if (nodeMin < viewportMin || nodeSize > viewportSize) {
+            targetMin = nodeMin;
+        }
+        else if (nodeMin + nodeSize > viewportMin + viewportSize) {
+            targetMin = nodeMin + nodeSize - viewportSize;
+        }
+        double clamped = Math.max(0, Math.min(scrollableSize, targetMin));
+        return min + clamped / scrollableSize * (max - min);
+    }
+
+    /**
+     * Calls {@code VirtualFlow.scrollTo(IndexedCell)} reflectively as {@code VirtualFlow} is not public API
+     * before JavaFX 9.
+     */
+    private static void scrollIntoViewport(Parent virtualFlow, IndexedCell<?> cell) {
+        try {
+            virtualFlow.getClass().getMethod("scrollTo", IndexedCell.class).invoke(virtualFlow, cell);
+        }
+        catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean isVirtualFlow(Node node) {
+        for (Class<?> type = node.getClass(); type != null; type = type.getSuperclass()) {
+            if (type.getSimpleName().equals("VirtualFlow")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
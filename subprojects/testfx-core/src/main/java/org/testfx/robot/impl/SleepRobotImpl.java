@@ -19,17 +19,33 @@ package org.testfx.robot.impl;
 import java.util.concurrent.TimeUnit;
 
 import org.testfx.robot.SleepRobot;
+import org.testfx.service.support.RobotInstrumentation;
+import org.testfx.service.support.RobotInstrumentation.Stage;
 
 public class SleepRobotImpl implements SleepRobot {
 
+    private final RobotInstrumentation instrumentation;
+
+    public SleepRobotImpl() {
+        this(RobotInstrumentation.NONE);
+    }
+
+    public SleepRobotImpl(RobotInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
     @Override
     public void sleep(long milliseconds) {
+        long startNanos = System.nanoTime();
         try {
             Thread.sleep(milliseconds);
         }
         catch (InterruptedException exception) {
             throw new RuntimeException(exception);
         }
+        finally {
+            instrumentation.record(Stage.SLEEP, System.nanoTime() - startNanos);
+        }
     }
 
     @Override
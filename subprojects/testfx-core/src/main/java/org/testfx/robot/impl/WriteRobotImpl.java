@@ -26,6 +26,9 @@ import org.testfx.robot.BaseRobot;
 import org.testfx.robot.SleepRobot;
 import org.testfx.robot.WriteRobot;
 import org.testfx.service.finder.WindowFinder;
+import org.testfx.service.support.RobotInstrumentation;
+import org.testfx.service.support.RobotInstrumentation.Stage;
+import org.testfx.util.FrameRecorder;
 import org.testfx.util.WaitForAsyncUtils;
 
 public class WriteRobotImpl implements WriteRobot {
@@ -49,14 +52,21 @@ public class WriteRobotImpl implements WriteRobot {
     private final BaseRobot baseRobot;
     private final SleepRobot sleepRobot;
     private final WindowFinder windowFinder;
+    private final RobotInstrumentation instrumentation;
 
     public WriteRobotImpl(BaseRobot baseRobot, SleepRobot sleepRobot, WindowFinder windowFinder) {
+        this(baseRobot, sleepRobot, windowFinder, RobotInstrumentation.NONE);
+    }
+
+    public WriteRobotImpl(BaseRobot baseRobot, SleepRobot sleepRobot, WindowFinder windowFinder,
+                          RobotInstrumentation instrumentation) {
         Objects.requireNonNull(baseRobot, "baseRobot must not be null");
         Objects.requireNonNull(sleepRobot, "sleepRobot must not be null");
         Objects.requireNonNull(windowFinder, "windowFinder must not be null");
         this.baseRobot = baseRobot;
         this.sleepRobot = sleepRobot;
         this.windowFinder = windowFinder;
+        this.instrumentation = instrumentation;
     }
 
     @Override
@@ -94,7 +104,8 @@ public class WriteRobotImpl implements WriteRobot {
                                       Scene scene) {
         KeyCode key = determineKeyCode(character);
         baseRobot.typeKeyboard(scene, key, Character.toString(character));
-        WaitForAsyncUtils.waitForFxEvents();
+        instrumentation.time(Stage.WAIT_FOR_FX_EVENTS, () -> WaitForAsyncUtils.waitForFxEvents());
+        FrameRecorder.recordFrame();
     }
 
     private KeyCode determineKeyCode(char character) {
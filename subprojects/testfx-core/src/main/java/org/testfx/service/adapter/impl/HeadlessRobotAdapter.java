@@ -0,0 +1,451 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.adapter.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import javafx.event.Event;
+import javafx.event.EventTarget;
+import javafx.event.EventType;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.ContextMenuEvent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+import javafx.stage.Window;
+
+import org.testfx.internal.JavaVersionAdapter;
+import org.testfx.service.adapter.RobotAdapter;
+
+import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.waitForAsyncFx;
+
+/**
+ * A {@link RobotAdapter} implementation that never touches the operating system's input system.
+ * <p>
+ * Mouse and keyboard input is synthesized with the public JavaFX event API (like {@link JavafxRobotAdapter})
+ * and delivered directly into the {@link Scene} of the showing window under the virtual mouse cursor. The
+ * adapter does its own picking (respecting visibility, {@code mouseTransparent} and {@code pickOnBounds}),
+ * generates {@code MOUSE_ENTERED}/{@code MOUSE_EXITED} events as the cursor crosses nodes, delivers drag and
+ * release events to the node that received the press, and targets key events at the focus owner of the
+ * focused window. Screen captures are taken with {@link Scene#snapshot(WritableImage)}.
+ * <p>
+ * Because no display server or OS robot is involved, several JVMs (or test forks) on one host do not
+ * contend for the same mouse and keyboard. Select it with {@code -Dtestfx.robot=headless}.
+ * <p>
+ * Limitations: platform drag-and-drop ({@link Node#startDragAndDrop}) and full press-drag-release gestures
+ * rely on toolkit-internal scene state and are not supported, and {@code KEY_TYPED} events are only
+ * generated for keys that map to a single printable character. Use {@link org.testfx.robot.WriteRobot}
+ * for arbitrary text.
+ */
+public class HeadlessRobotAdapter implements RobotAdapter<HeadlessRobotAdapter> {
+
+    private static final int RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
+    private static final long MULTI_CLICK_INTERVAL_IN_MILLIS = 500;
+    private static final double MULTI_CLICK_DISTANCE = 5;
+    private static final double SCROLL_DELTA_PER_WHEEL_TICK = 40;
+    private static final double SCROLL_LINES_PER_WHEEL_TICK = 3;
+
+    private final Predicate<Window> windowScope;
+    private volatile Point2D mouseLocation = new Point2D(0, 0);
+
+    // The following state is only accessed on the JavaFX Application Thread.
+    private final Set<MouseButton> pressedButtons = EnumSet.noneOf(MouseButton.class);
+    private final List<Node> hoveredNodes = new ArrayList<>();
+    private Scene hoveredScene;
+    private Node pressedNode;
+    private Point2D pressedLocation;
+    private boolean stillSincePress;
+
+    private MouseButton lastClickButton;
+    private Point2D lastClickLocation;
+    private long lastClickTimeInMillis;
+    private int clickCount;
+
+    private boolean isShiftDown;
+    private boolean isControlDown;
+    private boolean isAltDown;
+    private boolean isMetaDown;
+
+    public HeadlessRobotAdapter() {
+        this(window -> true);
+    }
+
+    /**
+     * Creates an adapter that only routes input to, and only captures, the windows accepted by the given
+     * {@code windowScope}. Tests that run concurrently, each in its own stage, use this to keep their input apart
+     * although their stages overlap on the (virtual) screen.
+     */
+    public HeadlessRobotAdapter(Predicate<Window> windowScope) {
+        this.windowScope = windowScope;
+    }
+
+    @Override
+    public void robotCreate() {
+        // NO-OP
+    }
+
+    @Override
+    public void robotDestroy() {
+        asyncFx(() -> {
+            pressedButtons.clear();
+            hoveredNodes.clear();
+            hoveredScene = null;
+            pressedNode = null;
+        });
+    }
+
+    @Override
+    public void keyPress(KeyCode key) {
+        asyncFx(() -> {
+            updateModifiers(key, true);
+            EventTarget target = keyEventTarget();
+            if (target == null) {
+                return;
+            }
+            Event.fireEvent(target, createKeyEvent(target, KeyEvent.KEY_PRESSED, KeyEvent.CHAR_UNDEFINED,
+                    key.getName(), key));
+            String character = typedCharacter(key);
+            if (character != null) {
+                Event.fireEvent(target, createKeyEvent(target, KeyEvent.KEY_TYPED, character, "",
+                        KeyCode.UNDEFINED));
+            }
+        });
+    }
+
+    @Override
+    public void keyRelease(KeyCode key) {
+        asyncFx(() -> {
+            updateModifiers(key, false);
+            EventTarget target = keyEventTarget();
+            if (target != null) {
+                Event.fireEvent(target, createKeyEvent(target, KeyEvent.KEY_RELEASED, KeyEvent.CHAR_UNDEFINED,
+                        key.getName(), key));
+            }
+        });
+    }
+
+    @Override
+    public Point2D getMouseLocation() {
+        return mouseLocation;
+    }
+
+    @Override
+    public void mouseMove(Point2D location) {
+        mouseLocation = location;
+        asyncFx(() -> {
+            if (pressedNode != null) {
+                if (pressedLocation.distance(location) > MULTI_CLICK_DISTANCE) {
+                    stillSincePress = false;
+                }
+                fireMouseEvent(MouseEvent.MOUSE_DRAGGED, pressedNode, location, MouseButton.NONE, 0);
+                return;
+            }
+            Node target = updateHover(location);
+            if (target != null) {
+                fireMouseEvent(MouseEvent.MOUSE_MOVED, target, location, MouseButton.NONE, 0);
+            }
+        });
+    }
+
+    @Override
+    public void mousePress(MouseButton button) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            Node target = updateHover(location);
+            if (target == null || !pressedButtons.add(button)) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            boolean multiClick = button == lastClickButton && lastClickLocation != null &&
+                    now - lastClickTimeInMillis <= MULTI_CLICK_INTERVAL_IN_MILLIS &&
+                    lastClickLocation.distance(location) <= MULTI_CLICK_DISTANCE;
+            clickCount = multiClick ? clickCount + 1 : 1;
+            lastClickButton = button;
+            lastClickLocation = location;
+            lastClickTimeInMillis = now;
+
+            Window window = target.getScene().getWindow();
+            if (window != null && !window.isFocused()) {
+                window.requestFocus();
+            }
+            if (pressedNode == null) {
+                pressedNode = target;
+                pressedLocation = location;
+                stillSincePress = true;
+            }
+            fireMouseEvent(MouseEvent.MOUSE_PRESSED, pressedNode, location, button, clickCount);
+            if (button == MouseButton.SECONDARY) {
+                fireContextMenuEvent(target, location);
+            }
+        });
+    }
+
+    @Override
+    public void mouseRelease(MouseButton button) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            if (!pressedButtons.remove(button) || pressedNode == null) {
+                return;
+            }
+            Node pressed = pressedNode;
+            fireMouseEvent(MouseEvent.MOUSE_RELEASED, pressed, location, button, clickCount);
+            if (pressedButtons.isEmpty()) {
+                pressedNode = null;
+            }
+            Node released = updateHover(location);
+            Node clicked = commonAncestor(pressed, released);
+            if (clicked != null) {
+                fireMouseEvent(MouseEvent.MOUSE_CLICKED, clicked, location, button, clickCount);
+            }
+        });
+    }
+
+    @Override
+    public void mouseWheel(int wheelAmount) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            Node target = updateHover(location);
+            if (target == null) {
+                return;
+            }
+            Scene scene = target.getScene();
+            Point2D scenePoint = screenToScene(scene, location);
+            // Negative wheel amounts scroll up/away from the user, which JavaFX reports as a positive delta.
+            Event.fireEvent(target, new ScrollEvent(scene, target, ScrollEvent.SCROLL,
+                    scenePoint.getX(), scenePoint.getY(), location.getX(), location.getY(),
+                    isShiftDown, isControlDown, isAltDown, isMetaDown, false, false,
+                    0, -wheelAmount * SCROLL_DELTA_PER_WHEEL_TICK, 0, -wheelAmount * SCROLL_DELTA_PER_WHEEL_TICK,
+                    ScrollEvent.HorizontalTextScrollUnits.NONE, 0,
+                    ScrollEvent.VerticalTextScrollUnits.LINES, -wheelAmount * SCROLL_LINES_PER_WHEEL_TICK,
+                    0, new PickResult(target, scenePoint.getX(), scenePoint.getY())));
+        });
+    }
+
+    @Override
+    public Color getCapturePixelColor(Point2D location) {
+        Image image = getCaptureRegion(new Rectangle2D(location.getX(), location.getY(), 1, 1));
+        return image.getPixelReader().getColor(0, 0);
+    }
+
+    @Override
+    public Image getCaptureRegion(Rectangle2D region) {
+        return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> {
+            int width = Math.max(1, (int) Math.round(region.getWidth()));
+            int height = Math.max(1, (int) Math.round(region.getHeight()));
+            WritableImage image = new WritableImage(width, height);
+            List<Window> windows = scopedWindows();
+            // Paint the showing windows back to front so that the topmost window wins where they overlap.
+            for (Window window : windows) {
+                Scene scene = window.getScene();
+                if (!window.isShowing() || scene == null) {
+                    continue;
+                }
+                double sceneMinX = window.getX() + scene.getX();
+                double sceneMinY = window.getY() + scene.getY();
+                int minX = (int) Math.max(region.getMinX(), sceneMinX);
+                int minY = (int) Math.max(region.getMinY(), sceneMinY);
+                int maxX = (int) Math.min(region.getMinX() + width, sceneMinX + scene.getWidth());
+                int maxY = (int) Math.min(region.getMinY() + height, sceneMinY + scene.getHeight());
+                if (minX >= maxX || minY >= maxY) {
+                    continue;
+                }
+                PixelReader reader = scene.snapshot(null).getPixelReader();
+                image.getPixelWriter().setPixels(minX - (int) region.getMinX(), minY - (int) region.getMinY(),
+                        maxX - minX, maxY - minY, reader, minX - (int) sceneMinX, minY - (int) sceneMinY);
+            }
+            return image;
+        });
+    }
+
+    private Node updateHover(Point2D location) {
+        Scene scene = sceneAt(location);
+        Node target = scene == null ? null : pick(scene.getRoot(), screenToScene(scene, location));
+        List<Node> chain = new ArrayList<>();
+        for (Node node = target; node != null; node = node.getParent()) {
+            chain.add(node);
+        }
+        for (Node node : hoveredNodes) {
+            if (!chain.contains(node) && node.getScene() != null) {
+                fireMouseEvent(MouseEvent.MOUSE_EXITED_TARGET, node, location, MouseButton.NONE, 0);
+            }
+        }
+        List<Node> entered = new ArrayList<>(chain);
+        entered.removeAll(hoveredNodes);
+        Collections.reverse(entered);
+        for (Node node : entered) {
+            fireMouseEvent(MouseEvent.MOUSE_ENTERED_TARGET, node, location, MouseButton.NONE, 0);
+        }
+        hoveredNodes.clear();
+        hoveredNodes.addAll(chain);
+        hoveredScene = scene;
+        return target;
+    }
+
+    private Scene sceneAt(Point2D location) {
+        List<Window> windows = scopedWindows();
+        // Windows created later (popups, dialogs) are assumed to be on top of earlier ones.
+        for (int i = windows.size() - 1; i >= 0; i--) {
+            Window window = windows.get(i);
+            Scene scene = window.getScene();
+            if (window.isShowing() && scene != null && scene.getRoot() != null &&
+                    new Rectangle2D(window.getX() + scene.getX(), window.getY() + scene.getY(),
+                            scene.getWidth(), scene.getHeight()).contains(location)) {
+                return scene;
+            }
+        }
+        return null;
+    }
+
+    private List<Window> scopedWindows() {
+        List<Window> windows = new ArrayList<>(JavaVersionAdapter.getWindows());
+        windows.removeIf(windowScope.negate());
+        return windows;
+    }
+
+    private Node pick(Node node, Point2D scenePoint) {
+        if (!node.isVisible() || node.isMouseTransparent()) {
+            return null;
+        }
+        if (node instanceof Parent) {
+            List<Node> children = ((Parent) node).getChildrenUnmodifiable();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                Node picked = pick(children.get(i), scenePoint);
+                if (picked != null) {
+                    return picked;
+                }
+            }
+        }
+        return node.contains(node.sceneToLocal(scenePoint)) ? node : null;
+    }
+
+    private Node commonAncestor(Node pressed, Node released) {
+        for (Node node = released; node != null; node = node.getParent()) {
+            for (Node candidate = pressed; candidate != null; candidate = candidate.getParent()) {
+                if (candidate == node) {
+                    return node;
+                }
+            }
+        }
+        return null;
+    }
+
+    private EventTarget keyEventTarget() {
+        Scene scene = null;
+        for (Window window : scopedWindows()) {
+            if (window.isShowing() && window.isFocused() && window.getScene() != null) {
+                scene = window.getScene();
+            }
+        }
+        if (scene == null) {
+            scene = hoveredScene;
+        }
+        if (scene == null) {
+            return null;
+        }
+        return scene.getFocusOwner() != null ? scene.getFocusOwner() : scene;
+    }
+
+    private void fireMouseEvent(EventType<MouseEvent> eventType, Node target, Point2D location,
+                                MouseButton button, int count) {
+        Scene scene = target.getScene();
+        if (scene == null) {
+            return;
+        }
+        Point2D scenePoint = screenToScene(scene, location);
+        boolean secondary = pressedButtons.contains(MouseButton.SECONDARY);
+        Event.fireEvent(target, new MouseEvent(scene, target, eventType, scenePoint.getX(), scenePoint.getY(),
+                location.getX(), location.getY(), button, count, isShiftDown, isControlDown, isAltDown,
+                isMetaDown, pressedButtons.contains(MouseButton.PRIMARY), pressedButtons.contains(MouseButton.MIDDLE),
+                secondary, false, button == MouseButton.SECONDARY && eventType == MouseEvent.MOUSE_PRESSED,
+                stillSincePress, new PickResult(target, scenePoint.getX(), scenePoint.getY())));
+    }
+
+    private void fireContextMenuEvent(Node target, Point2D location) {
+        Scene scene = target.getScene();
+        Point2D scenePoint = screenToScene(scene, location);
+        Event.fireEvent(target, new ContextMenuEvent(scene, target, ContextMenuEvent.CONTEXT_MENU_REQUESTED,
+                scenePoint.getX(), scenePoint.getY(), location.getX(), location.getY(), false,
+                new PickResult(target, scenePoint.getX(), scenePoint.getY())));
+    }
+
+    private KeyEvent createKeyEvent(EventTarget target, EventType<KeyEvent> eventType,
+                                    String character, String text, KeyCode key) {
+        return new KeyEvent(null, target, eventType, character, text, key, isShiftDown, isControlDown, isAltDown,
+                isMetaDown);
+    }
+
+    private void updateModifiers(KeyCode key, boolean pressed) {
+        switch (key) {
+            case SHIFT:
+                isShiftDown = pressed;
+                break;
+            case CONTROL:
+                isControlDown = pressed;
+                break;
+            case ALT:
+                isAltDown = pressed;
+                break;
+            case META:
+            case COMMAND:
+                isMetaDown = pressed;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private String typedCharacter(KeyCode key) {
+        if (isControlDown || isAltDown || isMetaDown) {
+            return null;
+        }
+        String character = key.getChar();
+        if (character == null || character.length() != 1) {
+            return null;
+        }
+        char c = character.charAt(0);
+        if (c < 0x20 || c == 0x7F) {
+            return null;
+        }
+        if (key.isLetterKey()) {
+            return isShiftDown ? character.toUpperCase() : character.toLowerCase();
+        }
+        return character;
+    }
+
+    private static Point2D screenToScene(Scene scene, Point2D location) {
+        Window window = scene.getWindow();
+        return new Point2D(location.getX() - window.getX() - scene.getX(),
+                location.getY() - window.getY() - scene.getY());
+    }
+
+}
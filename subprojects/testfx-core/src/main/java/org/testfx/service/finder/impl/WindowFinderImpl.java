@@ -35,8 +35,23 @@ import static org.testfx.internal.JavaVersionAdapter.getWindows;
 
 public class WindowFinderImpl implements WindowFinder {
 
+    private final Window scopeWindow;
     private Window lastTargetWindow;
 
+    public WindowFinderImpl() {
+        this(null);
+    }
+
+    /**
+     * Creates a window finder that only finds the given {@code scopeWindow} and the windows owned by it (e.g. its
+     * dialogs, popups and context menus), or all windows if it is {@code null}. The scope window is the initial
+     * target window.
+     */
+    public WindowFinderImpl(Window scopeWindow) {
+        this.scopeWindow = scopeWindow;
+        this.lastTargetWindow = scopeWindow;
+    }
+
     @Override
     public Window targetWindow() {
         return lastTargetWindow;
@@ -123,7 +138,12 @@ public class WindowFinderImpl implements WindowFinder {
 
     @SuppressWarnings("deprecation")
     private List<Window> fetchWindowsInQueue() {
-        return Collections.unmodifiableList(getWindows());
+        if (scopeWindow == null) {
+            return Collections.unmodifiableList(getWindows());
+        }
+        List<Window> windows = new ArrayList<>(getWindows());
+        windows.removeIf(window -> window != scopeWindow && !isOwnerOf(window, scopeWindow));
+        return Collections.unmodifiableList(windows);
     }
 
     private List<Window> fetchWindowsByProximityTo(Window targetWindow) {
@@ -0,0 +1,565 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/**
+ * A store for golden (baseline) images that is meant to hold many near-identical images, e.g. screenshots of the
+ * same window in different states.
+ * <p>
+ * Images are cut into tiles of {@value #TILE_SIZE}x{@value #TILE_SIZE} pixels that are identified by the SHA-1 hash
+ * of their size and pixels. Each distinct tile is stored once, as deflated ARGB pixels, in the pack file "tiles.pack"
+ * of the store directory, so a tile that appears in several baselines (or several times in the same baseline, like an
+ * empty background) takes up disk space only once. Tiles are appended to the pack file under a {@link FileLock}, so
+ * several processes can save baselines to the same store. A baseline itself is a small "name.baseline" file listing
+ * the hashes of its tiles; if it is saved with a parent baseline, only the tiles that differ from the parent are
+ * listed, together with a digest of the parent's tile hashes that is checked when the baseline is read.
+ * <p>
+ * The pack file is memory-mapped, so {@link #load(String)} inflates the tiles from the page cache into the returned
+ * image, and {@link #findDifferingTiles(String, Image)} compares an image with a baseline by tile hashes,
+ * without reading the pixels of the baseline at all.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * BaselineStore store = BaselineStore.open(Paths.get("src/test/resources/baselines"));
+ * store.save("login", captureSupport.captureNode(loginPane));
+ * store.save("login-error", captureSupport.captureNode(loginPane), "login");
+ * assertThat(store.findDifferingTiles("login-error", captureSupport.captureNode(loginPane)), is(empty()));
+ * }</pre>
+ */
+public final class BaselineStore {
+
+    public static final int TILE_SIZE = 64;
+
+    private static final String PACK_FILE_NAME = "tiles.pack";
+    private static final String BASELINE_FILE_EXTENSION = ".baseline";
+    private static final int BASELINE_FILE_MAGIC = 0x54465842; // "TFXB"
+    private static final int BASELINE_FILE_VERSION = 2;
+    private static final int HASH_LENGTH = 20;
+    // hash, width, height and length of the deflated pixels
+    private static final int TILE_HEADER_LENGTH = HASH_LENGTH + 3 * Integer.BYTES;
+
+    private static final Map<Path, Object> PACK_FILE_MONITORS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final Path packFile;
+    private final Map<String, Long> tileOffsets = new HashMap<>();
+    private final Map<String, Baseline> baselines = new HashMap<>();
+    private final Set<String> readingBaselines = new HashSet<>();
+    private long indexedPackSize;
+    private MappedByteBuffer mappedPack;
+
+    private BaselineStore(Path directory) {
+        this.directory = directory;
+        this.packFile = directory.resolve(PACK_FILE_NAME);
+    }
+
+    /**
+     * Opens the store in the given directory, creating the directory if it does not exist.
+     */
+    public static BaselineStore open(Path directory) {
+        BaselineStore store = new BaselineStore(directory);
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(store.packFile)) {
+                try (FileChannel pack = FileChannel.open(store.packFile, StandardOpenOption.READ)) {
+                    store.indexPack(pack);
+                }
+            }
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("unable to open baseline store " + directory.toAbsolutePath(), exception);
+        }
+        return store;
+    }
+
+    public synchronized boolean contains(String name) {
+        return baselines.containsKey(name) || Files.isRegularFile(baselineFile(name));
+    }
+
+    /**
+     * Saves the given image as the baseline with the given name, replacing an existing baseline of that name.
+     */
+    public void save(String name, Image image) {
+        save(name, image, null);
+    }
+
+    /**
+     * Saves the given image as the baseline with the given name, storing only the tiles that differ from the
+     * baseline named {@code parentName}. The parent must have the same size as the image and must not be replaced
+     * afterwards, as the tiles that are not stored for this baseline are looked up in the parent; reading this
+     * baseline fails if it was.
+     *
+     * @param parentName the name of the parent baseline, or {@code null} to save all tiles
+     */
+    public synchronized void save(String name, Image image, String parentName) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        Baseline parent = null;
+        if (parentName != null) {
+            if (parentName.equals(name)) {
+                throw new IllegalArgumentException("baseline \"" + name + "\" can not be its own parent");
+            }
+            parent = baseline(parentName);
+            if (parent.width != width || parent.height != height) {
+                throw new IllegalArgumentException("image is " + width + "x" + height + " but parent baseline \"" +
+                        parentName + "\" is " + parent.width + "x" + parent.height);
+            }
+        }
+        TileGrid grid = new TileGrid(width, height);
+        String[] hashes = new String[grid.tileCount()];
+        // a file lock only excludes other processes, the stores of this process have to be serialized themselves
+        synchronized (PACK_FILE_MONITORS.computeIfAbsent(packFile.toAbsolutePath().normalize(),
+                path -> new Object())) {
+            try (FileChannel pack = FileChannel.open(packFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+                 FileLock lock = pack.lock()) {
+                // pick up the tiles other processes appended since the pack was indexed
+                indexPack(pack);
+                if (indexedPackSize < pack.size()) {
+                    // drop a tile that was not completely written, no other process is writing while we hold the lock
+                    pack.truncate(indexedPackSize);
+                }
+                pack.position(pack.size());
+                for (int tile = 0; tile < hashes.length; tile++) {
+                    Rectangle2D bounds = grid.bounds(tile);
+                    int tileWidth = (int) bounds.getWidth();
+                    int tileHeight = (int) bounds.getHeight();
+                    int[] pixels = readPixels(image.getPixelReader(), bounds);
+                    hashes[tile] = hash(tileWidth, tileHeight, pixels);
+                    if (!tileOffsets.containsKey(hashes[tile])) {
+                        tileOffsets.put(hashes[tile], pack.size());
+                        writeTile(pack, hashes[tile], tileWidth, tileHeight, pixels);
+                    }
+                }
+                indexedPackSize = pack.size();
+            }
+            catch (IOException exception) {
+                throw new RuntimeException("unable to write tiles to " + packFile.toAbsolutePath(), exception);
+            }
+        }
+        Baseline baseline = new Baseline(width, height, parentName, hashes);
+        writeBaseline(name, baseline, parent);
+        baselines.put(name, baseline);
+    }
+
+    /**
+     * Loads the baseline with the given name.
+     */
+    public synchronized Image load(String name) {
+        Baseline baseline = baseline(name);
+        WritableImage image = new WritableImage(baseline.width, baseline.height);
+        TileGrid grid = new TileGrid(baseline.width, baseline.height);
+        for (int tile = 0; tile < baseline.hashes.length; tile++) {
+            Rectangle2D bounds = grid.bounds(tile);
+            int width = (int) bounds.getWidth();
+            image.getPixelWriter().setPixels((int) bounds.getMinX(), (int) bounds.getMinY(), width,
+                    (int) bounds.getHeight(), PixelFormat.getIntArgbInstance(), tilePixels(baseline.hashes[tile]), 0,
+                    width);
+        }
+        return image;
+    }
+
+    /**
+     * Compares the given image with the baseline of the given name tile by tile. Tiles whose hash equals the hash
+     * stored in the baseline are skipped, so only the differing tiles have to be compared pixel by pixel, e.g. with
+     * a {@link PixelMatcher}.
+     *
+     * @return the bounds of the tiles that differ, empty if the image equals the baseline
+     * @throws IllegalArgumentException if the image and the baseline differ in size
+     */
+    public synchronized List<Rectangle2D> findDifferingTiles(String name, Image image) {
+        Baseline baseline = baseline(name);
+        if (baseline.width != (int) image.getWidth() || baseline.height != (int) image.getHeight()) {
+            throw new IllegalArgumentException("image is " + (int) image.getWidth() + "x" + (int) image.getHeight() +
+                    " but baseline \"" + name + "\" is " + baseline.width + "x" + baseline.height);
+        }
+        TileGrid grid = new TileGrid(baseline.width, baseline.height);
+        List<Rectangle2D> differingTiles = new ArrayList<>();
+        for (int tile = 0; tile < baseline.hashes.length; tile++) {
+            Rectangle2D bounds = grid.bounds(tile);
+            String hash = hash((int) bounds.getWidth(), (int) bounds.getHeight(),
+                    readPixels(image.getPixelReader(), bounds));
+            if (!hash.equals(baseline.hashes[tile])) {
+                differingTiles.add(bounds);
+            }
+        }
+        return differingTiles;
+    }
+
+    /**
+     * Indexes the tiles of the pack file that have not been indexed yet.
+     */
+    private void indexPack(FileChannel pack) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(TILE_HEADER_LENGTH);
+        long offset = indexedPackSize;
+        while (offset + TILE_HEADER_LENGTH <= pack.size()) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (pack.read(header, offset + header.position()) < 0) {
+                    throw new IOException("unexpected end of " + packFile.toAbsolutePath());
+                }
+            }
+            header.flip();
+            byte[] hash = new byte[HASH_LENGTH];
+            header.get(hash);
+            header.position(HASH_LENGTH + 2 * Integer.BYTES);
+            long tileLength = TILE_HEADER_LENGTH + header.getInt();
+            if (offset + tileLength > pack.size()) {
+                // ignore a tile that was not completely written
+                break;
+            }
+            tileOffsets.putIfAbsent(toHex(hash), offset);
+            offset += tileLength;
+        }
+        indexedPackSize = offset;
+    }
+
+    private void writeTile(FileChannel pack, String hash, int width, int height, int[] pixels) throws IOException {
+        byte[] deflatedPixels = deflate(pixels);
+        ByteBuffer tile = ByteBuffer.allocate(TILE_HEADER_LENGTH + deflatedPixels.length);
+        tile.put(fromHex(hash));
+        tile.putInt(width);
+        tile.putInt(height);
+        tile.putInt(deflatedPixels.length);
+        tile.put(deflatedPixels);
+        tile.position(0);
+        while (tile.hasRemaining()) {
+            pack.write(tile);
+        }
+    }
+
+    private int[] tilePixels(String hash) {
+        Long offset = tileOffsets.get(hash);
+        if (offset == null) {
+            // the tile may have been appended by another process
+            try (FileChannel pack = FileChannel.open(packFile, StandardOpenOption.READ)) {
+                indexPack(pack);
+            }
+            catch (IOException exception) {
+                throw new RuntimeException("unable to index " + packFile.toAbsolutePath(), exception);
+            }
+            offset = tileOffsets.get(hash);
+        }
+        if (offset == null) {
+            throw new IllegalStateException("tile " + hash + " is missing in " + packFile.toAbsolutePath());
+        }
+        ByteBuffer header = mappedPack(offset + TILE_HEADER_LENGTH).duplicate();
+        header.position((int) (offset + HASH_LENGTH));
+        int pixelCount = header.getInt() * header.getInt();
+        byte[] deflatedPixels = new byte[header.getInt()];
+        ByteBuffer tile = mappedPack(offset + TILE_HEADER_LENGTH + deflatedPixels.length).duplicate();
+        tile.position((int) (offset + TILE_HEADER_LENGTH));
+        tile.get(deflatedPixels);
+        return inflate(deflatedPixels, pixelCount, hash);
+    }
+
+    private static byte[] deflate(int[] pixels) {
+        ByteBuffer bytes = ByteBuffer.allocate(pixels.length * Integer.BYTES);
+        bytes.asIntBuffer().put(pixels);
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(bytes.array());
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.capacity() / 4);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    private int[] inflate(byte[] deflatedPixels, int pixelCount, String hash) {
+        byte[] bytes = new byte[pixelCount * Integer.BYTES];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflatedPixels);
+            int length = 0;
+            while (length < bytes.length && !inflater.finished()) {
+                int inflated = inflater.inflate(bytes, length, bytes.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != bytes.length) {
+                throw new DataFormatException("expected " + bytes.length + " bytes but got " + length);
+            }
+        }
+        catch (DataFormatException exception) {
+            throw new IllegalStateException("tile " + hash + " is corrupt in " + packFile.toAbsolutePath(), exception);
+        }
+        finally {
+            inflater.end();
+        }
+        int[] pixels = new int[pixelCount];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(pixels);
+        return pixels;
+    }
+
+    /**
+     * Returns the memory-mapped pack file, mapping it again if it has grown beyond {@code minimumSize} since it was
+     * last mapped.
+     */
+    private MappedByteBuffer mappedPack(long minimumSize) {
+        if (mappedPack == null || mappedPack.capacity() < minimumSize) {
+            try (FileChannel pack = FileChannel.open(packFile, StandardOpenOption.READ)) {
+                if (pack.size() > Integer.MAX_VALUE) {
+                    throw new IllegalStateException(packFile.toAbsolutePath() + " exceeds 2GB");
+                }
+                mappedPack = pack.map(FileChannel.MapMode.READ_ONLY, 0, pack.size());
+            }
+            catch (IOException exception) {
+                throw new RuntimeException("unable to map " + packFile.toAbsolutePath(), exception);
+            }
+        }
+        return mappedPack;
+    }
+
+    private Baseline baseline(String name) {
+        Baseline baseline = baselines.get(name);
+        if (baseline == null) {
+            if (!readingBaselines.add(name)) {
+                throw new IllegalStateException("baseline \"" + name + "\" is its own ancestor in " +
+                        directory.toAbsolutePath());
+            }
+            try {
+                baseline = readBaseline(name);
+            }
+            finally {
+                readingBaselines.remove(name);
+            }
+            baselines.put(name, baseline);
+        }
+        return baseline;
+    }
+
+    private Baseline readBaseline(String name) {
+        Path file = baselineFile(name);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("baseline \"" + name + "\" not found in " +
+                    directory.toAbsolutePath());
+        }
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            DataInputStream input = new DataInputStream(inputStream);
+            if (input.readInt() != BASELINE_FILE_MAGIC || input.readInt() != BASELINE_FILE_VERSION) {
+                throw new IllegalStateException(file.toAbsolutePath() + " is not a baseline file");
+            }
+            int width = input.readInt();
+            int height = input.readInt();
+            String parentName = null;
+            String[] parentHashes = null;
+            if (input.readBoolean()) {
+                parentName = input.readUTF();
+                byte[] parentDigest = new byte[HASH_LENGTH];
+                input.readFully(parentDigest);
+                parentHashes = baseline(parentName).hashes;
+                if (!Arrays.equals(parentDigest, digest(parentHashes))) {
+                    throw new IllegalStateException(file.toAbsolutePath() + " refers to parent baseline \"" +
+                            parentName + "\", which has been replaced since");
+                }
+            }
+            String[] hashes = new String[new TileGrid(width, height).tileCount()];
+            byte[] hash = new byte[HASH_LENGTH];
+            for (int tile = 0; tile < hashes.length; tile++) {
+                if (input.readBoolean()) {
+                    input.readFully(hash);
+                    hashes[tile] = toHex(hash);
+                } else if (parentHashes != null && tile < parentHashes.length) {
+                    hashes[tile] = parentHashes[tile];
+                } else {
+                    throw new IllegalStateException(file.toAbsolutePath() + " refers to a missing parent tile");
+                }
+            }
+            return new Baseline(width, height, parentName, hashes);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("unable to read baseline " + file.toAbsolutePath(), exception);
+        }
+    }
+
+    private void writeBaseline(String name, Baseline baseline, Baseline parent) {
+        Path file = baselineFile(name);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                DataOutputStream output = new DataOutputStream(outputStream);
+                output.writeInt(BASELINE_FILE_MAGIC);
+                output.writeInt(BASELINE_FILE_VERSION);
+                output.writeInt(baseline.width);
+                output.writeInt(baseline.height);
+                output.writeBoolean(baseline.parentName != null);
+                if (baseline.parentName != null) {
+                    output.writeUTF(baseline.parentName);
+                    output.write(digest(parent.hashes));
+                }
+                for (int tile = 0; tile < baseline.hashes.length; tile++) {
+                    boolean inherited = parent != null && baseline.hashes[tile].equals(parent.hashes[tile]);
+                    output.writeBoolean(!inherited);
+                    if (!inherited) {
+                        output.write(fromHex(baseline.hashes[tile]));
+                    }
+                }
+                output.flush();
+            }
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("unable to write baseline " + file.toAbsolutePath(), exception);
+        }
+    }
+
+    private Path baselineFile(String name) {
+        Path file = directory.resolve(name + BASELINE_FILE_EXTENSION).normalize();
+        if (!file.startsWith(directory.normalize())) {
+            throw new IllegalArgumentException("baseline name \"" + name + "\" points outside of the store");
+        }
+        return file;
+    }
+
+    private static int[] readPixels(PixelReader pixelReader, Rectangle2D bounds) {
+        int width = (int) bounds.getWidth();
+        int height = (int) bounds.getHeight();
+        int[] pixels = new int[width * height];
+        pixelReader.getPixels((int) bounds.getMinX(), (int) bounds.getMinY(), width, height,
+                PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return pixels;
+    }
+
+    /**
+     * Hashes the size and the pixels of a tile, so that tiles of different sizes with the same pixels (e.g. a 2x1 and
+     * a 1x2 tile) do not collide.
+     */
+    private static String hash(int width, int height, int[] pixels) {
+        ByteBuffer bytes = ByteBuffer.allocate((2 + pixels.length) * Integer.BYTES);
+        bytes.putInt(width).putInt(height);
+        bytes.asIntBuffer().put(pixels);
+        MessageDigest digest = sha1();
+        digest.update(bytes.array());
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Returns the digest of the given tile hashes, which identifies the content of a baseline.
+     */
+    private static byte[] digest(String[] hashes) {
+        MessageDigest digest = sha1();
+        for (String hash : hashes) {
+            digest.update(fromHex(hash));
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte value : bytes) {
+            hex.append(Character.forDigit(value >> 4 & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static final class Baseline {
+        private final int width;
+        private final int height;
+        private final String parentName;
+        private final String[] hashes;
+
+        private Baseline(int width, int height, String parentName, String[] hashes) {
+            this.width = width;
+            this.height = height;
+            this.parentName = parentName;
+            this.hashes = hashes;
+        }
+    }
+
+    /**
+     * The tiles of an image in row-major order, the tiles of the last row and column may be smaller.
+     */
+    private static final class TileGrid {
+        private final int width;
+        private final int height;
+        private final int columns;
+
+        private TileGrid(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        }
+
+        private int tileCount() {
+            return columns * ((height + TILE_SIZE - 1) / TILE_SIZE);
+        }
+
+        private Rectangle2D bounds(int tile) {
+            int x = tile % columns * TILE_SIZE;
+            int y = tile / columns * TILE_SIZE;
+            return new Rectangle2D(x, y, Math.min(TILE_SIZE, width - x), Math.min(TILE_SIZE, height - y));
+        }
+    }
+
+}
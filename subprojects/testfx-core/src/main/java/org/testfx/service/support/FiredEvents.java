@@ -16,44 +16,178 @@
  */
 package org.testfx.service.support;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.stage.Stage;
 
 /**
- * Stores a list of events that have been fired since the start of a test; useful for debugging.
- * Use {@link #beginStoringFiredEventsOf(Stage)} to start storing a stage's fired events and
+ * Records the events that have been fired since the start of a test; useful for debugging.
+ * Use {@link #beginStoringFiredEventsOf(Stage)} to start recording a stage's fired events and
  * {@link #stopStoringFiredEvents()} when finished and cleaning up this object.
+ * <p>
+ * Only the most recent events are kept in a ring buffer of fixed capacity (the {@code testfx.fired.events.capacity}
+ * system property, 1000 by default), together with compact records of them (the time, event type, event and target
+ * class, screen coordinates and key code or mouse button) that {@link #describeEvents()} turns into short
+ * descriptions. The events themselves are only retained (see {@link #getEvents()}) if the
+ * {@code testfx.fired.events.retain} system property is {@code true}, as they keep their targets, scenes and stages
+ * from being garbage collected. Events can be dropped or sampled per event type with
+ * {@link #setSampling(EventType, int)}, while the number of fired events per event type is always counted, see
+ * {@link #getCounts()}.
  */
 public final class FiredEvents {
 
+    private static final int DEFAULT_CAPACITY = Integer.getInteger("testfx.fired.events.capacity", 1000);
+    private static final boolean DEFAULT_RETAIN_EVENTS = Boolean.getBoolean("testfx.fired.events.retain");
+    private static final int NO_DETAIL = -1;
+
     public static FiredEvents beginStoringFiredEventsOf(Stage stage) {
-        return new FiredEvents(stage);
+        return new FiredEvents(stage, DEFAULT_CAPACITY, DEFAULT_RETAIN_EVENTS);
+    }
+
+    public static FiredEvents beginStoringFiredEventsOf(Stage stage, int capacity) {
+        return new FiredEvents(stage, capacity, DEFAULT_RETAIN_EVENTS);
     }
 
-    private final List<Event> events = new LinkedList<>();
+    public static FiredEvents beginStoringFiredEventsOf(Stage stage, int capacity, boolean retainEvents) {
+        return new FiredEvents(stage, capacity, retainEvents);
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final Event[] events;
+    private final long[] times;
+    private final int[] types;
+    private final int[] classes;
+    private final int[] targets;
+    private final float[] screenXs;
+    private final float[] screenYs;
+    private final int[] details;
+    private int head;
+    private int size;
+
+    private final List<EventType<?>> eventTypes = new ArrayList<>();
+    private final Map<EventType<?>, Integer> eventTypeIds = new HashMap<>();
+    private long[] eventTypeCounts = new long[16];
+    private long[] eventTypeSkipped = new long[16];
+    private final List<String> classNames = new ArrayList<>();
+    private final Map<Class<?>, Integer> classNameIds = new HashMap<>();
+    private final Map<EventType<?>, Integer> sampling = new HashMap<>();
     private final Runnable removeListener;
 
-    private FiredEvents(Stage stage) {
+    private FiredEvents(Stage stage, int capacity, boolean retainEvents) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive but was " + capacity);
+        }
+        events = retainEvents ? new Event[capacity] : null;
+        times = new long[capacity];
+        types = new int[capacity];
+        classes = new int[capacity];
+        targets = new int[capacity];
+        screenXs = new float[capacity];
+        screenYs = new float[capacity];
+        details = new int[capacity];
         if (stage == null) {
             removeListener = null;
         } else {
-            EventHandler<Event> addFiredEvent = events::add;
+            EventHandler<Event> addFiredEvent = this::record;
             stage.addEventFilter(EventType.ROOT, addFiredEvent);
             removeListener = () -> stage.removeEventFilter(EventType.ROOT, addFiredEvent);
         }
     }
 
-    public final List<Event> getEvents() {
-        return Collections.unmodifiableList(events);
+    /**
+     * Sets how events of the given {@code eventType} (and its sub types, unless they have their own sampling) are
+     * stored: {@code 0} drops them, {@code 1} stores all of them and {@code n} stores every {@code n}-th of them,
+     * e.g. {@code setSampling(MouseEvent.MOUSE_MOVED, 10)}. Dropped events are still counted.
+     */
+    public synchronized void setSampling(EventType<?> eventType, int keepEveryNth) {
+        if (keepEveryNth < 0) {
+            throw new IllegalArgumentException("keepEveryNth must not be negative but was " + keepEveryNth);
+        }
+        sampling.put(eventType, keepEveryNth);
     }
 
-    public final void clearEvents() {
-        events.clear();
+    /**
+     * Returns the stored events, from the oldest to the most recent, or an empty list if the events are not retained.
+     *
+     * @deprecated use {@link #describeEvents()}, which does not require retaining the events
+     */
+    @Deprecated
+    public synchronized List<Event> getEvents() {
+        if (events == null) {
+            return Collections.emptyList();
+        }
+        List<Event> storedEvents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            storedEvents.add(events[indexOf(i)]);
+        }
+        return Collections.unmodifiableList(storedEvents);
+    }
+
+    /**
+     * Returns a description of each stored event, from the oldest to the most recent, e.g.
+     * {@code "+12ms MouseEvent MOUSE_PRESSED on Button at (10.0, 20.0) PRIMARY"}.
+     */
+    public synchronized List<String> describeEvents() {
+        List<String> descriptions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            descriptions.add(describe(indexOf(i)));
+        }
+        return Collections.unmodifiableList(descriptions);
+    }
+
+    /**
+     * Returns the number of events fired per event type (including dropped and overwritten events), in the order
+     * the event types were first fired.
+     */
+    public synchronized Map<EventType<?>, Long> getCounts() {
+        Map<EventType<?>, Long> counts = new LinkedHashMap<>();
+        for (int id = 0; id < eventTypes.size(); id++) {
+            counts.put(eventTypes.get(id), eventTypeCounts[id]);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the number of stored events followed by the number of fired events per event type, e.g.
+     * {@code "3 of 1234 events stored: MOUSE_MOVED=1230, MOUSE_PRESSED=2, MOUSE_RELEASED=2"}.
+     */
+    public synchronized String getSummary() {
+        long total = 0;
+        StringBuilder counts = new StringBuilder();
+        for (int id = 0; id < eventTypes.size(); id++) {
+            total += eventTypeCounts[id];
+            counts.append(counts.length() == 0 ? "" : ", ").append(eventTypes.get(id).getName()).append('=')
+                .append(eventTypeCounts[id]);
+        }
+        return size + " of " + total + " events stored" + (counts.length() == 0 ? "" : ": " + counts);
+    }
+
+    public final synchronized void clearEvents() {
+        head = 0;
+        size = 0;
+        if (events != null) {
+            Arrays.fill(events, null);
+        }
+        Arrays.fill(eventTypeCounts, 0);
+        Arrays.fill(eventTypeSkipped, 0);
+        eventTypes.clear();
+        eventTypeIds.clear();
+        classNames.clear();
+        classNameIds.clear();
     }
 
     public final void stopStoringFiredEvents() {
@@ -62,4 +196,100 @@ public final class FiredEvents {
         }
     }
 
+    private synchronized void record(Event event) {
+        int type = eventTypeIds.computeIfAbsent(event.getEventType(), this::addEventType);
+        eventTypeCounts[type]++;
+        int keepEveryNth = samplingOf(event.getEventType());
+        if (keepEveryNth == 0 || ++eventTypeSkipped[type] < keepEveryNth) {
+            return;
+        }
+        eventTypeSkipped[type] = 0;
+        if (events != null) {
+            events[head] = event;
+        }
+        times[head] = System.nanoTime();
+        types[head] = type;
+        classes[head] = classNameIds.computeIfAbsent(event.getClass(), this::addClassName);
+        targets[head] = event.getTarget() == null ? NO_DETAIL :
+            classNameIds.computeIfAbsent(event.getTarget().getClass(), this::addClassName);
+        screenXs[head] = Float.NaN;
+        screenYs[head] = Float.NaN;
+        details[head] = NO_DETAIL;
+        if (event instanceof MouseEvent) {
+            MouseEvent mouseEvent = (MouseEvent) event;
+            screenXs[head] = (float) mouseEvent.getScreenX();
+            screenYs[head] = (float) mouseEvent.getScreenY();
+            details[head] = mouseEvent.getButton().ordinal();
+        } else if (event instanceof ScrollEvent) {
+            ScrollEvent scrollEvent = (ScrollEvent) event;
+            screenXs[head] = (float) scrollEvent.getScreenX();
+            screenYs[head] = (float) scrollEvent.getScreenY();
+        } else if (event instanceof KeyEvent) {
+            details[head] = ((KeyEvent) event).getCode().ordinal();
+        }
+        head = (head + 1) % times.length;
+        size = Math.min(size + 1, times.length);
+    }
+
+    private int indexOf(int position) {
+        return (head - size + position + times.length) % times.length;
+    }
+
+    private int samplingOf(EventType<?> eventType) {
+        for (EventType<?> type = eventType; type != null; type = type.getSuperType()) {
+            Integer keepEveryNth = sampling.get(type);
+            if (keepEveryNth != null) {
+                return keepEveryNth;
+            }
+        }
+        return 1;
+    }
+
+    private int addEventType(EventType<?> eventType) {
+        int id = eventTypes.size();
+        eventTypes.add(eventType);
+        if (id == eventTypeCounts.length) {
+            eventTypeCounts = Arrays.copyOf(eventTypeCounts, id * 2);
+            eventTypeSkipped = Arrays.copyOf(eventTypeSkipped, id * 2);
+        }
+        eventTypeCounts[id] = 0;
+        eventTypeSkipped[id] = 0;
+        return id;
+    }
+
+    private int addClassName(Class<?> type) {
+        classNames.add(type.getSimpleName());
+        return classNames.size() - 1;
+    }
+
+    private String describe(int index) {
+        EventType<?> eventType = eventTypes.get(types[index]);
+        StringBuilder sb = new StringBuilder("+")
+            .append(TimeUnit.NANOSECONDS.toMillis(times[index] - startNanos)).append("ms ")
+            .append(classNames.get(classes[index])).append(' ').append(eventType.getName());
+        if (targets[index] != NO_DETAIL) {
+            sb.append(" on ").append(classNames.get(targets[index]));
+        }
+        if (!Float.isNaN(screenXs[index])) {
+            sb.append(" at (").append(screenXs[index]).append(", ").append(screenYs[index]).append(')');
+        }
+        if (details[index] != NO_DETAIL) {
+            if (isSubTypeOf(eventType, KeyEvent.ANY)) {
+                sb.append(' ').append(KeyCode.values()[details[index]]);
+            } else {
+                sb.append(' ').append(MouseButton.values()[details[index]]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isSubTypeOf(EventType<?> eventType, EventType<?> superType) {
+        for (EventType<?> type = eventType; type != null; type = type.getSuperType()) {
+            if (type.equals(superType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
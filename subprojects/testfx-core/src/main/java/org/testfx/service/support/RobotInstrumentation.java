@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support;
+
+import java.util.function.Supplier;
+
+/**
+ * Receives the duration of each stage of a robot operation, e.g. to find out where the time of a slow test
+ * goes. Implementations can aggregate the durations (see
+ * {@link org.testfx.service.support.impl.RobotTimingsCollector}) or forward them to a metrics library such
+ * as Micrometer. Implementations may be called from any thread and must be cheap.
+ *
+ * @see org.testfx.api.FxRobotContext#setInstrumentation(RobotInstrumentation)
+ */
+@FunctionalInterface
+public interface RobotInstrumentation {
+
+    /**
+     * Does nothing.
+     */
+    RobotInstrumentation NONE = (stage, durationNanos) -> { };
+
+    /**
+     * The instrumented stages of a robot operation.
+     */
+    enum Stage {
+        /**
+         * Resolving a {@link org.testfx.service.query.PointQuery} to a screen point.
+         */
+        POINT_QUERY,
+        /**
+         * Moving the mouse step by step along a path (including the sleeps and waits between the steps).
+         */
+        MOVE_STEPS,
+        /**
+         * A call to the {@link org.testfx.service.adapter.RobotAdapter} (a low-level key, mouse or capture
+         * operation).
+         */
+        ROBOT_ADAPTER,
+        /**
+         * Waiting for the FX events that resulted from a key or mouse operation.
+         */
+        WAIT_FOR_FX_EVENTS,
+        /**
+         * A sleep of the {@link org.testfx.robot.SleepRobot}.
+         */
+        SLEEP
+    }
+
+    /**
+     * Records that the given stage took {@code durationNanos} nanoseconds.
+     */
+    void record(Stage stage, long durationNanos);
+
+    /**
+     * Runs the given runnable and records its duration for the given stage.
+     */
+    default void time(Stage stage, Runnable runnable) {
+        long startNanos = System.nanoTime();
+        try {
+            runnable.run();
+        }
+        finally {
+            record(stage, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Calls the given supplier, records its duration for the given stage and returns its result.
+     */
+    default <T> T time(Stage stage, Supplier<T> supplier) {
+        long startNanos = System.nanoTime();
+        try {
+            return supplier.get();
+        }
+        finally {
+            record(stage, System.nanoTime() - startNanos);
+        }
+    }
+
+}
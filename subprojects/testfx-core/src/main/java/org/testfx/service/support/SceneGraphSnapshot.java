@@ -0,0 +1,457 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Control;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.text.Text;
+
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * An immutable structural snapshot of a scene graph subtree. For every node the snapshot records its
+ * type, id, style classes, text (of {@link Labeled}s, {@link Text}s and {@link TextInputControl}s), bounds
+ * in parent (rounded to one decimal) and visibility.
+ * <p>
+ * A snapshot is captured once on the JavaFX Application Thread via {@link #capture(Node)}, after which it
+ * can be compared to an expected snapshot with {@link #diff(SceneGraphSnapshot)} in a single pass without
+ * touching the scene graph again. Snapshots have a compact, human readable text form (one node per line,
+ * indented by depth) which is used by {@link #writeTo(Path)} and {@link #readFrom(Path)} to store golden
+ * snapshots on disk, for example:
+ * <pre>{@code
+ * VBox#root @0,0 200x60
+ *   Label.label "Name:" @0,0 40x17
+ *   Button#ok.button "OK" @0,17 36x25 hidden
+ * }</pre>
+ * Backslashes, line breaks, tabs and (within the type, id and style classes) the characters {@code #}, {@code .}
+ * and space are escaped with a backslash.
+ * By default the skin nodes of {@link Control}s are not part of the snapshot as they are an implementation
+ * detail that changes between JavaFX versions, see {@link #capture(Node, boolean)}.
+ */
+public final class SceneGraphSnapshot {
+
+    private static final long RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
+    private static final String INDENT = "  ";
+    private static final String HIDDEN = "hidden";
+
+    private final Entry root;
+
+    private SceneGraphSnapshot(Entry root) {
+        this.root = root;
+    }
+
+    /**
+     * Captures the subtree of the given {@code node} on the JavaFX Application Thread, without descending
+     * into the skins of {@link Control}s.
+     *
+     * @param node the root of the subtree to capture
+     * @return the snapshot of the subtree
+     */
+    public static SceneGraphSnapshot capture(Node node) {
+        return capture(node, false);
+    }
+
+    /**
+     * Captures the subtree of the given {@code node} on the JavaFX Application Thread.
+     *
+     * @param node the root of the subtree to capture
+     * @param includeControlSkins whether the children of {@link Control}s (i.e. their skin nodes) are captured
+     * @return the snapshot of the subtree
+     */
+    public static SceneGraphSnapshot capture(Node node, boolean includeControlSkins) {
+        Objects.requireNonNull(node, "node must not be null");
+        return new SceneGraphSnapshot(WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
+            () -> capture(node, includeControlSkins, 0)));
+    }
+
+    /**
+     * Parses a snapshot from its text form as returned by {@link #toString()}.
+     *
+     * @param text the text form of the snapshot
+     * @return the parsed snapshot
+     * @throws IllegalArgumentException if the text is not a valid snapshot
+     */
+    public static SceneGraphSnapshot parse(String text) {
+        Deque<Entry> parents = new ArrayDeque<>();
+        Entry root = null;
+        int lineNumber = 0;
+        for (String line : text.split("\r?\n")) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            int depth = 0;
+            while (line.startsWith(INDENT, depth * INDENT.length())) {
+                depth++;
+            }
+            Entry entry;
+            try {
+                entry = parseEntry(line.substring(depth * INDENT.length()), depth);
+            }
+            catch (RuntimeException exception) {
+                throw new IllegalArgumentException("invalid snapshot line " + lineNumber + ": " + line, exception);
+            }
+            while (!parents.isEmpty() && parents.peek().depth >= depth) {
+                parents.pop();
+            }
+            if (parents.isEmpty()) {
+                if (root != null || depth != 0) {
+                    throw new IllegalArgumentException("invalid snapshot line " + lineNumber +
+                        ": snapshot must have exactly one root node");
+                }
+                root = entry;
+            } else if (parents.peek().depth != depth - 1) {
+                throw new IllegalArgumentException("invalid snapshot line " + lineNumber + ": unexpected indentation");
+            } else {
+                parents.peek().children.add(entry);
+            }
+            parents.push(entry);
+        }
+        if (root == null) {
+            throw new IllegalArgumentException("snapshot is empty");
+        }
+        return new SceneGraphSnapshot(root);
+    }
+
+    /**
+     * Reads a snapshot from the given file, which is expected to contain the text form of the snapshot in UTF-8.
+     *
+     * @param path the file to read
+     * @return the read snapshot
+     */
+    public static SceneGraphSnapshot readFrom(Path path) {
+        try {
+            return parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("unable to read snapshot from " + path, exception);
+        }
+    }
+
+    /**
+     * Writes the text form of this snapshot to the given file in UTF-8, creating missing parent directories.
+     *
+     * @param path the file to write
+     */
+    public void writeTo(Path path) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(path, toString().getBytes(StandardCharsets.UTF_8));
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("unable to write snapshot to " + path, exception);
+        }
+    }
+
+    /**
+     * Compares this (expected) snapshot to the given {@code actual} snapshot in a single pass. Each difference is
+     * described by the path of the node (the type and the index among its siblings of each node from the root)
+     * followed by the differing property.
+     *
+     * @param actual the actual snapshot
+     * @return the differences between both snapshots, empty if they are structurally equal
+     */
+    public List<String> diff(SceneGraphSnapshot actual) {
+        List<String> differences = new ArrayList<>();
+        diff(root, actual.root, "/" + root.type, differences);
+        return Collections.unmodifiableList(differences);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof SceneGraphSnapshot && toString().equals(other.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    /**
+     * Returns the text form of this snapshot that can be read with {@link #parse(String)}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        append(builder, root);
+        return builder.toString();
+    }
+
+    private static Entry capture(Node node, boolean includeControlSkins, int depth) {
+        Bounds bounds = node.getBoundsInParent();
+        Entry entry = new Entry(depth, typeOf(node), node.getId(),
+            new ArrayList<>(node.getStyleClass()), textOf(node), round(bounds.getMinX()), round(bounds.getMinY()),
+            round(bounds.getWidth()), round(bounds.getHeight()), node.isVisible());
+        if (node instanceof Parent && (includeControlSkins || !(node instanceof Control))) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                entry.children.add(capture(child, includeControlSkins, depth + 1));
+            }
+        }
+        return entry;
+    }
+
+    private static String typeOf(Node node) {
+        String type = node.getClass().getSimpleName();
+        if (type.isEmpty()) {
+            // anonymous classes have no simple name, use the binary name without the package (e.g. "View$1")
+            String name = node.getClass().getName();
+            type = name.substring(name.lastIndexOf('.') + 1);
+        }
+        return type;
+    }
+
+    private static String textOf(Node node) {
+        if (node instanceof Labeled) {
+            return ((Labeled) node).getText();
+        }
+        if (node instanceof Text) {
+            return ((Text) node).getText();
+        }
+        if (node instanceof TextInputControl) {
+            return ((TextInputControl) node).getText();
+        }
+        return null;
+    }
+
+    private static double round(double value) {
+        return Double.isFinite(value) ? Math.round(value * 10) / 10.0 : value;
+    }
+
+    private static void diff(Entry expected, Entry actual, String path, List<String> differences) {
+        if (!expected.type.equals(actual.type)) {
+            differences.add(path + ": expected type " + expected.type + " but was " + actual.type);
+            return;
+        }
+        diffProperty(path, "id", expected.id, actual.id, differences);
+        diffProperty(path, "style classes", expected.styleClasses, actual.styleClasses, differences);
+        diffProperty(path, "text", quote(expected.text), quote(actual.text), differences);
+        diffProperty(path, "bounds", expected.formatBounds(), actual.formatBounds(), differences);
+        diffProperty(path, "visible", expected.visible, actual.visible, differences);
+        int expectedCount = expected.children.size();
+        int actualCount = actual.children.size();
+        if (expectedCount != actualCount) {
+            differences.add(path + ": expected " + expectedCount + " children but was " + actualCount);
+        }
+        for (int index = 0; index < Math.min(expectedCount, actualCount); index++) {
+            Entry expectedChild = expected.children.get(index);
+            diff(expectedChild, actual.children.get(index), path + "/" + expectedChild.type + "[" + index + "]",
+                differences);
+        }
+    }
+
+    private static void diffProperty(String path, String property, Object expected, Object actual,
+                                     List<String> differences) {
+        if (!Objects.equals(expected, actual)) {
+            differences.add(path + ": expected " + property + " " + expected + " but was " + actual);
+        }
+    }
+
+    private static void append(StringBuilder builder, Entry entry) {
+        for (int i = 0; i < entry.depth; i++) {
+            builder.append(INDENT);
+        }
+        appendEscaped(builder, entry.type);
+        if (entry.id != null && !entry.id.isEmpty()) {
+            appendEscaped(builder.append('#'), entry.id);
+        }
+        for (String styleClass : entry.styleClasses) {
+            appendEscaped(builder.append('.'), styleClass);
+        }
+        if (entry.text != null) {
+            builder.append(' ').append(quote(entry.text));
+        }
+        builder.append(' ').append(entry.formatBounds());
+        if (!entry.visible) {
+            builder.append(' ').append(HIDDEN);
+        }
+        builder.append('\n');
+        for (Entry child : entry.children) {
+            append(builder, child);
+        }
+    }
+
+    private static String quote(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(text.length() + 2).append('"');
+        for (char c : text.toCharArray()) {
+            if (c == '"') {
+                builder.append('\\').append(c);
+            } else {
+                appendEscaped(builder, c, false);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static void appendEscaped(StringBuilder builder, String selectorPart) {
+        for (char c : selectorPart.toCharArray()) {
+            appendEscaped(builder, c, true);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder builder, char c, boolean selector) {
+        switch (c) {
+            case '\\':
+                builder.append('\\').append(c);
+                break;
+            case '\n':
+                builder.append("\\n");
+                break;
+            case '\r':
+                builder.append("\\r");
+                break;
+            case '\t':
+                builder.append("\\t");
+                break;
+            case '#':
+            case '.':
+            case ' ':
+                if (selector) {
+                    builder.append('\\');
+                }
+                builder.append(c);
+                break;
+            default:
+                builder.append(c);
+        }
+    }
+
+    private static char unescape(char escaped) {
+        return escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped == 't' ? '\t' : escaped;
+    }
+
+    private static Entry parseEntry(String line, int depth) {
+        String type = null;
+        String id = null;
+        List<String> styleClasses = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        char separator = 0;
+        int position = 0;
+        while (true) {
+            if (position >= line.length()) {
+                throw new IllegalArgumentException("missing bounds");
+            }
+            char c = line.charAt(position++);
+            if (c == '\\') {
+                part.append(unescape(line.charAt(position++)));
+            } else if (c == '#' || c == '.' || c == ' ') {
+                if (separator == 0) {
+                    type = part.toString();
+                } else if (separator == '#') {
+                    id = part.toString();
+                } else {
+                    styleClasses.add(part.toString());
+                }
+                if (c == ' ') {
+                    break;
+                }
+                separator = c;
+                part.setLength(0);
+            } else {
+                part.append(c);
+            }
+        }
+        String text = null;
+        if (line.charAt(position) == '"') {
+            StringBuilder builder = new StringBuilder();
+            position++;
+            while (line.charAt(position) != '"') {
+                char c = line.charAt(position++);
+                if (c == '\\') {
+                    builder.append(unescape(line.charAt(position++)));
+                } else {
+                    builder.append(c);
+                }
+            }
+            text = builder.toString();
+            position += 2;
+        }
+        String[] tokens = line.substring(position).split(" ");
+        if (tokens.length < 2 || tokens.length > 3 || !tokens[0].startsWith("@") ||
+            tokens.length == 3 && !HIDDEN.equals(tokens[2])) {
+            throw new IllegalArgumentException("expected '@x,y wxh [" + HIDDEN + "]'");
+        }
+        String[] location = tokens[0].substring(1).split(",");
+        String[] size = tokens[1].split("x");
+        if (location.length != 2 || size.length != 2) {
+            throw new IllegalArgumentException("expected '@x,y wxh [" + HIDDEN + "]'");
+        }
+        return new Entry(depth, type, id, styleClasses, text, Double.parseDouble(location[0]),
+            Double.parseDouble(location[1]), Double.parseDouble(size[0]), Double.parseDouble(size[1]),
+            tokens.length == 2);
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? String.valueOf((long) value) :
+            String.valueOf(value);
+    }
+
+    private static final class Entry {
+
+        private final int depth;
+        private final String type;
+        private final String id;
+        private final List<String> styleClasses;
+        private final String text;
+        private final double minX;
+        private final double minY;
+        private final double width;
+        private final double height;
+        private final boolean visible;
+        private final List<Entry> children = new ArrayList<>();
+
+        private Entry(int depth, String type, String id, List<String> styleClasses, String text, double minX,
+                      double minY, double width, double height, boolean visible) {
+            this.depth = depth;
+            this.type = type;
+            this.id = id == null || id.isEmpty() ? null : id;
+            this.styleClasses = styleClasses;
+            this.text = text;
+            this.minX = minX;
+            this.minY = minY;
+            this.width = width;
+            this.height = height;
+            this.visible = visible;
+        }
+
+        private String formatBounds() {
+            return "@" + format(minX) + "," + format(minY) + " " + format(width) + "x" + format(height);
+        }
+
+    }
+
+}
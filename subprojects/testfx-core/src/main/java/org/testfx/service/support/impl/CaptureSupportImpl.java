@@ -22,6 +22,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Supplier;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.geometry.Pos;
 import javafx.geometry.Rectangle2D;
@@ -33,10 +34,13 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Shape;
 import javax.imageio.ImageIO;
 
+import org.testfx.internal.FlightRecorderAdapter;
+import org.testfx.internal.FlightRecorderAdapter.EventKind;
 import org.testfx.robot.BaseRobot;
 import org.testfx.service.support.CaptureSupport;
 import org.testfx.service.support.PixelMatcher;
 import org.testfx.service.support.PixelMatcherResult;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.testfx.util.WaitForAsyncUtils.asyncFx;
 import static org.testfx.util.WaitForAsyncUtils.waitFor;
@@ -45,6 +49,12 @@ public class CaptureSupportImpl implements CaptureSupport {
 
     public static final String PNG_IMAGE_FORMAT = "png";
 
+    /**
+     * Decoded images shared by all instances, disabled by default, see {@link DecodedImageCache} for the system
+     * properties that enable and configure it.
+     */
+    private static final DecodedImageCache IMAGE_CACHE = DecodedImageCache.fromSystemProperties();
+
     private final BaseRobot baseRobot;
 
     public CaptureSupportImpl(BaseRobot baseRobot) {
@@ -53,35 +63,33 @@ public class CaptureSupportImpl implements CaptureSupport {
 
     @Override
     public Image captureNode(Node node) {
-        return waitFor(asyncFx(() -> snapshotNodeToImage(node)));
+        return record("captureNode", () -> waitFor(asyncFx(() -> snapshotNodeToImage(node))));
     }
 
     @Override
     public Image captureRegion(Rectangle2D region) {
-        return baseRobot.captureRegion(region);
+        return record("captureRegion", () -> baseRobot.captureRegion(region));
     }
 
     @Override
     public Image loadImage(Path path) {
         checkFileExists(path);
-        try (InputStream inputStream = Files.newInputStream(path)) {
-            return readImageFromStream(inputStream);
-        }
-        catch (IOException exception) {
-            throw new RuntimeException(exception);
-        }
+        return record("loadImage", () -> IMAGE_CACHE.load(path, this::decodeImage));
     }
 
     @Override
     public void saveImage(Image image,
                           Path path) {
         checkParentDirectoryExists(path);
-        try (OutputStream outputStream = Files.newOutputStream(path)) {
-            writeImageToStream(image, outputStream);
-        }
-        catch (IOException exception) {
-            throw new RuntimeException(exception);
-        }
+        record("saveImage", () -> {
+            try (OutputStream outputStream = Files.newOutputStream(path)) {
+                writeImageToStream(image, outputStream);
+            }
+            catch (IOException exception) {
+                throw new RuntimeException(exception);
+            }
+            return null;
+        });
     }
 
     @Override
@@ -94,7 +102,17 @@ public class CaptureSupportImpl implements CaptureSupport {
     public PixelMatcherResult matchImages(Image image0,
                                           Image image1,
                                           PixelMatcher pixelMatcher) {
-        return pixelMatcher.match(image0, image1);
+        return record("matchImages", () -> pixelMatcher.match(image0, image1));
+    }
+
+    private <T> T record(String operation, Supplier<T> supplier) {
+        Object event = FlightRecorderAdapter.begin(EventKind.CAPTURE);
+        try {
+            return supplier.get();
+        }
+        finally {
+            FlightRecorderAdapter.commit(event, operation, WaitForAsyncUtils.getPendingFxTasksCount());
+        }
     }
 
     private void checkFileExists(Path path) {
@@ -109,6 +127,15 @@ public class CaptureSupportImpl implements CaptureSupport {
         }
     }
 
+    private Image decodeImage(Path path) {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return readImageFromStream(inputStream);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
     private Image snapshotNodeToImage(Node node) {
         return node.snapshot(null, null);
     }
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Caches decoded images by path, modification time and size so that an image file (e.g. a golden image used by
+ * many tests) is only decoded once. The cache is disabled unless the system property {@code testfx.image.cache.bytes}
+ * is set to the maximum number of bytes it may use, e.g. {@code -Dtestfx.image.cache.bytes=268435456}.
+ * <p>
+ * The decoded ARGB pixels are written to a sidecar file in the cache directory, which defaults to the system
+ * property {@code testfx.image.cache.dir} or "testfx-image-cache" in the temporary directory, and the sidecar is
+ * memory-mapped. Loading a cached image copies the pixels from the mapping into a new {@link WritableImage}; a
+ * sidecar written by an earlier run is reused as long as the image file is unchanged. Once the mapped sidecars
+ * exceed the maximum number of bytes, the least recently used ones are evicted and deleted. Whenever a sidecar is
+ * written, the least recently used sidecars of earlier runs are deleted as well until the directory fits into the
+ * maximum number of bytes.
+ */
+final class DecodedImageCache {
+
+    private static final String SIDECAR_EXTENSION = ".argb";
+    private static final int SIDECAR_MAGIC = 0x54465849; // "TFXI"
+    private static final int SIDECAR_HEADER_LENGTH = 3 * Integer.BYTES;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    DecodedImageCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    static DecodedImageCache fromSystemProperties() {
+        String directory = System.getProperty("testfx.image.cache.dir");
+        return new DecodedImageCache(directory != null ? Paths.get(directory) :
+                Paths.get(System.getProperty("java.io.tmpdir"), "testfx-image-cache"),
+                Long.getLong("testfx.image.cache.bytes", 0));
+    }
+
+    /**
+     * Returns the image at the given path from the cache, decoding it with the given decoder if it is not cached
+     * or the file has changed since it was cached.
+     */
+    Image load(Path path, Function<Path, Image> decoder) {
+        if (maxBytes <= 0) {
+            return decoder.apply(path);
+        }
+        Path key = path.toAbsolutePath().normalize();
+        long lastModified;
+        long fileSize;
+        try {
+            lastModified = Files.getLastModifiedTime(key).toMillis();
+            fileSize = Files.size(key);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && (entry.lastModified != lastModified || entry.fileSize != fileSize)) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            Path sidecar = directory.resolve(sidecarName(key, lastModified, fileSize));
+            Image decodedImage = null;
+            try {
+                if (Files.isRegularFile(sidecar)) {
+                    // mark the sidecar as recently used for trimming the directory
+                    Files.setLastModifiedTime(sidecar, FileTime.fromMillis(System.currentTimeMillis()));
+                }
+                else {
+                    decodedImage = decoder.apply(path);
+                    writeSidecar(sidecar, decodedImage);
+                    trimDirectory(sidecar);
+                }
+                entry = mapSidecar(sidecar, lastModified, fileSize);
+            }
+            catch (IOException exception) {
+                // e.g. the cache directory is not writable, loading still works without the cache
+                return decodedImage != null ? decodedImage : decoder.apply(path);
+            }
+            synchronized (this) {
+                Entry previous = entries.put(key, entry);
+                if (previous != null) {
+                    totalBytes -= previous.bytes();
+                }
+                totalBytes += entry.bytes();
+                evict();
+            }
+        }
+        return entry.toImage();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private Entry mapSidecar(Path sidecar, long lastModified, long fileSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < SIDECAR_HEADER_LENGTH || buffer.getInt(0) != SIDECAR_MAGIC ||
+                    channel.size() != SIDECAR_HEADER_LENGTH +
+                            (long) buffer.getInt(Integer.BYTES) * buffer.getInt(2 * Integer.BYTES) * Integer.BYTES) {
+                Files.deleteIfExists(sidecar);
+                throw new IOException("corrupt image cache file " + sidecar.toAbsolutePath());
+            }
+            return new Entry(sidecar, lastModified, fileSize, buffer.getInt(Integer.BYTES),
+                    buffer.getInt(2 * Integer.BYTES), buffer);
+        }
+    }
+
+    /**
+     * Writes the image to a temporary file that is then moved to the sidecar path, so that concurrently running
+     * test JVMs never map a partially written sidecar.
+     */
+    private void writeSidecar(Path sidecar, Image image) throws IOException {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, "image", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        SIDECAR_HEADER_LENGTH + (long) width * height * Integer.BYTES);
+                buffer.putInt(SIDECAR_MAGIC).putInt(width).putInt(height);
+                IntBuffer pixels = buffer.asIntBuffer();
+                image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels,
+                        width);
+            }
+            Files.move(temporaryFile, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Path, Entry>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1 && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            totalBytes -= eldest.bytes();
+            deleteSidecar(eldest.sidecar);
+        }
+    }
+
+    /**
+     * Removes the entry of an image file that has changed and deletes its now stale sidecar.
+     */
+    private void remove(Path key) {
+        Entry entry = entries.remove(key);
+        totalBytes -= entry.bytes();
+        deleteSidecar(entry.sidecar);
+    }
+
+    /**
+     * Deletes the least recently used sidecars in the cache directory, except for the given one and the ones mapped
+     * by this cache, until all sidecars fit into the maximum number of bytes.
+     */
+    private void trimDirectory(Path keep) throws IOException {
+        List<Path> sidecars = new ArrayList<>();
+        Map<Path, Long> sizes = new HashMap<>();
+        Map<Path, Long> lastUsed = new HashMap<>();
+        long directoryBytes = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SIDECAR_EXTENSION)) {
+            for (Path sidecar : stream) {
+                try {
+                    sizes.put(sidecar, Files.size(sidecar));
+                    lastUsed.put(sidecar, Files.getLastModifiedTime(sidecar).toMillis());
+                }
+                catch (IOException exception) {
+                    // e.g. deleted by another test JVM in the meantime
+                    continue;
+                }
+                sidecars.add(sidecar);
+                directoryBytes += sizes.get(sidecar);
+            }
+        }
+        sidecars.sort(Comparator.comparing(lastUsed::get));
+        Set<Path> mappedSidecars = new HashSet<>();
+        synchronized (this) {
+            for (Entry entry : entries.values()) {
+                mappedSidecars.add(entry.sidecar);
+            }
+        }
+        for (Path sidecar : sidecars) {
+            if (directoryBytes <= maxBytes) {
+                break;
+            }
+            if (!sidecar.equals(keep) && !mappedSidecars.contains(sidecar)) {
+                deleteSidecar(sidecar);
+                directoryBytes -= sizes.get(sidecar);
+            }
+        }
+    }
+
+    private static void deleteSidecar(Path sidecar) {
+        try {
+            Files.deleteIfExists(sidecar);
+        }
+        catch (IOException ignore) {
+            // the file may still be mapped (e.g. on Windows), a stale sidecar is never used again
+        }
+    }
+
+    private static String sidecarName(Path path, long lastModified, long fileSize) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest((path + "@" + lastModified + ":" + fileSize)
+                    .getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (byte value : hash) {
+                name.append(Character.forDigit(value >> 4 & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+            }
+            return name.append(SIDECAR_EXTENSION).toString();
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static final class Entry {
+        private final Path sidecar;
+        private final long lastModified;
+        private final long fileSize;
+        private final int width;
+        private final int height;
+        private final MappedByteBuffer buffer;
+
+        private Entry(Path sidecar, long lastModified, long fileSize, int width, int height,
+                      MappedByteBuffer buffer) {
+            this.sidecar = sidecar;
+            this.lastModified = lastModified;
+            this.fileSize = fileSize;
+            this.width = width;
+            this.height = height;
+            this.buffer = buffer;
+        }
+
+        private long bytes() {
+            return buffer.capacity();
+        }
+
+        private Image toImage() {
+            ByteBuffer pixels = buffer.duplicate();
+            pixels.position(SIDECAR_HEADER_LENGTH);
+            WritableImage image = new WritableImage(width, height);
+            image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(),
+                    pixels.slice().asIntBuffer(), width);
+            return image;
+        }
+    }
+
+}
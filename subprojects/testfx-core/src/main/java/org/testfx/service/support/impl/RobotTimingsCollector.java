@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.testfx.service.support.RobotInstrumentation;
+
+/**
+ * A {@link RobotInstrumentation} that keeps the count, total and maximum duration of each stage, e.g. to
+ * print a summary after each test:
+ * <pre>{@code
+ * RobotTimingsCollector timings = new RobotTimingsCollector();
+ * robotContext().setInstrumentation(timings);
+ * // ... run the test ...
+ * System.out.println(timings.summary());
+ * }</pre>
+ */
+public class RobotTimingsCollector implements RobotInstrumentation {
+
+    private final Map<Stage, Timing> timings = new EnumMap<>(Stage.class);
+
+    public RobotTimingsCollector() {
+        for (Stage stage : Stage.values()) {
+            timings.put(stage, new Timing());
+        }
+    }
+
+    @Override
+    public void record(Stage stage, long durationNanos) {
+        Timing timing = timings.get(stage);
+        timing.count.increment();
+        timing.totalNanos.add(durationNanos);
+        timing.maxNanos.accumulate(durationNanos);
+    }
+
+    /**
+     *
+     * @return how often the given stage was recorded
+     */
+    public long getCount(Stage stage) {
+        return timings.get(stage).count.sum();
+    }
+
+    /**
+     *
+     * @return the summed up duration of the given stage
+     */
+    public long getTotal(Stage stage, TimeUnit timeUnit) {
+        return timeUnit.convert(timings.get(stage).totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *
+     * @return the longest single duration of the given stage
+     */
+    public long getMax(Stage stage, TimeUnit timeUnit) {
+        return timeUnit.convert(timings.get(stage).maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Forgets all recorded durations, e.g. before the next test.
+     */
+    public void reset() {
+        timings.values().forEach(Timing::reset);
+    }
+
+    /**
+     * Returns a human readable table of the count, total and maximum duration of each stage that was
+     * recorded at least once.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%-20s %8s %12s %10s%n",
+                "stage", "count", "total (ms)", "max (ms)"));
+        for (Stage stage : Stage.values()) {
+            long count = getCount(stage);
+            if (count > 0) {
+                summary.append(String.format("%-20s %8d %12.1f %10.1f%n", stage, count,
+                        timings.get(stage).totalNanos.sum() / 1e6, timings.get(stage).maxNanos.get() / 1e6));
+            }
+        }
+        return summary.toString();
+    }
+
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+    }
+
+}
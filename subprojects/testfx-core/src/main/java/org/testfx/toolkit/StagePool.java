@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.toolkit;
+
+import java.util.concurrent.Future;
+import javafx.stage.Stage;
+
+/**
+ * A pool of warm stages that are reused across tests instead of being torn down and rebuilt. A released stage
+ * stays showing, so its native window is kept; only its content is reset. Methods' returned {@link Future}
+ * objects' {@link Future#get()} method indicates when the work on the {@code JavaFX Application Thread} is
+ * finished.
+ */
+public interface StagePool {
+
+    /**
+     * @return a {@link Future} whose {@link Future#get()} returns a pooled stage (the primary stage first)
+     * or a newly created one if all pooled stages are in use
+     */
+    Future<Stage> acquire();
+
+    /**
+     * Resets the given stage and puts it back into the pool. Resetting hides the windows owned by the stage (or,
+     * if no other pooled stage is in use, all windows that are not pooled stages), replaces the stage's scene with
+     * an empty scene (which drops the old scene's event handlers, event filters and focus owner but keeps its
+     * stylesheets loaded) and clears the stage's event handler properties and window states.
+     *
+     * @return a {@link Future} whose {@link Future#get()} will return when the given stage has been reset
+     * @throws IllegalStateException if the given stage has already been released
+     */
+    Future<Void> release(Stage stage);
+
+}
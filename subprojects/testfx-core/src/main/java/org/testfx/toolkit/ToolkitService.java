@@ -72,6 +72,22 @@ public interface ToolkitService {
     Future<Parent> setupSceneRoot(Stage stage,
                                   Supplier<? extends Parent> sceneRootSupplier);
 
+    /**
+     * Like {@link #setupSceneRoot(Stage, Supplier)}, but calls the sceneRootSupplier only once per fixtureKey and
+     * caches the parent. Later calls with the same key pass the cached parent to sceneRootReset (which restores
+     * it to its pristine state) instead, all on the {@code JavaFX Application Thread}. Returns a {@link Future}
+     * whose {@link Future#get()} returns the parent.
+     */
+    Future<Parent> setupCachedSceneRoot(Stage stage,
+                                        Object fixtureKey,
+                                        Supplier<? extends Parent> sceneRootSupplier,
+                                        Consumer<? super Parent> sceneRootReset);
+
+    /**
+     * Removes all parents cached by {@link #setupCachedSceneRoot(Stage, Object, Supplier, Consumer)}.
+     */
+    void clearCachedSceneRoots();
+
     /**
      * Creates, initializes, and starts the given applicationClass and returns a {@link Future} whose
      * {@link Future#get()} returns the created application.
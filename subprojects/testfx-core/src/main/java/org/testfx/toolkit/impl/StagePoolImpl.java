@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.toolkit.impl;
+
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Future;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.stage.PopupWindow;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.stage.Window;
+
+import org.testfx.toolkit.StagePool;
+
+import static org.testfx.internal.JavaVersionAdapter.getWindows;
+import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+
+public class StagePoolImpl implements StagePool {
+
+    private final CompletableFuture<Stage> primaryStageFuture;
+    private final Deque<Stage> idleStages = new ConcurrentLinkedDeque<>();
+    private final Set<Window> pooledStages = ConcurrentHashMap.newKeySet();
+    private final Set<Stage> stagesInUse = ConcurrentHashMap.newKeySet();
+
+    public StagePoolImpl(CompletableFuture<Stage> primaryStageFuture) {
+        this.primaryStageFuture = primaryStageFuture;
+    }
+
+    @Override
+    public Future<Stage> acquire() {
+        return asyncFx(() -> {
+            Stage stage = idleStages.pollFirst();
+            if (stage != null) {
+                stagesInUse.add(stage);
+                return stage;
+            }
+            if (!primaryStageFuture.isDone()) {
+                // joining would block the FX application thread that is meant to complete the future
+                throw new IllegalStateException("the primary stage has not been registered yet, call " +
+                        "FxToolkit.registerPrimaryStage() first");
+            }
+            Stage primaryStage = primaryStageFuture.join();
+            if (pooledStages.add(primaryStage)) {
+                stagesInUse.add(primaryStage);
+                return primaryStage;
+            }
+            stage = new Stage(StageStyle.UNDECORATED);
+            stage.setTitle(getClass().getSimpleName());
+            pooledStages.add(stage);
+            stagesInUse.add(stage);
+            return stage;
+        });
+    }
+
+    @Override
+    public Future<Void> release(Stage stage) {
+        if (!pooledStages.contains(stage)) {
+            throw new IllegalArgumentException("stage was not acquired from this pool: " + stage);
+        }
+        if (!stagesInUse.remove(stage)) {
+            throw new IllegalStateException("stage has already been released: " + stage);
+        }
+        return asyncFx(() -> {
+            // Windows that are not owned by any stage can only be attributed to this stage if no other stage is in use.
+            reset(stage, stagesInUse.isEmpty());
+            idleStages.addFirst(stage);
+        });
+    }
+
+    private void reset(Stage stage, boolean onlyStageInUse) {
+        for (Window window : getWindows()) {
+            if (!pooledStages.contains(window) && (onlyStageInUse || isOwnedBy(window, stage))) {
+                window.hide();
+            }
+        }
+        Scene scene = new Scene(new Group());
+        if (stage.getScene() != null) {
+            // keep the stylesheets referenced, so that they stay cached by the style manager
+            scene.getStylesheets().setAll(stage.getScene().getStylesheets());
+        }
+        stage.setScene(scene);
+        stage.setOnCloseRequest(null);
+        stage.setOnShowing(null);
+        stage.setOnShown(null);
+        stage.setOnHiding(null);
+        stage.setOnHidden(null);
+        stage.setFullScreen(false);
+        stage.setMaximized(false);
+        stage.setIconified(false);
+        stage.setAlwaysOnTop(false);
+    }
+
+    private static boolean isOwnedBy(Window window, Stage stage) {
+        Window owner = window;
+        while (owner != null) {
+            if (owner == stage) {
+                return true;
+            }
+            owner = owner instanceof Stage ? ((Stage) owner).getOwner() :
+                    owner instanceof PopupWindow ? ((PopupWindow) owner).getOwnerWindow() : null;
+        }
+        return false;
+    }
+
+}
@@ -16,12 +16,15 @@
  */
 package org.testfx.toolkit.impl;
 
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javafx.application.Application;
+import javafx.scene.Group;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -38,6 +41,7 @@ public class ToolkitServiceImpl implements ToolkitService {
 
     private final ApplicationLauncher applicationLauncher;
     private final ApplicationService applicationService;
+    private final Map<Object, Parent> cachedSceneRoots = new ConcurrentHashMap<>();
 
     public ToolkitServiceImpl(ApplicationLauncher applicationLauncher,
                               ApplicationService applicationService) {
@@ -101,6 +105,34 @@ public class ToolkitServiceImpl implements ToolkitService {
         });
     }
 
+    @Override
+    public Future<Parent> setupCachedSceneRoot(Stage stage,
+                                               Object fixtureKey,
+                                               Supplier<? extends Parent> sceneRootSupplier,
+                                               Consumer<? super Parent> sceneRootReset) {
+        return asyncFx(() -> {
+            Parent rootNode = cachedSceneRoots.get(fixtureKey);
+            if (rootNode == null) {
+                rootNode = sceneRootSupplier.get();
+                cachedSceneRoots.put(fixtureKey, rootNode);
+            } else {
+                Scene previousScene = rootNode.getScene();
+                if (previousScene != null && previousScene.getRoot() == rootNode) {
+                    // a parent can only be the root of one scene
+                    previousScene.setRoot(new Group());
+                }
+                sceneRootReset.accept(rootNode);
+            }
+            stage.setScene(new Scene(rootNode));
+            return rootNode;
+        });
+    }
+
+    @Override
+    public void clearCachedSceneRoots() {
+        cachedSceneRoots.clear();
+    }
+
     @Override
     public Future<Application> setupApplication(Supplier<Stage> stageSupplier,
                                                 Class<? extends Application> applicationClass,
@@ -104,6 +104,7 @@ public final class DebugUtils {
      */
     private static final String DEFAULT_INDENT = "   ";
     private static final AtomicInteger DEFAULT_PHOTO_NUMBER = new AtomicInteger(0);
+    private static final int DEFAULT_RECENT_FRAMES = 30;
 
     private DebugUtils() {}
 
@@ -274,8 +275,9 @@ public final class DebugUtils {
     }
 
     /**
-     * Via {@link #insertContent(String, Object)}: shows all events that were fired since the start of the test.
-     * Note: only events stored in {@link org.testfx.api.FxToolkitContext#getFiredEvents()} will be shown.
+     * Via {@link #insertContent(String, Object)}: shows the most recent events that were fired since the start of
+     * the test and the number of fired events per event type.
+     * Note: only events stored in {@link org.testfx.api.FxToolkitContext#getFiredEventsRecorder()} will be shown.
      */
     public static Function<StringBuilder, StringBuilder> showFiredEvents() {
         return showFiredEvents(DEFAULT_INDENT);
@@ -283,20 +285,22 @@ public final class DebugUtils {
 
     public static Function<StringBuilder, StringBuilder> showFiredEvents(String indent) {
         return sb -> {
-            List<Event> firedEvents = FxToolkit.toolkitContext().getFiredEvents();
-            return showFiredEvents(firedEvents, indent).apply(sb);
+            FiredEvents firedEvents = FxToolkit.toolkitContext().getFiredEventsRecorder();
+            return firedEvents == null ? sb : showFiredEvents(firedEvents, indent).apply(sb);
         };
     }
 
     /**
-     * Via {@link #insertContent(String, Object)}: shows all events that were fired since the start of the test.
+     * Via {@link #insertContent(String, Object)}: shows the most recent events stored by the given {@code events}
+     * and the number of fired events per event type.
      */
     public static Function<StringBuilder, StringBuilder> showFiredEvents(FiredEvents events) {
         return showFiredEvents(events, DEFAULT_INDENT);
     }
 
     public static Function<StringBuilder, StringBuilder> showFiredEvents(FiredEvents events, String indent) {
-        return showFiredEvents(events.getEvents(), indent);
+        return sb -> insertContent("Fired events since test began (" + events.getSummary() + "):",
+            events.describeEvents(), indent).apply(sb);
     }
 
     public static Function<StringBuilder, StringBuilder> showFiredEvents(List<Event> events) {
@@ -307,6 +311,44 @@ public final class DebugUtils {
         return insertContent("Fired events since test began:", events, indent);
     }
 
+    /**
+     * Via {@link #insertContent(String, Object)}: shows the FX busy time histograms and the most recent stalls
+     * recorded by the {@link FxThreadWatchdog}, or nothing if the watchdog is not running.
+     */
+    public static Function<StringBuilder, StringBuilder> showFxThreadWatchdogReport() {
+        return showFxThreadWatchdogReport(DEFAULT_INDENT);
+    }
+
+    public static Function<StringBuilder, StringBuilder> showFxThreadWatchdogReport(String indent) {
+        return sb -> {
+            if (!FxThreadWatchdog.isRunning()) {
+                return sb;
+            }
+            return insertContent("FX thread activity:", FxThreadWatchdog.report(), indent).apply(sb);
+        };
+    }
+
+    /**
+     * Via {@link #insertContent(String, Object)}: saves the last 30 frames recorded by the {@link FrameRecorder} to
+     * a new "testfx-frames - N" directory and shows their paths, or does nothing if the recorder is not running.
+     */
+    public static Function<StringBuilder, StringBuilder> saveRecentFrames() {
+        return saveRecentFrames(() -> Paths.get("testfx-frames - " + DEFAULT_PHOTO_NUMBER.getAndIncrement()),
+                DEFAULT_RECENT_FRAMES, DEFAULT_INDENT);
+    }
+
+    public static Function<StringBuilder, StringBuilder> saveRecentFrames(Supplier<Path> directory, int lastFrames,
+                                                                          String indent) {
+        return sb -> {
+            if (!FrameRecorder.isRunning()) {
+                return sb;
+            }
+            List<Path> frames = FrameRecorder.dumpFrames(directory.get(), lastFrames);
+            return insertContent("Frames before failure saved at:",
+                    frames.stream().map(path -> path.toAbsolutePath().toString()), indent).apply(sb);
+        };
+    }
+
     public static Function<CaptureSupport, Image> captureScreenshot() {
         return captureScreenshot(Screen.getPrimary());
     }
@@ -350,6 +392,10 @@ public final class DebugUtils {
         return defaultImagePath("testfx-test", DEFAULT_PHOTO_NUMBER.getAndIncrement());
     }
 
+    private static Path nextDefaultImagePath() {
+        return defaultImagePath().get();
+    }
+
     /**
      * Returns {@code () -> Paths.get(testName + " - 0.png");}
      */
@@ -395,6 +441,34 @@ public final class DebugUtils {
         return saveTestImage(captureScreenshot(), capturedImagePath, indent);
     }
 
+    /**
+     * Saves the captured primary screen image using {@link #defaultImagePath()} via
+     * {@link FailureScreenshots#save(Object, Image, Supplier)}: the image is encoded and written on a background
+     * thread and not saved again if an identical image was already saved for the given {@code test}.
+     */
+    public static Function<StringBuilder, StringBuilder> saveScreenshotOnce(Object test) {
+        return saveScreenshotOnce(test, DEFAULT_INDENT);
+    }
+
+    public static Function<StringBuilder, StringBuilder> saveScreenshotOnce(Object test, String indent) {
+        return saveScreenshotOnce(test, captureScreenshot(), indent);
+    }
+
+    /**
+     * Saves the image captured by the given {@code capture} function (e.g. {@link #captureNode(Node)}) like
+     * {@link #saveScreenshotOnce(Object)}.
+     */
+    public static Function<StringBuilder, StringBuilder> saveScreenshotOnce(Object test,
+                                                                            Function<CaptureSupport, Image> capture,
+                                                                            String indent) {
+        return sb -> {
+            CaptureSupport captureSupport = FxService.serviceContext().getCaptureSupport();
+            Image errorImage = capture.apply(captureSupport);
+            Path path = FailureScreenshots.save(test, errorImage, DebugUtils::nextDefaultImagePath);
+            return insertContent("Test image saved at:", path.toAbsolutePath().toString(), indent).apply(sb);
+        };
+    }
+
     /**
      * Saves the captured screenshot of the screen to "testName - photoNumber.png" (e.g. "button_has_label - 2.png").
      */
@@ -577,7 +651,14 @@ public final class DebugUtils {
      * Convenience method for {@link #insertHeader(String)} using "Context:" as the header text and then, via
      * {@link #insertContent(String, Object)}, composes {@link #showKeysPressedAtTestFailure(FxRobot)},
      * {@link #showMouseButtonsPressedAtTestFailure(FxRobot)}, and {@link #showFiredEvents()} together in
-     * their given order, depending on what the booleans are.
+     * their given order, depending on what the booleans are. If the {@link FxThreadWatchdog} is running, its
+     * report is appended as well.
+     * <p>
+     * The pressed keys, mouse buttons and fired events are collected before the screenshot is taken so that they
+     * describe the same moment. The screenshot is saved via {@link #saveScreenshotOnce(Object)} with the given
+     * {@code robot} identifying the test, so repeated failures of a test in an unchanged state only save a single
+     * screenshot and the PNG is encoded on a background thread. If the {@link FrameRecorder} is running, the
+     * frames leading up to the failure are saved along with the screenshot.
      */
     public static Function<StringBuilder, StringBuilder> informedErrorMessage(String headerText,
                                                                               boolean takeScreenshot,
@@ -585,23 +666,27 @@ public final class DebugUtils {
                                                                               FxRobot robot,
                                                                               boolean showKeysPressed,
                                                                               boolean showMouseButtonsPressed) {
-        Function<StringBuilder, StringBuilder> function = Function.identity();
-        if (headerText != null) {
-            function = insertHeader(headerText).compose(function);
-        }
-        if (takeScreenshot) {
-            function = saveScreenshot().compose(function);
-        }
-        if (showKeysPressed) {
-            function = showKeysPressedAtTestFailure(robot, DEFAULT_INDENT).compose(function);
-        }
-        if (showMouseButtonsPressed) {
-            function = showMouseButtonsPressedAtTestFailure(robot, DEFAULT_INDENT).compose(function);
-        }
-        if (showFiredEvents) {
-            function = showFiredEvents(DEFAULT_INDENT).compose(function);
-        }
-        return function;
+        return sb -> {
+            StringBuilder state = new StringBuilder();
+            if (showKeysPressed) {
+                showKeysPressedAtTestFailure(robot, DEFAULT_INDENT).apply(state);
+            }
+            if (showMouseButtonsPressed) {
+                showMouseButtonsPressedAtTestFailure(robot, DEFAULT_INDENT).apply(state);
+            }
+            if (showFiredEvents) {
+                showFiredEvents(DEFAULT_INDENT).apply(state);
+            }
+            showFxThreadWatchdogReport(DEFAULT_INDENT).apply(state);
+            if (headerText != null) {
+                insertHeader(headerText).apply(sb);
+            }
+            if (takeScreenshot) {
+                saveScreenshotOnce(robot, DEFAULT_INDENT).apply(sb);
+                saveRecentFrames().apply(sb);
+            }
+            return sb.append(state);
+        };
     }
 
     private static Rectangle2D mapToRect2D(Bounds bounds) {
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the unhandled exceptions of the {@code async} methods of {@link WaitForAsyncUtils} and the uncaught
+ * exceptions of threads, so that they are reported to the test that caused them.
+ * <p>
+ * Without any open sink, all exceptions go to one global sink. A sink opened with {@link #open()} is bound to the
+ * current thread: it receives the exceptions of all tasks that thread schedules with the {@code async} methods
+ * (wherever they run) and the uncaught exceptions of the thread itself. A sink opened with
+ * {@link #open(ThreadGroup)} additionally receives the uncaught exceptions of all threads in the given thread group.
+ * {@link WaitForAsyncUtils#checkException()} and the automatic checks of the {@code async} methods only look at the
+ * sink of the calling thread, so exceptions of tests that run concurrently are not mixed up.
+ * <p>
+ * Uncaught exceptions of the JavaFX Application Thread (e.g. thrown by event handlers) cannot be attributed to one
+ * of several tests that run at the same time. Unless a sink was opened for the thread group of the JavaFX
+ * Application Thread, they go to the global sink, where only threads without an open sink will see them.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * try (ExceptionSink sink = ExceptionSink.open()) {
+ *     // test code
+ *     WaitForAsyncUtils.checkException();
+ * }
+ * }</pre>
+ */
+public final class ExceptionSink implements AutoCloseable {
+
+    static final ExceptionSink GLOBAL = new ExceptionSink(null, null);
+
+    private static final ThreadLocal<ExceptionSink> THREAD_SINK = new ThreadLocal<>();
+    private static final Map<ThreadGroup, ExceptionSink> THREAD_GROUP_SINKS = new ConcurrentHashMap<>();
+    private static final AtomicInteger OPEN_SINKS_COUNT = new AtomicInteger();
+
+    private final Queue<Throwable> exceptions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingFxTasks = new AtomicInteger();
+    private final ThreadGroup threadGroup;
+    private final ExceptionSink previousSink;
+    private boolean closed;
+
+    private ExceptionSink(ThreadGroup threadGroup, ExceptionSink previousSink) {
+        this.threadGroup = threadGroup;
+        this.previousSink = previousSink;
+    }
+
+    /**
+     * Opens a sink that is bound to the current thread until it is {@link #close() closed}.
+     *
+     * @return the opened sink
+     */
+    public static ExceptionSink open() {
+        return open(null);
+    }
+
+    /**
+     * Opens a sink that is bound to the current thread and to the given thread group (if not {@code null}) until it
+     * is {@link #close() closed}.
+     *
+     * @param threadGroup the thread group whose uncaught exceptions should be collected
+     * @return the opened sink
+     */
+    public static ExceptionSink open(ThreadGroup threadGroup) {
+        ExceptionSink sink = new ExceptionSink(threadGroup, THREAD_SINK.get());
+        THREAD_SINK.set(sink);
+        if (threadGroup != null) {
+            THREAD_GROUP_SINKS.put(threadGroup, sink);
+        }
+        OPEN_SINKS_COUNT.incrementAndGet();
+        return sink;
+    }
+
+    /**
+     * Returns the sink that collects the exceptions of the current thread.
+     */
+    public static ExceptionSink current() {
+        // fast path: no lookups as long as no sink has been opened
+        if (OPEN_SINKS_COUNT.get() == 0) {
+            return GLOBAL;
+        }
+        ExceptionSink sink = THREAD_SINK.get();
+        if (sink != null) {
+            return sink;
+        }
+        if (!THREAD_GROUP_SINKS.isEmpty()) {
+            for (ThreadGroup group = Thread.currentThread().getThreadGroup(); group != null;
+                    group = group.getParent()) {
+                sink = THREAD_GROUP_SINKS.get(group);
+                if (sink != null) {
+                    return sink;
+                }
+            }
+        }
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the exceptions that have been collected and not handled yet.
+     */
+    public List<Throwable> getExceptions() {
+        return Collections.unmodifiableList(new ArrayList<>(exceptions));
+    }
+
+    /**
+     * Unbinds this sink from the current thread and its thread group. Must be called on the thread that opened it.
+     * Exceptions that have not been handled yet can still be retrieved with {@link #getExceptions()}.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (THREAD_SINK.get() == this) {
+            if (previousSink != null) {
+                THREAD_SINK.set(previousSink);
+            } else {
+                THREAD_SINK.remove();
+            }
+        }
+        if (threadGroup != null) {
+            THREAD_GROUP_SINKS.remove(threadGroup, this);
+        }
+        OPEN_SINKS_COUNT.decrementAndGet();
+    }
+
+    void add(Throwable exception) {
+        exceptions.add(exception);
+    }
+
+    void remove(Throwable exception) {
+        exceptions.remove(exception);
+    }
+
+    Throwable poll() {
+        // peek first, as it is cheaper than poll on an empty queue
+        return exceptions.peek() != null ? exceptions.poll() : null;
+    }
+
+    void clear() {
+        exceptions.clear();
+    }
+
+    void fxTaskScheduled() {
+        pendingFxTasks.incrementAndGet();
+    }
+
+    void fxTaskFinished() {
+        pendingFxTasks.decrementAndGet();
+    }
+
+    boolean hasPendingFxTasks() {
+        return pendingFxTasks.get() > 0;
+    }
+
+}
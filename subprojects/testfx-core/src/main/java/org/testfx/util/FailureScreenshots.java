@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+
+import org.testfx.api.FxService;
+
+/**
+ * Saves screenshots taken at test failures. Identical screenshots of the same test (e.g. of a test that repeatedly
+ * fails inside a retry loop) are only saved once and the expensive part, encoding and writing the PNG file, is done
+ * on a background thread so that the failing test can report its failure right away. Use
+ * {@link #awaitPendingWrites(long, TimeUnit)} to wait until all screenshots are written; the test frameworks of
+ * TestFX do so after each test and a shutdown hook does so before the JVM exits.
+ */
+public final class FailureScreenshots {
+
+    private static final Map<Object, Map<Long, Path>> SAVED_IMAGES = Collections.synchronizedMap(
+        new WeakHashMap<>());
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TestFX Failure Screenshot Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 10;
+    private static volatile CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+    static {
+        // the writer is a daemon thread, which would otherwise be stopped in the middle of writing
+        Runtime.getRuntime().addShutdownHook(new Thread(
+            () -> awaitPendingWrites(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS),
+            "TestFX Failure Screenshot Flush"));
+    }
+
+    private FailureScreenshots() {}
+
+    /**
+     * Saves the given {@code image} to the path supplied by {@code imagePath} on a background thread, unless an
+     * identical image was already saved for the given {@code test} in which case the path of that image is returned
+     * and nothing is written.
+     *
+     * @param test the test (e.g. its {@link org.testfx.api.FxRobot}) the image belongs to, or {@code null} to
+     * always save the image
+     * @param image the image to save
+     * @param imagePath supplies the path to save the image to, only called if the image is saved
+     * @return the path the image is (or will be) saved at
+     */
+    public static Path save(Object test, Image image, Supplier<Path> imagePath) {
+        if (test == null) {
+            return write(image, imagePath.get());
+        }
+        long hash = hashPixels(image);
+        Map<Long, Path> savedImages = SAVED_IMAGES.computeIfAbsent(test, key -> new HashMap<>());
+        synchronized (savedImages) {
+            Path savedPath = savedImages.get(hash);
+            if (savedPath != null) {
+                return savedPath;
+            }
+            Path path = write(image, imagePath.get());
+            savedImages.put(hash, path);
+            return path;
+        }
+    }
+
+    /**
+     * Waits until all screenshots passed to {@link #save(Object, Image, Supplier)} so far have been written.
+     *
+     * @return {@code true} if all screenshots were written, {@code false} if the timeout elapsed before
+     */
+    public static boolean awaitPendingWrites(long timeout, TimeUnit timeUnit) {
+        try {
+            lastWrite.get(timeout, timeUnit);
+            return true;
+        }
+        catch (TimeoutException exception) {
+            return false;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        catch (ExecutionException exception) {
+            // the failure of a single write is reported by that write, keep waiting for the others
+            return true;
+        }
+    }
+
+    private static synchronized Path write(Image image, Path path) {
+        lastWrite = lastWrite.handle((result, throwable) -> null).thenRunAsync(() -> {
+            try {
+                FxService.serviceContext().getCaptureSupport().saveImage(image, path);
+            }
+            catch (RuntimeException exception) {
+                System.err.println("Unable to save failure screenshot to " + path.toAbsolutePath() + ": " +
+                    exception);
+                throw exception;
+            }
+        }, WRITER);
+        return path;
+    }
+
+    private static long hashPixels(Image image) {
+        PixelReader pixelReader = image.getPixelReader();
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        if (pixelReader == null) {
+            return System.identityHashCode(image);
+        }
+        int[] row = new int[width];
+        long hash = 31L * width + height;
+        for (int y = 0; y < height; y++) {
+            pixelReader.getPixels(0, y, width, 1, PixelFormat.getIntArgbInstance(), row, 0, width);
+            for (int pixel : row) {
+                hash = 31 * hash + pixel;
+            }
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,506 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+
+import org.testfx.api.FxService;
+import org.testfx.api.FxToolkit;
+
+/**
+ * Records downscaled snapshots of the registered stage into a fixed-size ring buffer so that the frames leading up
+ * to a test failure can be saved with {@link #dumpFrames(Path, int)} (or {@link DebugUtils#saveRecentFrames()}).
+ * <p>
+ * A frame is recorded after each mouse, keyboard and write robot action and, optionally, every N pulses. Taking
+ * the snapshot is the only work done on the "JavaFX Application Thread"; the frames are compressed on a background
+ * thread by XOR-ing their pixels with the previous frame and run-length encoding the result, so an unchanged window
+ * costs a few bytes per frame. Every {@value #KEYFRAME_INTERVAL}th frame (and every frame whose size changed) is
+ * stored without a reference to the previous one. The frames are kept in a direct {@link ByteBuffer}, outside of
+ * the Java heap; when it is full the oldest frames are evicted. If the background thread falls behind, frames are
+ * skipped rather than queued.
+ * <p>
+ * The recorder is started with {@link #start(int, int, int)} or by setting the system property
+ * {@code testfx.frames} to {@code true} before the primary stage is registered. The buffer size, maximum frame width
+ * and pulse interval then default to {@code testfx.frames.buffer} (16MB), {@code testfx.frames.maxWidth} (320px)
+ * and {@code testfx.frames.pulses} (0, i.e. only after robot actions).
+ */
+public final class FrameRecorder {
+
+    static final int KEYFRAME_INTERVAL = 30;
+    private static final int DEFAULT_BUFFER_BYTES = 16 * 1024 * 1024;
+    private static final int DEFAULT_MAX_WIDTH = 320;
+    private static final int MAX_PENDING_FRAMES = 2;
+    private static final long RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
+
+    private static final ExecutorService ENCODER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TestFX Frame Recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicInteger PENDING_FRAMES = new AtomicInteger();
+    private static final Object LOCK = new Object();
+
+    // guarded by LOCK
+    private static ByteBuffer buffer;
+    private static final Deque<Frame> FRAMES = new ArrayDeque<>();
+    private static int writePosition;
+    private static int usedBytes;
+    private static int[] previousPixels;
+    private static int previousWidth;
+    private static int previousHeight;
+    private static int framesSinceKeyframe;
+
+    private static volatile boolean running;
+    private static volatile int maxWidth;
+    private static volatile AnimationTimer pulseTimer;
+
+    private FrameRecorder() {}
+
+    /**
+     * Starts the recorder if the system property {@code testfx.frames} is set to {@code true}.
+     */
+    public static void startIfEnabled() {
+        if (Boolean.getBoolean("testfx.frames")) {
+            start(Integer.getInteger("testfx.frames.buffer", DEFAULT_BUFFER_BYTES),
+                    Integer.getInteger("testfx.frames.maxWidth", DEFAULT_MAX_WIDTH),
+                    Integer.getInteger("testfx.frames.pulses", 0));
+        }
+    }
+
+    /**
+     * Starts the recorder, unless it is already running. The FX toolkit must have been started.
+     *
+     * @param bufferBytes the size of the ring buffer holding the compressed frames
+     * @param maxWidth the width frames are scaled down to if the window is wider
+     * @param everyNPulses record a frame every that many pulses, or only after robot actions if {@code 0}
+     */
+    public static void start(int bufferBytes, int maxWidth, int everyNPulses) {
+        if (bufferBytes <= 0 || maxWidth <= 0 || everyNPulses < 0) {
+            throw new IllegalArgumentException("bufferBytes and maxWidth must be positive and everyNPulses must " +
+                    "not be negative");
+        }
+        synchronized (LOCK) {
+            if (running) {
+                return;
+            }
+            buffer = ByteBuffer.allocateDirect(bufferBytes);
+            clear();
+            FrameRecorder.maxWidth = maxWidth;
+            running = true;
+        }
+        if (everyNPulses > 0) {
+            Platform.runLater(() -> {
+                AnimationTimer timer = new AnimationTimer() {
+                    private int pulses;
+
+                    @Override
+                    public void handle(long nowNanos) {
+                        if (++pulses >= everyNPulses) {
+                            pulses = 0;
+                            recordFrame();
+                        }
+                    }
+                };
+                pulseTimer = timer;
+                timer.start();
+            });
+        }
+    }
+
+    /**
+     * Stops the recorder and releases its buffer, the recorded frames are discarded.
+     */
+    public static void stop() {
+        synchronized (LOCK) {
+            running = false;
+            buffer = null;
+            clear();
+        }
+        Platform.runLater(() -> {
+            if (pulseTimer != null) {
+                pulseTimer.stop();
+                pulseTimer = null;
+            }
+        });
+    }
+
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Forgets all recorded frames, e.g. at the start of a test.
+     */
+    public static void reset() {
+        synchronized (LOCK) {
+            clear();
+        }
+    }
+
+    /**
+     * Records a frame of the registered stage if the recorder is running. When called outside of the "JavaFX
+     * Application Thread" the snapshot is taken asynchronously, so this never blocks the caller.
+     */
+    public static void recordFrame() {
+        if (!running) {
+            return;
+        }
+        if (PENDING_FRAMES.incrementAndGet() > MAX_PENDING_FRAMES) {
+            // the encoder falls behind, skip this frame
+            PENDING_FRAMES.decrementAndGet();
+            return;
+        }
+        if (Platform.isFxApplicationThread()) {
+            captureFrame();
+        } else {
+            Platform.runLater(FrameRecorder::captureFrame);
+        }
+    }
+
+    /**
+     *
+     * @return the number of frames currently held in the buffer
+     */
+    public static int getFrameCount() {
+        synchronized (LOCK) {
+            return FRAMES.size();
+        }
+    }
+
+    /**
+     *
+     * @return the number of bytes the compressed frames currently occupy in the buffer
+     */
+    public static int getBufferedBytes() {
+        synchronized (LOCK) {
+            return usedBytes;
+        }
+    }
+
+    /**
+     * Waits for the frames requested so far to be recorded and saves the last {@code lastFrames} of them as a PNG
+     * sequence ("frame-000.png", "frame-001.png", ...) in the given directory, the oldest frame first.
+     *
+     * @return the paths of the saved frames, empty if the recorder is not running
+     */
+    public static List<Path> dumpFrames(Path directory, int lastFrames) {
+        if (!running) {
+            return Collections.emptyList();
+        }
+        awaitPendingFrames();
+        List<WritableImage> images = decodeFrames(lastFrames);
+        List<Path> paths = new ArrayList<>(images.size());
+        try {
+            Files.createDirectories(directory);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("unable to create directory " + directory.toAbsolutePath(), exception);
+        }
+        for (int i = 0; i < images.size(); i++) {
+            Path path = directory.resolve(String.format("frame-%03d.png", i));
+            FxService.serviceContext().getCaptureSupport().saveImage(images.get(i), path);
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    private static void awaitPendingFrames() {
+        try {
+            if (!Platform.isFxApplicationThread()) {
+                WaitForAsyncUtils.waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> { });
+            }
+            WaitForAsyncUtils.waitFor(RETRIEVAL_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS,
+                    ENCODER.submit(() -> { }));
+        }
+        catch (TimeoutException exception) {
+            // dump the frames recorded so far
+        }
+    }
+
+    private static void captureFrame() {
+        try {
+            Window window = FxToolkit.toolkitContext().getRegisteredStage();
+            Scene scene = window == null ? null : window.getScene();
+            if (!running || scene == null || scene.getRoot() == null || scene.getWidth() < 1 ||
+                    scene.getHeight() < 1) {
+                PENDING_FRAMES.decrementAndGet();
+                return;
+            }
+            double scale = Math.min(1, maxWidth / scene.getWidth());
+            SnapshotParameters parameters = new SnapshotParameters();
+            parameters.setTransform(Transform.scale(scale, scale));
+            parameters.setFill(scene.getFill());
+            WritableImage image = scene.getRoot().snapshot(parameters, null);
+            int width = (int) image.getWidth();
+            int height = (int) image.getHeight();
+            int[] pixels = new int[width * height];
+            image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+            ENCODER.execute(() -> {
+                try {
+                    encode(pixels, width, height);
+                }
+                finally {
+                    PENDING_FRAMES.decrementAndGet();
+                }
+            });
+        }
+        catch (RuntimeException exception) {
+            PENDING_FRAMES.decrementAndGet();
+            System.err.println("Unable to record frame: " + exception);
+        }
+    }
+
+    static void encode(int[] pixels, int width, int height) {
+        synchronized (LOCK) {
+            if (buffer == null) {
+                return;
+            }
+            boolean keyframe = previousPixels == null || width != previousWidth || height != previousHeight ||
+                    framesSinceKeyframe >= KEYFRAME_INTERVAL - 1;
+            byte[] data = compress(pixels, keyframe ? null : previousPixels);
+            if (!makeRoom(data.length, keyframe)) {
+                // the previous frame was evicted, the frame has to be stored without a reference to it
+                keyframe = true;
+                data = compress(pixels, null);
+                makeRoom(data.length, true);
+            }
+            if (data.length > buffer.capacity() - usedBytes) {
+                // larger than the whole buffer
+                previousPixels = null;
+                return;
+            }
+            FRAMES.addLast(new Frame(writePosition, data.length, width, height, keyframe));
+            write(data);
+            previousPixels = pixels;
+            previousWidth = width;
+            previousHeight = height;
+            framesSinceKeyframe = keyframe ? 0 : framesSinceKeyframe + 1;
+        }
+    }
+
+    /**
+     * Evicts whole groups of frames (a keyframe and the frames referring to it), oldest first, until the given
+     * number of bytes fits into the buffer.
+     *
+     * @return {@code false} if the previous frame had to be evicted although the new frame refers to it
+     */
+    private static boolean makeRoom(int bytes, boolean keyframe) {
+        while (!FRAMES.isEmpty() && bytes > buffer.capacity() - usedBytes) {
+            do {
+                usedBytes -= FRAMES.removeFirst().length;
+            } while (!FRAMES.isEmpty() && !FRAMES.peekFirst().keyframe);
+        }
+        if (FRAMES.isEmpty()) {
+            writePosition = 0;
+            usedBytes = 0;
+            return keyframe;
+        }
+        return true;
+    }
+
+    private static void write(byte[] data) {
+        int firstPart = Math.min(data.length, buffer.capacity() - writePosition);
+        ByteBuffer target = buffer.duplicate();
+        target.position(writePosition);
+        target.put(data, 0, firstPart);
+        if (firstPart < data.length) {
+            target.position(0);
+            target.put(data, firstPart, data.length - firstPart);
+        }
+        writePosition = (writePosition + data.length) % buffer.capacity();
+        usedBytes += data.length;
+    }
+
+    private static byte[] read(Frame frame) {
+        byte[] data = new byte[frame.length];
+        int firstPart = Math.min(frame.length, buffer.capacity() - frame.offset);
+        ByteBuffer source = buffer.duplicate();
+        source.position(frame.offset);
+        source.get(data, 0, firstPart);
+        if (firstPart < frame.length) {
+            source.position(0);
+            source.get(data, firstPart, frame.length - firstPart);
+        }
+        return data;
+    }
+
+    /**
+     * Compresses the RGB values of the pixels, XOR-ed with the previous pixels if given, as a sequence of runs: the
+     * number of zero pixels, the number of literal pixels (both as varints) and 3 bytes per literal pixel.
+     */
+    static byte[] compress(int[] pixels, int[] previous) {
+        ByteSink sink = new ByteSink(pixels.length / 8 + 16);
+        int index = 0;
+        while (index < pixels.length) {
+            int zeros = 0;
+            while (index + zeros < pixels.length && delta(pixels, previous, index + zeros) == 0) {
+                zeros++;
+            }
+            int literalStart = index + zeros;
+            int literals = 0;
+            while (literalStart + literals < pixels.length && delta(pixels, previous, literalStart + literals) != 0) {
+                literals++;
+            }
+            sink.writeVarint(zeros);
+            sink.writeVarint(literals);
+            for (int i = literalStart; i < literalStart + literals; i++) {
+                int value = delta(pixels, previous, i);
+                sink.write(value >>> 16);
+                sink.write(value >>> 8);
+                sink.write(value);
+            }
+            index = literalStart + literals;
+        }
+        return sink.toByteArray();
+    }
+
+    /**
+     * Reverses {@link #compress(int[], int[])}, returning opaque ARGB pixels.
+     */
+    static int[] decompress(byte[] data, int[] previous, int pixelCount) {
+        int[] pixels = new int[pixelCount];
+        int[] position = {0};
+        int index = 0;
+        while (position[0] < data.length) {
+            int zeros = readVarint(data, position);
+            int literals = readVarint(data, position);
+            for (int i = index; i < index + zeros; i++) {
+                pixels[i] = previous == null ? 0xFF000000 : previous[i];
+            }
+            index += zeros;
+            for (int i = index; i < index + literals; i++) {
+                int value = (data[position[0]] & 0xFF) << 16 | (data[position[0] + 1] & 0xFF) << 8 |
+                        data[position[0] + 2] & 0xFF;
+                position[0] += 3;
+                pixels[i] = 0xFF000000 | (previous == null ? value : previous[i] ^ value);
+            }
+            index += literals;
+        }
+        return pixels;
+    }
+
+    private static int delta(int[] pixels, int[] previous, int index) {
+        int rgb = pixels[index] & 0xFFFFFF;
+        return previous == null ? rgb : rgb ^ previous[index] & 0xFFFFFF;
+    }
+
+    private static int readVarint(byte[] data, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte next;
+        do {
+            next = data[position[0]++];
+            value |= (next & 0x7F) << shift;
+            shift += 7;
+        } while ((next & 0x80) != 0);
+        return value;
+    }
+
+    static List<WritableImage> decodeFrames(int lastFrames) {
+        synchronized (LOCK) {
+            List<WritableImage> images = new ArrayList<>();
+            int skipped = Math.max(0, FRAMES.size() - lastFrames);
+            int[] pixels = null;
+            int index = 0;
+            for (Frame frame : FRAMES) {
+                pixels = decompress(read(frame), frame.keyframe ? null : pixels, frame.width * frame.height);
+                if (index++ >= skipped) {
+                    WritableImage image = new WritableImage(frame.width, frame.height);
+                    image.getPixelWriter().setPixels(0, 0, frame.width, frame.height,
+                            PixelFormat.getIntArgbInstance(), pixels, 0, frame.width);
+                    images.add(image);
+                }
+            }
+            return images;
+        }
+    }
+
+    private static void clear() {
+        FRAMES.clear();
+        writePosition = 0;
+        usedBytes = 0;
+        previousPixels = null;
+        framesSinceKeyframe = 0;
+    }
+
+    private static final class Frame {
+        private final int offset;
+        private final int length;
+        private final int width;
+        private final int height;
+        private final boolean keyframe;
+
+        private Frame(int offset, int length, int width, int height, boolean keyframe) {
+            this.offset = offset;
+            this.length = length;
+            this.width = width;
+            this.height = height;
+            this.keyframe = keyframe;
+        }
+    }
+
+    private static final class ByteSink {
+        private byte[] bytes;
+        private int size;
+
+        private ByteSink(int initialCapacity) {
+            bytes = new byte[initialCapacity];
+        }
+
+        private void write(int value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write(value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * A watchdog for the "JavaFX Application Thread" that helps telling a slow application apart from TestFX
+ * overhead when a test times out waiting for the FX thread.
+ * <p>
+ * While running, the watchdog records:
+ * <ul>
+ * <li>the interval between consecutive pulses (about 16ms when the FX thread is idle),
+ * <li>the duration of each task run with one of the {@code asyncFx} methods of {@link WaitForAsyncUtils},
+ * <li>the FX busy time, i.e. how long a heartbeat task posted every {@value #HEARTBEAT_INTERVAL_IN_MILLIS}ms
+ * with {@link Platform#runLater(Runnable)} waits until it runs.
+ * </ul>
+ * If a heartbeat waits longer than the stall threshold, a stack sample of the FX thread is taken. The
+ * histograms and the most recent stalls are returned by {@link #report()}; they are also added to the message of
+ * the exception thrown when one of the {@code waitForAsyncFx} methods times out and can be added to failing
+ * assertions with {@link DebugUtils#showFxThreadWatchdogReport()}.
+ * <p>
+ * The watchdog is started with {@link #start(long)} or by setting the system property {@code testfx.watchdog} to
+ * {@code true} (the stall threshold then defaults to {@code testfx.watchdog.threshold} or 250ms) before the
+ * primary stage is registered.
+ */
+public final class FxThreadWatchdog {
+
+    static final long HEARTBEAT_INTERVAL_IN_MILLIS = 50;
+    private static final long DEFAULT_STALL_THRESHOLD_IN_MILLIS = 250;
+    private static final int MAX_STALLS = 5;
+    private static final int MAX_STACK_DEPTH = 25;
+
+    private static final Histogram PULSE_INTERVALS = new Histogram();
+    private static final Histogram FX_TASKS = new Histogram();
+    private static final Histogram FX_BUSY_TIMES = new Histogram();
+    private static final Deque<Stall> STALLS = new ArrayDeque<>();
+
+    private static volatile Thread heartbeatThread;
+    private static volatile AnimationTimer pulseTimer;
+    private static volatile Thread fxThread;
+
+    private FxThreadWatchdog() {}
+
+    /**
+     * Starts the watchdog if the system property {@code testfx.watchdog} is set to {@code true}.
+     */
+    public static void startIfEnabled() {
+        if (Boolean.getBoolean("testfx.watchdog")) {
+            start(Long.getLong("testfx.watchdog.threshold", DEFAULT_STALL_THRESHOLD_IN_MILLIS));
+        }
+    }
+
+    /**
+     * Starts the watchdog, unless it is already running. The FX toolkit must have been started.
+     *
+     * @param stallThresholdInMillis how long a heartbeat must wait before the FX thread is considered stalled
+     */
+    public static synchronized void start(long stallThresholdInMillis) {
+        if (isRunning()) {
+            return;
+        }
+        Thread thread = new Thread(() -> runHeartbeats(stallThresholdInMillis), "testfx-fx-thread-watchdog");
+        thread.setDaemon(true);
+        heartbeatThread = thread;
+        thread.start();
+        Platform.runLater(() -> {
+            AnimationTimer timer = new AnimationTimer() {
+                private long lastPulseNanos;
+
+                @Override
+                public void handle(long nowNanos) {
+                    if (lastPulseNanos != 0) {
+                        PULSE_INTERVALS.record(nowNanos - lastPulseNanos);
+                    }
+                    lastPulseNanos = nowNanos;
+                }
+            };
+            pulseTimer = timer;
+            timer.start();
+        });
+    }
+
+    /**
+     * Stops the watchdog. The recorded data is kept until {@link #reset()} is called.
+     */
+    public static synchronized void stop() {
+        Thread thread = heartbeatThread;
+        heartbeatThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        Platform.runLater(() -> {
+            if (pulseTimer != null) {
+                pulseTimer.stop();
+                pulseTimer = null;
+            }
+        });
+    }
+
+    public static boolean isRunning() {
+        return heartbeatThread != null;
+    }
+
+    /**
+     * Forgets all recorded data, e.g. at the start of a test.
+     */
+    public static void reset() {
+        PULSE_INTERVALS.reset();
+        FX_TASKS.reset();
+        FX_BUSY_TIMES.reset();
+        synchronized (STALLS) {
+            STALLS.clear();
+        }
+    }
+
+    /**
+     *
+     * @return the number of stalls recorded since the last {@link #reset()}
+     */
+    public static int getStallCount() {
+        synchronized (STALLS) {
+            return STALLS.size();
+        }
+    }
+
+    /**
+     * Returns the histograms of the pulse intervals, {@code asyncFx} task durations and FX busy times as well as
+     * the stack samples of the most recent stalls.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("FX thread watchdog:");
+        report.append("\n  pulse intervals:      ").append(PULSE_INTERVALS);
+        report.append("\n  asyncFx task times:   ").append(FX_TASKS);
+        report.append("\n  FX busy times:        ").append(FX_BUSY_TIMES);
+        synchronized (STALLS) {
+            for (Stall stall : STALLS) {
+                report.append("\n  ").append(stall);
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Called by {@link WaitForAsyncUtils} after an {@code asyncFx} task has run.
+     */
+    static void recordFxTask(long durationNanos) {
+        if (isRunning()) {
+            FX_TASKS.record(durationNanos);
+        }
+    }
+
+    private static void runHeartbeats(long stallThresholdInMillis) {
+        Thread currentThread = Thread.currentThread();
+        try {
+            while (heartbeatThread == currentThread) {
+                CountDownLatch heartbeat = new CountDownLatch(1);
+                long postedNanos = System.nanoTime();
+                Platform.runLater(() -> {
+                    fxThread = Thread.currentThread();
+                    heartbeat.countDown();
+                });
+                if (!heartbeat.await(stallThresholdInMillis, TimeUnit.MILLISECONDS)) {
+                    Thread sampledThread = fxThread;
+                    StackTraceElement[] stackSample = sampledThread != null ?
+                            sampledThread.getStackTrace() : new StackTraceElement[0];
+                    heartbeat.await();
+                    addStall(new Stall(System.nanoTime() - postedNanos, stackSample));
+                }
+                FX_BUSY_TIMES.record(System.nanoTime() - postedNanos);
+                Thread.sleep(HEARTBEAT_INTERVAL_IN_MILLIS);
+            }
+        }
+        catch (InterruptedException ignore) {
+            // stopped
+        }
+    }
+
+    private static void addStall(Stall stall) {
+        synchronized (STALLS) {
+            if (STALLS.size() == MAX_STALLS) {
+                STALLS.removeFirst();
+            }
+            STALLS.addLast(stall);
+        }
+    }
+
+    private static final class Stall {
+
+        private final long durationNanos;
+        private final StackTraceElement[] stackSample;
+
+        private Stall(long durationNanos, StackTraceElement[] stackSample) {
+            this.durationNanos = durationNanos;
+            this.stackSample = stackSample;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder stall = new StringBuilder("stall of ")
+                    .append(TimeUnit.NANOSECONDS.toMillis(durationNanos)).append("ms, FX thread was at:");
+            for (int i = 0; i < Math.min(stackSample.length, MAX_STACK_DEPTH); i++) {
+                stall.append("\n\tat ").append(stackSample[i]);
+            }
+            if (stackSample.length > MAX_STACK_DEPTH) {
+                stall.append("\n\t...");
+            }
+            return stall.toString();
+        }
+
+    }
+
+    /**
+     * A lock-free histogram of durations with fixed millisecond buckets.
+     */
+    private static final class Histogram {
+
+        private static final long[] BUCKET_LIMITS_IN_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_LIMITS_IN_MILLIS.length + 1);
+
+        private void record(long durationNanos) {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+            int bucket = 0;
+            while (bucket < BUCKET_LIMITS_IN_MILLIS.length && durationMillis >= BUCKET_LIMITS_IN_MILLIS[bucket]) {
+                bucket++;
+            }
+            counts.incrementAndGet(bucket);
+        }
+
+        private void reset() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+        }
+
+        @Override
+        public String toString() {
+            List<String> buckets = new ArrayList<>();
+            for (int i = 0; i < counts.length(); i++) {
+                long count = counts.get(i);
+                if (count > 0) {
+                    String limit = i < BUCKET_LIMITS_IN_MILLIS.length ?
+                            "<" + BUCKET_LIMITS_IN_MILLIS[i] : ">=" + BUCKET_LIMITS_IN_MILLIS[i - 1];
+                    buckets.add(limit + "ms: " + count);
+                }
+            }
+            return buckets.isEmpty() ? "(none)" : String.join(", ", buckets);
+        }
+
+    }
+
+}
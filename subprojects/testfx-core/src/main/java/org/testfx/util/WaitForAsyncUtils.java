@@ -20,10 +20,8 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Objects;
-import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,11 +31,15 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableBooleanValue;
 
+import org.testfx.internal.FlightRecorderAdapter;
+import org.testfx.internal.FlightRecorderAdapter.EventKind;
+
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
@@ -75,7 +77,8 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  * these exceptions. The exceptions will be in the stack, until they are handled
  * somewhere in the application. If the field {@code autoCheckException} is set to
  * {@literal true}, any subsequent calls to one of the {@code async} methods will
- * throw one of those exceptions.
+ * throw one of those exceptions. Tests that run concurrently can keep their exceptions
+ * apart by collecting them in their own {@link ExceptionSink}.
  */
 public final class WaitForAsyncUtils {
 
@@ -83,7 +86,8 @@ public final class WaitForAsyncUtils {
     private static final long SEMAPHORE_SLEEP_IN_MILLIS = 10;
     private static final int SEMAPHORE_LOOPS_COUNT = 5;
     private static final ExecutorService EXECUTOR_SERVICE = Executors.newCachedThreadPool(new DefaultThreadFactory());
-    private static final Queue<Throwable> EXCEPTIONS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<int[]> DEFERRED_ATTEMPTS_COUNT = new ThreadLocal<>();
+    private static final AtomicInteger PENDING_FX_TASKS = new AtomicInteger();
 
     /**
      * If {@literal true} any exceptions encountered during execution of the
@@ -232,7 +236,7 @@ public final class WaitForAsyncUtils {
             checkExceptionWrapped();
         }
         ASyncFXCallable<Void> call = new ASyncFXCallable<>(runnable, true);
-        runOnFxThread(call);
+        scheduleOnFxThread(call);
         return call;
     }
 
@@ -254,7 +258,7 @@ public final class WaitForAsyncUtils {
             checkExceptionWrapped();
         }
         ASyncFXCallable<T> call = new ASyncFXCallable<>(callable, true);
-        runOnFxThread(call);
+        scheduleOnFxThread(call);
         return call;
     }
 
@@ -267,6 +271,7 @@ public final class WaitForAsyncUtils {
      * @return the result of the {@code Future}
      */
     public static <T> T waitFor(Future<T> future) {
+        Object event = FlightRecorderAdapter.begin(EventKind.WAIT_FOR);
         try {
             return future.get();
         }
@@ -278,6 +283,9 @@ public final class WaitForAsyncUtils {
             // if the current thread was interrupted while waiting.
             return null;
         }
+        finally {
+            FlightRecorderAdapter.commit(event, "future", PENDING_FX_TASKS.get());
+        }
     }
 
     /**
@@ -292,6 +300,7 @@ public final class WaitForAsyncUtils {
      * @throws TimeoutException if the wait timed out
      */
     public static <T> T waitFor(long timeout, TimeUnit timeUnit, Future<T> future) throws TimeoutException {
+        Object event = FlightRecorderAdapter.begin(EventKind.WAIT_FOR);
         try {
             return future.get(timeout, timeUnit);
         }
@@ -303,6 +312,9 @@ public final class WaitForAsyncUtils {
             // if the current thread was interrupted while waiting.
             return null;
         }
+        finally {
+            FlightRecorderAdapter.commit(event, "future", PENDING_FX_TASKS.get());
+        }
     }
 
     /**
@@ -317,13 +329,19 @@ public final class WaitForAsyncUtils {
      */
     public static void waitFor(long timeout, TimeUnit timeUnit, Callable<Boolean> condition)
             throws TimeoutException {
-        Instant start = Instant.now();
-        while (!callConditionAndReturnResult(condition)) {
-            sleep(CONDITION_SLEEP_IN_MILLIS, MILLISECONDS);
-            if (Duration.between(start, Instant.now()).compareTo(Duration.of(timeout, chronoUnit(timeUnit))) >= 0) {
-                throw new TimeoutException();
+        Object event = FlightRecorderAdapter.begin(EventKind.WAIT_FOR);
+        try {
+            Instant start = Instant.now();
+            while (!callConditionAndReturnResult(condition)) {
+                sleep(CONDITION_SLEEP_IN_MILLIS, MILLISECONDS);
+                if (Duration.between(start, Instant.now()).compareTo(Duration.of(timeout, chronoUnit(timeUnit))) >= 0) {
+                    throw new TimeoutException();
+                }
             }
         }
+        finally {
+            FlightRecorderAdapter.commit(event, "condition", PENDING_FX_TASKS.get());
+        }
     }
 
     /**
@@ -366,12 +384,51 @@ public final class WaitForAsyncUtils {
      * @param attemptsCount the number of attempts to try
      */
     public static void waitForFxEvents(int attemptsCount) {
-        for (int attempt = 0; attempt < attemptsCount; attempt++) {
-            blockFxThreadWithSemaphore();
-            sleep(SEMAPHORE_SLEEP_IN_MILLIS, MILLISECONDS);
+        int[] deferredAttemptsCount = DEFERRED_ATTEMPTS_COUNT.get();
+        if (deferredAttemptsCount != null) {
+            deferredAttemptsCount[0] = Math.max(deferredAttemptsCount[0], attemptsCount);
+            return;
+        }
+        Object event = FlightRecorderAdapter.begin(EventKind.WAIT_FOR_FX_EVENTS);
+        int queueDepth = PENDING_FX_TASKS.get();
+        try {
+            for (int attempt = 0; attempt < attemptsCount; attempt++) {
+                blockFxThreadWithSemaphore();
+                sleep(SEMAPHORE_SLEEP_IN_MILLIS, MILLISECONDS);
+            }
+        }
+        finally {
+            FlightRecorderAdapter.commit(event, attemptsCount + " attempts", queueDepth);
         }
     }
 
+    /**
+     * Runs the given {@link Runnable} on the current thread with all calls to {@link #waitForFxEvents()} and
+     * {@link #waitForFxEvents(int)} made by that thread deferred until the {@code Runnable} returns. This lets
+     * a sequence of low-level robot events (e.g. pressing and releasing a key chord) be sent back-to-back,
+     * followed by exactly one wait for the event queue of the "JavaFX Application Thread".
+     * <p>
+     * The final wait uses the largest {@code attemptsCount} requested inside the scope and is skipped if the
+     * {@code Runnable} throws. Nested calls join the outermost scope.
+     *
+     * @param runnable the {@code Runnable} to run
+     */
+    public static void deferFxEventsWaits(Runnable runnable) {
+        if (DEFERRED_ATTEMPTS_COUNT.get() != null) {
+            runnable.run();
+            return;
+        }
+        int[] deferredAttemptsCount = new int[] {SEMAPHORE_LOOPS_COUNT};
+        DEFERRED_ATTEMPTS_COUNT.set(deferredAttemptsCount);
+        try {
+            runnable.run();
+        }
+        finally {
+            DEFERRED_ATTEMPTS_COUNT.remove();
+        }
+        waitForFxEvents(deferredAttemptsCount[0]);
+    }
+
     /**
      * Sleeps the current thread for the given duration.
      *
@@ -444,23 +501,39 @@ public final class WaitForAsyncUtils {
 
     /**
      * Checks if an exception in an async task occurred that has not been checked currently.
-     * If so, the first exception will be removed and thrown by this method.
+     * If so, the first exception will be removed and thrown by this method. Only the
+     * {@link ExceptionSink#current() exception sink} of the calling thread is checked. The FX events
+     * are only waited for if tasks scheduled by this sink with one of the {@code asyncFx} methods have
+     * not finished yet.
      *
      * @throws Throwable if an exception has occurred in an async task
      */
     public static void checkException() throws Throwable {
-        waitForFxEvents();
-        Throwable throwable = getCheckException();
+        ExceptionSink sink = ExceptionSink.current();
+        if (sink.hasPendingFxTasks()) {
+            waitForFxEvents();
+        }
+        Throwable throwable = getCheckException(sink);
         if (throwable != null) {
             throw throwable;
         }
     }
 
     /**
-     * Clears all unhandled exceptions.
+     * Clears all unhandled exceptions of the {@link ExceptionSink#current() exception sink} of the calling thread.
      */
     public static void clearExceptions() {
-        EXCEPTIONS.clear();
+        ExceptionSink.current().clear();
+    }
+
+    /**
+     * Returns the number of tasks scheduled with one of the {@code asyncFx} methods that have not started
+     * running on the "JavaFX Application Thread" yet.
+     *
+     * @return the number of pending {@code asyncFx} tasks
+     */
+    public static int getPendingFxTasksCount() {
+        return PENDING_FX_TASKS.get();
     }
 
     /**
@@ -478,7 +551,7 @@ public final class WaitForAsyncUtils {
                 printException(throwable, null);
             }
             // Add exception to stack of occurred exceptions
-            EXCEPTIONS.add(new RuntimeException(throwable));
+            ExceptionSink.current().add(new RuntimeException(throwable));
         }
     }
 
@@ -487,7 +560,7 @@ public final class WaitForAsyncUtils {
      * of the Exceptions.
      */
     private static void checkExceptionWrapped() {
-        Throwable throwable = getCheckException();
+        Throwable throwable = getCheckException(ExceptionSink.current());
         if (throwable instanceof RuntimeException) {
             if (TRACE_FETCH) {
                 printException(throwable, Thread.currentThread().getStackTrace());
@@ -504,9 +577,9 @@ public final class WaitForAsyncUtils {
      *
      * @return the exception or {@literal null} if none in stack
      */
-    private static Throwable getCheckException() {
-        if (EXCEPTIONS.peek() != null) {
-            Throwable throwable = EXCEPTIONS.poll();
+    private static Throwable getCheckException(ExceptionSink sink) {
+        Throwable throwable = sink.poll();
+        if (throwable != null) {
             StackTraceElement stackTraceElement = new StackTraceElement(WaitForAsyncUtils.class.getName(),
                     "---- Delayed Exception: (See Trace Below) ----",
                     WaitForAsyncUtils.class.getSimpleName() + ".java", 0);
@@ -525,10 +598,25 @@ public final class WaitForAsyncUtils {
             return waitFor(millis, MILLISECONDS, future);
         }
         catch (TimeoutException exception) {
+            if (FxThreadWatchdog.isRunning()) {
+                throw new RuntimeException(FxThreadWatchdog.report(), exception);
+            }
             throw new RuntimeException(exception);
         }
     }
 
+    private static void scheduleOnFxThread(ASyncFXCallable<?> call) {
+        call.fxTaskScheduled();
+        try {
+            runOnFxThread(call);
+        }
+        catch (RuntimeException exception) {
+            // e.g. the toolkit is not initialized, the task will never run
+            call.fxTaskDropped();
+            throw exception;
+        }
+    }
+
     private static void runOnFxThread(Runnable runnable) {
         if (Platform.isFxApplicationThread()) {
             runnable.run();
@@ -631,6 +719,21 @@ public final class WaitForAsyncUtils {
          */
         private final StackTraceElement[] trace;
 
+        /**
+         * The name of the thread that created this task.
+         */
+        private final String originThread;
+
+        /**
+         * The sink of the thread that created this task.
+         */
+        private final ExceptionSink sink;
+
+        /**
+         * Whether this task has been scheduled with {@code asyncFx} and is not counted as running or dropped yet.
+         */
+        private final AtomicBoolean fxTaskPending = new AtomicBoolean();
+
         /**
          * The unhandled exception.
          */
@@ -640,12 +743,62 @@ public final class WaitForAsyncUtils {
             super(runnable, null);
             this.throwException = throwException;
             trace = Thread.currentThread().getStackTrace();
+            originThread = Thread.currentThread().getName();
+            sink = ExceptionSink.current();
         }
 
         public ASyncFXCallable(Callable<X> callable, boolean throwException) {
             super(callable);
             this.throwException = throwException;
             trace = Thread.currentThread().getStackTrace();
+            originThread = Thread.currentThread().getName();
+            sink = ExceptionSink.current();
+        }
+
+        void fxTaskScheduled() {
+            fxTaskPending.set(true);
+            PENDING_FX_TASKS.incrementAndGet();
+            sink.fxTaskScheduled();
+        }
+
+        /**
+         * Stops counting this task as pending if it was scheduled with {@code asyncFx} and has neither started
+         * running nor been dropped before.
+         */
+        void fxTaskDropped() {
+            if (fxTaskPending.compareAndSet(true, false)) {
+                PENDING_FX_TASKS.decrementAndGet();
+                sink.fxTaskFinished();
+            }
+        }
+
+        @Override
+        public void run() {
+            // Tasks running on the FX application thread were scheduled by asyncFx.
+            boolean fxTask = Platform.isFxApplicationThread();
+            // a cancelled task has already been dropped and must not be counted twice
+            boolean counted = fxTaskPending.compareAndSet(true, false);
+            int queueDepth = counted ? PENDING_FX_TASKS.decrementAndGet() : PENDING_FX_TASKS.get();
+            Object event = FlightRecorderAdapter.begin(fxTask ? EventKind.ASYNC_FX : EventKind.ASYNC);
+            long startNanos = System.nanoTime();
+            super.run();
+            if (fxTask) {
+                FxThreadWatchdog.recordFxTask(System.nanoTime() - startNanos);
+            }
+            if (counted) {
+                sink.fxTaskFinished();
+            }
+            FlightRecorderAdapter.commit(event, fxTask ? "asyncFx" : "async", queueDepth, originThread);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                // the FX application thread skips cancelled tasks, so they would stay pending forever
+                fxTaskDropped();
+            }
+            return cancelled;
         }
 
         /**
@@ -659,7 +812,7 @@ public final class WaitForAsyncUtils {
                 }
                 exception = transformException(throwable);
                 // Add exception to stack of occurred exceptions
-                EXCEPTIONS.add(exception);
+                sink.add(exception);
             }
             super.setException(throwable);
         }
@@ -696,7 +849,7 @@ public final class WaitForAsyncUtils {
             }
             catch (Exception e) { // exception is thrown to caller, so remove it from stack
                 if (exception != null) {
-                    EXCEPTIONS.remove(exception);
+                    sink.remove(exception);
                     exception = null;
                 }
                 if (TRACE_FETCH) {
@@ -714,7 +867,7 @@ public final class WaitForAsyncUtils {
             }
             catch (Exception e) { // exception is thrown to caller, so remove it from stack
                 if (exception != null) {
-                    EXCEPTIONS.remove(exception);
+                    sink.remove(exception);
                     exception = null;
                 }
                 throw e;
@@ -16,21 +16,36 @@
  */
 package org.testfx.cases.acceptance;
 
+import java.util.concurrent.TimeUnit;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringExpression;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.Labeled;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.testfx.TestFXRule;
+import org.testfx.api.EventualVerification;
+import org.testfx.api.FxAssert;
 import org.testfx.cases.TestCaseBase;
 import org.testfx.service.query.EmptyNodeQueryException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.not;
 import static org.testfx.api.FxAssert.verifyThat;
+import static org.testfx.api.FxAssert.verifyThatEventually;
 import static org.testfx.api.FxToolkit.setupApplication;
 import static org.testfx.matcher.base.NodeMatchers.isDisabled;
 import static org.testfx.matcher.base.NodeMatchers.isEnabled;
@@ -103,6 +118,127 @@ public class FxAssertBasicTest extends TestCaseBase {
         verifyThat("#button", not(hasText("clicked!")), informedErrorMessage(this));
     }
 
+    @Test
+    public void verify_all_passes() {
+        FxAssert.verifyAll()
+            .that("#button", isVisible())
+            .that("#button", isEnabled())
+            .that("#button", hasText("click me!"))
+            .verify(informedErrorMessage(this));
+    }
+
+    @Test
+    public void verify_all_reports_every_failure() {
+        // when:
+        interact(() -> lookup("#button").query().setDisable(true));
+
+        // then:
+        assertThatThrownBy(() -> FxAssert.verifyAll()
+            .that("#button", isEnabled())
+            .that("#button", isVisible())
+            .that("#button", hasText("clicked!"))
+            .that("#missing", isNotNull())
+            .verify())
+            .isExactlyInstanceOf(AssertionError.class)
+            .hasMessageStartingWith("3 of 4 verifications failed:\n\n1) Expected: Node is enabled")
+            .hasMessageContaining("\n\n2) Expected: Labeled has text \"clicked!\"")
+            .hasMessageContaining("\n\n3) org.testfx.service.query.EmptyNodeQueryException");
+    }
+
+    @Test
+    public void verify_that_eventually_passes_after_pulses() {
+        // given:
+        Button button = lookup("#button").query();
+
+        // when:
+        interact(() -> {
+            PauseTransition delay = new PauseTransition(Duration.millis(200));
+            delay.setOnFinished(event -> button.setText("clicked!"));
+            delay.play();
+        });
+
+        // then:
+        EventualVerification<Labeled> verification = verifyThatEventually("#button", hasText("clicked!"),
+            5, TimeUnit.SECONDS);
+        assertThat(verification.getEvaluations()).isGreaterThan(1);
+        assertThat(verification.getLatency(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    public void verify_that_eventually_passes_after_invalidation() {
+        // given:
+        Button button = lookup("#button").query();
+
+        // when:
+        interact(() -> {
+            PauseTransition delay = new PauseTransition(Duration.millis(200));
+            delay.setOnFinished(event -> button.setText("clicked!"));
+            delay.play();
+        });
+
+        // then:
+        EventualVerification<Labeled> verification = verifyThatEventually(button, hasText("clicked!"),
+            5, TimeUnit.SECONDS, button.textProperty());
+        assertThat(verification.getEvaluations()).isEqualTo(2);
+    }
+
+    @Test
+    public void verify_that_eventually_passes_after_repeated_invalidation_of_binding() {
+        // given:
+        Button button = lookup("#button").query();
+        StringExpression buttonText = Bindings.concat(button.textProperty());
+
+        // when:
+        interact(() -> new Timeline(
+            new KeyFrame(Duration.millis(100), event -> button.setText("clicking...")),
+            new KeyFrame(Duration.millis(200), event -> button.setText("clicked!"))).play());
+
+        // then:
+        EventualVerification<Labeled> verification = verifyThatEventually(button, hasText("clicked!"),
+            5, TimeUnit.SECONDS, buttonText);
+        assertThat(verification.getEvaluations()).isEqualTo(3);
+    }
+
+    @Test
+    public void verify_that_eventually_fails() {
+        assertThatThrownBy(() -> verifyThatEventually("#button", hasText("clicked!"), 300, TimeUnit.MILLISECONDS))
+            .isExactlyInstanceOf(AssertionError.class)
+            .hasMessageStartingWith("\nExpected: Labeled has text \"clicked!\" within 300 milliseconds\n     " +
+                "but: was \"click me!\"\n(evaluated ");
+    }
+
+    @Test
+    public void verify_that_eventually_fails_with_mapped_error_message() {
+        assertThatThrownBy(() -> verifyThatEventually("#button", hasText("clicked!"), 100, TimeUnit.MILLISECONDS,
+            sb -> sb.insert(0, "button was not clicked")))
+            .isExactlyInstanceOf(AssertionError.class)
+            .hasMessageStartingWith("button was not clicked\nExpected: Labeled has text \"clicked!\"");
+    }
+
+    @Test
+    public void verify_that_eventually_fails_right_away_if_matcher_throws() {
+        // given:
+        Matcher<Labeled> throwingMatcher = new TypeSafeMatcher<Labeled>() {
+            @Override
+            protected boolean matchesSafely(Labeled labeled) {
+                throw new UnsupportedOperationException("broken matcher");
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("broken");
+            }
+        };
+
+        // then:
+        long startMillis = System.currentTimeMillis();
+        assertThatThrownBy(() -> verifyThatEventually("#button", throwingMatcher, 5, TimeUnit.SECONDS))
+            .isExactlyInstanceOf(AssertionError.class)
+            .hasMessageContaining("but: matcher threw java.lang.UnsupportedOperationException: broken matcher")
+            .hasCauseExactlyInstanceOf(UnsupportedOperationException.class);
+        assertThat(System.currentTimeMillis() - startMillis).isLessThan(5000);
+    }
+
     public static class DemoApplication extends Application {
         @Override
         public void start(Stage stage) {
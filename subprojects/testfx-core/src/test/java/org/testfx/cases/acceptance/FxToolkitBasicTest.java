@@ -25,9 +25,11 @@ import org.junit.Test;
 import org.testfx.TestFXRule;
 import org.testfx.api.FxToolkit;
 import org.testfx.cases.TestCaseBase;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.testfx.api.FxAssert.verifyThat;
 
 public class FxToolkitBasicTest extends TestCaseBase {
@@ -115,4 +117,35 @@ public class FxToolkitBasicTest extends TestCaseBase {
         verifyThat(stage.isShowing(), is(false));
     }
 
+    @Test
+    public void isFXApplicationThreadRunning_should_check_the_known_thread() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        Thread fxApplicationThread = WaitForAsyncUtils.asyncFx(Thread::currentThread).get();
+        FxToolkit.toolkitContext().setFxApplicationThread(new Thread());
+
+        try {
+            // expect:
+            verifyThat(FxToolkit.isFXApplicationThreadRunning(), is(false));
+        }
+        finally {
+            FxToolkit.toolkitContext().setFxApplicationThread(fxApplicationThread);
+        }
+    }
+
+    @Test
+    public void isFXApplicationThreadRunning_should_find_and_remember_an_unknown_thread() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        Thread fxApplicationThread = WaitForAsyncUtils.asyncFx(Thread::currentThread).get();
+        FxToolkit.toolkitContext().setFxApplicationThread(null);
+
+        // when:
+        boolean running = FxToolkit.isFXApplicationThreadRunning();
+
+        // then:
+        verifyThat(running, is(true));
+        verifyThat(FxToolkit.toolkitContext().getFxApplicationThread(), is(sameInstance(fxApplicationThread)));
+    }
+
 }
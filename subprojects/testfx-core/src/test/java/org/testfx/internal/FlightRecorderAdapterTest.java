@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.internal;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assume.assumeThat;
+
+/**
+ * Records the TestFX events with the flight recorder. The JFR API is used reflectively as TestFX is built with
+ * Java 8, the test is skipped if the running JDK has no flight recorder.
+ */
+public class FlightRecorderAdapterTest {
+
+    @Rule(order = 0)
+    public TestRule rule = new TestFXRule();
+    @Rule(order = 1)
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void emits_wait_and_async_fx_events() throws Exception {
+        // given:
+        assumeThat("skipping: no flight recorder available", isFlightRecorderAvailable(), is(true));
+        Object recording = Class.forName("jdk.jfr.Recording").getConstructor().newInstance();
+        recording.getClass().getMethod("enable", String.class).invoke(recording, "org.testfx.WaitForFxEvents");
+        recording.getClass().getMethod("enable", String.class).invoke(recording, "org.testfx.AsyncFx");
+        recording.getClass().getMethod("start").invoke(recording);
+
+        // when:
+        WaitForAsyncUtils.waitForAsyncFx(1000, () -> { });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        recording.getClass().getMethod("stop").invoke(recording);
+        Path file = testFolder.newFile("testfx.jfr").toPath();
+        recording.getClass().getMethod("dump", Path.class).invoke(recording, file);
+        recording.getClass().getMethod("close").invoke(recording);
+        List<String> eventNames = readEventNames(file);
+        assertThat(eventNames, hasItem("org.testfx.WaitForFxEvents"));
+        assertThat(eventNames, hasItem("org.testfx.AsyncFx"));
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Recording");
+            Class.forName("jdk.jfr.consumer.RecordingFile");
+            return !"false".equals(System.getProperty("testfx.jfr"));
+        }
+        catch (ClassNotFoundException exception) {
+            return false;
+        }
+    }
+
+    private static List<String> readEventNames(Path file) throws ReflectiveOperationException {
+        List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class).invoke(null, file);
+        return events.stream().map(FlightRecorderAdapterTest::eventName).collect(Collectors.toList());
+    }
+
+    private static String eventName(Object recordedEvent) {
+        try {
+            Object eventType = recordedEvent.getClass().getMethod("getEventType").invoke(recordedEvent);
+            return (String) eventType.getClass().getMethod("getName").invoke(eventType);
+        }
+        catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
@@ -16,6 +16,7 @@
  */
 package org.testfx.matcher.base;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import javafx.application.Platform;
@@ -28,6 +29,7 @@ import javafx.scene.layout.StackPane;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.rules.TestRule;
 import org.testfx.TestFXRule;
 import org.testfx.api.FxToolkit;
@@ -35,17 +37,21 @@ import org.testfx.cases.TestCaseBase;
 import org.testfx.matcher.control.LabeledMatchers;
 import org.testfx.matcher.control.TextInputControlMatchers;
 import org.testfx.service.query.NodeQuery;
+import org.testfx.service.support.SceneGraphSnapshot;
 import org.testfx.util.WaitForAsyncUtils;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsIterableContaining.hasItem;
 
 public class NodeMatchersTest extends TestCaseBase {
 
-    @Rule
+    @Rule(order = 0)
     public TestRule rule = new TestFXRule();
+    @Rule(order = 1)
+    public TemporaryFolder testFolder = new TemporaryFolder();
 
     TextField textField;
     TextField textField2;
@@ -196,4 +202,60 @@ public class NodeMatchersTest extends TestCaseBase {
                 .hasMessageStartingWith("\nExpected: Node has 2 children \".button\"\n");
     }
 
+    @Test
+    public void matchesSnapshot() throws Exception {
+        // given:
+        Node parent = FxToolkit.setupFixture(() -> new StackPane(new Label("foo"), new Button("bar")));
+        SceneGraphSnapshot expected = SceneGraphSnapshot.capture(parent);
+
+        // then:
+        assertThat(parent, NodeMatchers.matchesSnapshot(expected));
+    }
+
+    @Test
+    public void matchesSnapshot_fails() throws Exception {
+        // given:
+        Node parent = FxToolkit.setupFixture(() -> new StackPane(new Label("foo"), new Button("bar")));
+        SceneGraphSnapshot expected = SceneGraphSnapshot.capture(parent);
+        Node other = FxToolkit.setupFixture(() -> new StackPane(new Label("foo"), new Button("baz")));
+
+        // then:
+        assertThatThrownBy(() -> assertThat(other, NodeMatchers.matchesSnapshot(expected)))
+                .isExactlyInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("\nExpected: Node matches snapshot\n")
+                .hasMessageContaining("/StackPane/Button[1]: expected text \"bar\" but was \"baz\"");
+    }
+
+    @Test
+    public void matchesGoldenSnapshot_fails_for_missing_golden_file() throws Exception {
+        // given:
+        Node parent = FxToolkit.setupFixture(() -> new StackPane(new Label("foo")));
+        Path goldenFile = testFolder.getRoot().toPath().resolve("missing.snapshot");
+
+        // then:
+        assertThatThrownBy(() -> assertThat(parent, NodeMatchers.matchesGoldenSnapshot(goldenFile)))
+                .isExactlyInstanceOf(AssertionError.class)
+                .hasMessageContaining("golden snapshot not found");
+        assertThat(goldenFile.toFile().exists(), is(false));
+    }
+
+    @Test
+    public void matchesGoldenSnapshot_writes_golden_file_when_updating() throws Exception {
+        // given:
+        Node parent = FxToolkit.setupFixture(() -> new StackPane(new Label("foo")));
+        Path goldenFile = testFolder.getRoot().toPath().resolve("golden.snapshot");
+
+        // when:
+        System.setProperty("testfx.snapshot.update", "true");
+        try {
+            assertThat(parent, NodeMatchers.matchesGoldenSnapshot(goldenFile));
+        }
+        finally {
+            System.clearProperty("testfx.snapshot.update");
+        }
+
+        // then:
+        assertThat(parent, NodeMatchers.matchesGoldenSnapshot(goldenFile));
+    }
+
 }
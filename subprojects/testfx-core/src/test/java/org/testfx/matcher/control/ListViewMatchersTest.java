@@ -16,8 +16,10 @@
  */
 package org.testfx.matcher.control;
 
+import java.util.Locale;
 import javafx.application.Platform;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
 import javafx.scene.layout.StackPane;
 
@@ -33,6 +35,7 @@ import org.testfx.util.WaitForAsyncUtils;
 
 import static javafx.collections.FXCollections.observableArrayList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class ListViewMatchersTest extends FxRobot {
@@ -63,6 +66,77 @@ public class ListViewMatchersTest extends FxRobot {
         assertThat(listView, ListViewMatchers.hasListCell("alice"));
     }
 
+    @Test
+    public void hasListItem_outside_of_viewport() {
+        // given:
+        Platform.runLater(() -> {
+            for (int i = 0; i < 1000; i++) {
+                listView.getItems().add("item " + i);
+            }
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(listView, ListViewMatchers.hasListItem("item 999"));
+        assertThat(listView, not(ListViewMatchers.hasListCell("item 999")));
+    }
+
+    @Test
+    public void hasListItem_with_scroll_to() {
+        // given:
+        Platform.runLater(() -> {
+            for (int i = 0; i < 1000; i++) {
+                listView.getItems().add("item " + i);
+            }
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // when:
+        assertThat(listView, ListViewMatchers.hasListItem("item 999", true));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(listView, ListViewMatchers.hasListCell("item 999"));
+    }
+
+    @Test
+    public void hasListItem_with_cell_factory() {
+        // given:
+        Platform.runLater(() -> listView.setCellFactory(view -> new ListCell<String>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(item == null || empty ? null : item.toUpperCase(Locale.US));
+            }
+        }));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(listView, ListViewMatchers.hasListItem("bob"));
+        assertThat(listView, ListViewMatchers.hasListItem("BOB"));
+        assertThat(listView, not(ListViewMatchers.hasListItem("Bob")));
+    }
+
+    @Test
+    public void hasListItem_in_large_list_fails_with_bounded_description() {
+        // given:
+        Platform.runLater(() -> {
+            listView.getItems().clear();
+            for (int i = 0; i < 100; i++) {
+                listView.getItems().add("item " + i);
+            }
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThatThrownBy(() -> assertThat(listView, ListViewMatchers.hasListItem("Item 5")))
+                .isExactlyInstanceOf(AssertionError.class)
+                .hasMessage("\nExpected: ListView has list item \"Item 5\"\n     but: was [item 0, item 1, item 2, " +
+                        "item 3, item 4, item 5, item 6, item 7, item 8, item 9, ... 80 more ..., item 90, item 91, " +
+                        "item 92, item 93, item 94, item 95, item 96, item 97, item 98, item 99] " +
+                        "(nearest: item 5 at index 5, item 50 at index 50, item 51 at index 51)");
+    }
+
     @Test
     public void hasListCell_with_null_fails() {
         assertThatThrownBy(() -> assertThat(listView, ListViewMatchers.hasListCell(null)))
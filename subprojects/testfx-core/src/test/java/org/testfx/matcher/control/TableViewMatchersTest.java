@@ -48,6 +48,7 @@ import org.testfx.util.WaitForAsyncUtils;
 
 import static javafx.collections.FXCollections.observableArrayList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -128,6 +129,35 @@ public class TableViewMatchersTest extends FxRobot {
         assertThat(tableView, TableViewMatchers.hasTableCell("BOB!"));
     }
 
+    @Test
+    public void hasTableCellValue() {
+        assertThat(tableView, TableViewMatchers.hasTableCellValue("alice"));
+        assertThat(tableView, TableViewMatchers.hasTableCellValue(31));
+        assertThat(tableView, TableViewMatchers.hasTableCellValue("31"));
+        assertThat(tableView, not(TableViewMatchers.hasTableCellValue("foobar")));
+    }
+
+    @Test
+    public void hasTableCellValue_outside_of_viewport() {
+        // given:
+        Platform.runLater(() -> {
+            for (int i = 0; i < 1000; i++) {
+                Map<String, Object> row = new HashMap<>(2);
+                row.put("name", "name " + i);
+                row.put("age", i);
+                tableView.getItems().add(row);
+            }
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // when:
+        assertThat(tableView, TableViewMatchers.hasTableCellValue("name 999", true));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(tableView, TableViewMatchers.hasTableCell("name 999"));
+    }
+
     @Test
     public void hasTableCell_fails() {
         assertThatThrownBy(() -> assertThat(tableView, TableViewMatchers.hasTableCell("foobar")))
@@ -322,6 +352,35 @@ public class TableViewMatchersTest extends FxRobot {
         assertThat(tableView, not(TableViewMatchers.containsRow("ebert", 49)));
     }
 
+    @Test
+    public void containsRow_with_row_index() {
+        // given:
+        TableViewRowIndex rows = TableViewMatchers.indexRows(tableView);
+
+        // then:
+        assertThat(tableView, rows.containsRow("alice", 30));
+        assertThat(tableView, rows.containsRow("carol", null));
+        assertThat(tableView, not(rows.containsRow("alice", 31)));
+        assertThat(tableView, not(rows.containsRow("ebert", null)));
+        assertThat(rows.findRows("dave"), equalTo(new int[] {3}));
+    }
+
+    @Test
+    public void containsRow_with_row_index_rebuilds_after_rows_changed() {
+        // given:
+        TableViewRowIndex rows = TableViewMatchers.indexRows(tableView);
+        Map<String, Object> row5 = new HashMap<>(2);
+        row5.put("name", "ebert");
+        row5.put("age", 49);
+
+        // when:
+        Platform.runLater(() -> tableView.getItems().add(row5));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(tableView, rows.containsRow("ebert", 49));
+    }
+
     @Test
     public void containsRow_with_empty_cells() {
         // given:
@@ -377,6 +436,30 @@ public class TableViewMatchersTest extends FxRobot {
                         "but: was [[alice, 30, null], [bob, 31, null], [carol, null, null], [dave, null, null]]");
     }
 
+    @Test
+    public void containsRow_in_large_table_fails_with_bounded_description() {
+        // given:
+        Platform.runLater(() -> {
+            tableView.getItems().clear();
+            for (int i = 0; i < 100; i++) {
+                Map<String, Object> row = new HashMap<>(2);
+                row.put("name", "name " + i);
+                row.put("age", i);
+                tableView.getItems().add(row);
+            }
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThatThrownBy(() -> assertThat(tableView, TableViewMatchers.containsRow("name 50", 51)))
+                .isExactlyInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("\nExpected: TableView has row: [name 50, 51]\n     " +
+                        "but: was [[name 0, 0, null], [name 1, 1, null]")
+                .hasMessageContaining("[name 9, 9, null], ... 80 more ..., [name 90, 90, null]")
+                .hasMessageEndingWith("[name 99, 99, null]] " +
+                        "(nearest: [name 50, 50, null] at index 50, [name 51, 51, null] at index 51)");
+    }
+
     @Test
     public void containsRow_wrong_types_fails() {
         // given:
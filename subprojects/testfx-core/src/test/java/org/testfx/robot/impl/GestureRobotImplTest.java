@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.robot.impl;
+
+import java.util.Collections;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxRobotException;
+import org.testfx.api.FxToolkit;
+import org.testfx.robot.BaseRobot;
+import org.testfx.robot.Gesture;
+import org.testfx.service.finder.WindowFinder;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class GestureRobotImplTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    GestureRobotImpl gestureRobot;
+    BaseRobot baseRobot;
+    WindowFinder windowFinder;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() {
+        baseRobot = mock(BaseRobot.class);
+        windowFinder = mock(WindowFinder.class);
+        given(windowFinder.listWindows()).willReturn(Collections.emptyList());
+        given(baseRobot.retrieveMouse()).willReturn(new Point2D(0, 0));
+        gestureRobot = new GestureRobotImpl(baseRobot, windowFinder);
+    }
+
+    @Test
+    public void record_and_replay() {
+        // given:
+        gestureRobot.startRecording();
+        gestureRobot.moveMouse(new Point2D(10, 20));
+        gestureRobot.pressMouse(MouseButton.PRIMARY);
+        gestureRobot.releaseMouse(MouseButton.PRIMARY);
+        gestureRobot.scrollMouse(-3);
+        gestureRobot.pressKeyboard(KeyCode.A);
+        gestureRobot.releaseKeyboard(KeyCode.A);
+        Gesture gesture = gestureRobot.stopRecording();
+        reset(baseRobot);
+
+        // when:
+        gestureRobot.replay(Gesture.fromByteArray(gesture.toByteArray()));
+
+        // then:
+        assertThat(gesture.getEventCount(), is(6));
+        InOrder inOrder = inOrder(baseRobot);
+        inOrder.verify(baseRobot).moveMouse(new Point2D(10, 20));
+        inOrder.verify(baseRobot).pressMouse(MouseButton.PRIMARY);
+        inOrder.verify(baseRobot).releaseMouse(MouseButton.PRIMARY);
+        inOrder.verify(baseRobot).scrollMouse(-3);
+        inOrder.verify(baseRobot).pressKeyboard(KeyCode.A);
+        inOrder.verify(baseRobot).releaseKeyboard(KeyCode.A);
+        verifyNoMoreInteractions(baseRobot);
+    }
+
+    @Test
+    public void events_outside_of_recording_are_not_recorded() {
+        // given:
+        gestureRobot.moveMouse(new Point2D(10, 20));
+
+        // when:
+        gestureRobot.startRecording();
+        gestureRobot.pressKeyboard(KeyCode.B);
+        Gesture gesture = gestureRobot.stopRecording();
+
+        // then:
+        assertThat(gesture.getEventCount(), is(1));
+        assertThat(gestureRobot.isRecording(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromByteArray_rejects_invalid_bytes() {
+        // expect:
+        Gesture.fromByteArray(new byte[] {1, 2, 3});
+    }
+
+    @Test
+    public void replay_shifts_mouse_by_offset_of_moved_anchor() throws Exception {
+        // given:
+        Region target = showTarget();
+        Bounds bounds = WaitForAsyncUtils.asyncFx(() -> target.localToScreen(target.getBoundsInLocal())).get();
+        Gesture gesture = Gesture.builder()
+                .moveMouse(new Point2D(10, 20))
+                .anchor("target", new BoundingBox(bounds.getMinX() - 30, bounds.getMinY() - 40,
+                        bounds.getWidth(), bounds.getHeight()))
+                .pressMouse(MouseButton.PRIMARY)
+                .build();
+
+        // when:
+        gestureRobot.replay(gesture);
+
+        // then:
+        InOrder inOrder = inOrder(baseRobot);
+        inOrder.verify(baseRobot).moveMouse(new Point2D(10, 20));
+        inOrder.verify(baseRobot).moveMouse(new Point2D(40, 60));
+        inOrder.verify(baseRobot).pressMouse(MouseButton.PRIMARY);
+        verifyNoMoreInteractions(baseRobot);
+    }
+
+    @Test
+    public void replay_fails_on_missing_anchor() throws Exception {
+        // given:
+        showTarget();
+        Gesture gesture = Gesture.builder()
+                .anchor("missing", new BoundingBox(0, 0, 50, 50))
+                .pressMouse(MouseButton.PRIMARY)
+                .build();
+
+        // expect:
+        assertThatThrownBy(() -> gestureRobot.replay(gesture))
+                .isExactlyInstanceOf(FxRobotException.class)
+                .hasMessageContaining("\"#missing\"");
+        verifyNoMoreInteractions(baseRobot);
+    }
+
+    private Region showTarget() throws Exception {
+        Region target = new Region();
+        target.setId("target");
+        target.setPrefSize(50, 50);
+        target.relocate(10, 10);
+        Stage window = FxToolkit.setupStage(stage -> {
+            stage.setScene(new Scene(new Pane(target), 100, 100));
+            stage.show();
+        });
+        given(windowFinder.listWindows()).willReturn(Collections.singletonList(window));
+        return target;
+    }
+
+}
@@ -16,18 +16,35 @@
  */
 package org.testfx.robot.impl;
 
+import java.util.Comparator;
+import javafx.geometry.Bounds;
 import javafx.geometry.HorizontalDirection;
 import javafx.geometry.VerticalDirection;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
 import org.testfx.robot.MouseRobot;
 import org.testfx.robot.ScrollRobot;
+import org.testfx.util.WaitForAsyncUtils;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -132,4 +149,92 @@ public class ScrollRobotImplTest {
         // then:
         verify(mouseRobot, times(5)).scroll(eq(1));
     }
+
+    @Test
+    public void scrollCoalescedVerticalDown() {
+        // when:
+        scrollRobot.scrollCoalesced(500, VerticalDirection.DOWN);
+
+        // then:
+        verify(mouseRobot, times(500)).scrollNoWait(eq(1));
+        verify(mouseRobot, never()).scroll(anyInt());
+    }
+
+    @Test
+    public void scrollCoalescedHorizontalLeft() {
+        // when:
+        scrollRobot.scrollCoalesced(4, HorizontalDirection.LEFT);
+
+        // then:
+        verify(mouseRobot, times(4)).scrollNoWait(eq(-1));
+        verify(mouseRobot, never()).scroll(anyInt());
+    }
+
+    @Test
+    public void scrollTo() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        Region target = new Region();
+        target.setPrefSize(50, 50);
+        Region spacer = new Region();
+        spacer.setPrefSize(50, 1000);
+        ScrollPane scrollPane = new ScrollPane(new VBox(spacer, target));
+        FxToolkit.setupStage(stage -> {
+            stage.setScene(new Scene(scrollPane, 100, 100));
+            stage.show();
+        });
+
+        // when:
+        scrollRobot.scrollTo(target);
+
+        // then:
+        assertThat(scrollPane.getVvalue(), is(scrollPane.getVmax()));
+        verify(mouseRobot, never()).scroll(anyInt());
+    }
+
+    @Test
+    public void scrollTo_node_in_partially_visible_list_cell() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        ListView<String> listView = new ListView<>();
+        for (int i = 0; i < 100; i++) {
+            listView.getItems().add("item " + i);
+        }
+        listView.setFixedCellSize(30);
+        FxToolkit.setupStage(stage -> {
+            stage.setScene(new Scene(listView, 100, 100));
+            stage.show();
+        });
+        int lastIndex = WaitForAsyncUtils.asyncFx(() -> lastVisibleCell(listView).getIndex()).get();
+        Node cellText = WaitForAsyncUtils.asyncFx(() -> lastVisibleCell(listView).lookup(".text")).get();
+        assertThat(WaitForAsyncUtils.asyncFx(() -> cellMaxY(listView, lastIndex)).get(),
+                greaterThan(listView.getHeight()));
+
+        // when:
+        scrollRobot.scrollTo(cellText);
+
+        // then:
+        assertThat(WaitForAsyncUtils.asyncFx(() -> cellMaxY(listView, lastIndex)).get(),
+                lessThanOrEqualTo(listView.getHeight()));
+        verify(mouseRobot, never()).scroll(anyInt());
+    }
+
+    private static IndexedCell<?> lastVisibleCell(ListView<?> listView) {
+        return listView.lookupAll(".list-cell").stream()
+                .map(node -> (IndexedCell<?>) node)
+                .filter(cell -> cell.isVisible() && cell.getIndex() >= 0)
+                .max(Comparator.comparingInt(IndexedCell::getIndex))
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static double cellMaxY(ListView<?> listView, int index) {
+        IndexedCell<?> cell = listView.lookupAll(".list-cell").stream()
+                .map(node -> (IndexedCell<?>) node)
+                .filter(candidate -> candidate.isVisible() && candidate.getIndex() == index)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        Bounds bounds = listView.sceneToLocal(cell.localToScene(cell.getBoundsInLocal()));
+        return bounds.getMaxY();
+    }
+
 }
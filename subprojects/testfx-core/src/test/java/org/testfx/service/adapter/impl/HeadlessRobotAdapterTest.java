@@ -0,0 +1,234 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.adapter.impl;
+
+import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.geometry.Point2D;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.TextField;
+import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+import org.testfx.matcher.control.TextInputControlMatchers;
+import org.testfx.service.locator.PointLocator;
+import org.testfx.service.locator.impl.BoundsLocatorImpl;
+import org.testfx.service.locator.impl.PointLocatorImpl;
+import org.testfx.util.BoundsQueryUtils;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testfx.api.FxAssert.verifyThat;
+
+public class HeadlessRobotAdapterTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    HeadlessRobotAdapter robotAdapter;
+    Stage targetStage;
+    Parent sceneRoot;
+    Region region;
+    TextField textField;
+    Point2D regionCenter;
+    Point2D textFieldCenter;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        robotAdapter = new HeadlessRobotAdapter();
+        targetStage = FxToolkit.setupStage(stage -> {
+            region = new Region();
+            region.setStyle("-fx-background-color: magenta;");
+            textField = new TextField();
+
+            VBox box = new VBox(region, textField);
+            box.setPadding(new Insets(10));
+            box.setSpacing(10);
+            VBox.setVgrow(region, Priority.ALWAYS);
+
+            sceneRoot = new StackPane(box);
+            Scene scene = new Scene(sceneRoot, 300, 150);
+            stage.setScene(scene);
+            stage.show();
+        });
+
+        PointLocator pointLocator = new PointLocatorImpl(new BoundsLocatorImpl());
+        regionCenter = pointLocator.point(region).atPosition(Pos.CENTER).query();
+        textFieldCenter = pointLocator.point(textField).atPosition(Pos.CENTER).query();
+    }
+
+    @After
+    public void cleanup() {
+        robotAdapter.keyRelease(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.SHIFT);
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+    }
+
+    @Test
+    public void mouseMove() {
+        // when:
+        robotAdapter.mouseMove(new Point2D(100, 200));
+
+        // then:
+        assertThat(robotAdapter.getMouseLocation(), is(new Point2D(100, 200)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mouseMove_fires_entered_and_exited() {
+        // given:
+        EventHandler<MouseEvent> enteredHandler = mock(EventHandler.class);
+        EventHandler<MouseEvent> exitedHandler = mock(EventHandler.class);
+        region.addEventHandler(MouseEvent.MOUSE_ENTERED, enteredHandler);
+        region.addEventHandler(MouseEvent.MOUSE_EXITED, exitedHandler);
+
+        // when:
+        robotAdapter.mouseMove(regionCenter);
+        robotAdapter.mouseMove(textFieldCenter);
+
+        // then:
+        WaitForAsyncUtils.waitForFxEvents();
+        verify(enteredHandler, times(1)).handle(any());
+        verify(exitedHandler, times(1)).handle(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mousePress_is_delivered_to_picked_node() {
+        // given:
+        EventHandler<MouseEvent> regionHandler = mock(EventHandler.class);
+        EventHandler<MouseEvent> textFieldHandler = mock(EventHandler.class);
+        region.addEventHandler(MouseEvent.MOUSE_PRESSED, regionHandler);
+        textField.addEventHandler(MouseEvent.MOUSE_PRESSED, textFieldHandler);
+
+        // and:
+        robotAdapter.mouseMove(regionCenter);
+
+        // when:
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+
+        // then:
+        WaitForAsyncUtils.waitForFxEvents();
+        verify(regionHandler, times(1)).handle(any());
+        verify(textFieldHandler, never()).handle(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mouseRelease_fires_clicked() {
+        // given:
+        EventHandler<MouseEvent> clickedHandler = mock(EventHandler.class);
+        region.addEventHandler(MouseEvent.MOUSE_CLICKED, clickedHandler);
+
+        // and:
+        robotAdapter.mouseMove(regionCenter);
+
+        // when:
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+
+        // then:
+        WaitForAsyncUtils.waitForFxEvents();
+        verify(clickedHandler, times(1)).handle(argThat(event -> event.getClickCount() == 1));
+        verify(clickedHandler, times(1)).handle(argThat(event -> event.getClickCount() == 2));
+    }
+
+    @Test
+    public void keyPress_types_into_focused_text_field() {
+        // given:
+        robotAdapter.mouseMove(textFieldCenter);
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+
+        // when:
+        robotAdapter.keyPress(KeyCode.SHIFT);
+        robotAdapter.keyPress(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.SHIFT);
+        robotAdapter.keyPress(KeyCode.B);
+        robotAdapter.keyRelease(KeyCode.B);
+
+        // then:
+        WaitForAsyncUtils.waitForFxEvents();
+        verifyThat(textField, TextInputControlMatchers.hasText("Ab"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mouseWheel() {
+        // given:
+        EventHandler<ScrollEvent> scrollHandler = mock(EventHandler.class);
+        region.addEventHandler(ScrollEvent.SCROLL, scrollHandler);
+
+        // and:
+        robotAdapter.mouseMove(regionCenter);
+
+        // when:
+        robotAdapter.mouseWheel(-1);
+
+        // then:
+        WaitForAsyncUtils.waitForFxEvents();
+        verify(scrollHandler, times(1)).handle(argThat(event -> event.getDeltaY() > 0));
+    }
+
+    @Test
+    public void getCaptureRegion() {
+        // when:
+        Bounds bounds = BoundsQueryUtils.boundsOnScreen(region);
+        Image regionImage = robotAdapter.getCaptureRegion(new Rectangle2D(bounds.getMinX(), bounds.getMinY(),
+                bounds.getWidth(), bounds.getHeight()));
+
+        // then:
+        assertThat(regionImage.getPixelReader().getColor((int) regionImage.getWidth() / 2,
+                (int) regionImage.getHeight() / 2), is(Color.web("magenta")));
+    }
+
+}
@@ -115,6 +115,21 @@ public class WindowFinderImplTest {
         assertThat(orderedWindows, CoreMatchers.hasItems((Window) otherWindow));
     }
 
+    @Test
+    public void listWindows_of_scoped_window_finder() {
+        // given:
+        WindowFinderImpl scopedWindowFinder = new WindowFinderImpl(windowInWindow);
+
+        // when:
+        List<Window> windows = scopedWindowFinder.listWindows();
+
+        // then:
+        assertThat(windows, CoreMatchers.hasItems((Window) windowInWindow, windowInWindowInWindow));
+        assertThat(windows, CoreMatchers.not(CoreMatchers.hasItem(window)));
+        assertThat(windows, CoreMatchers.not(CoreMatchers.hasItem(otherWindow)));
+        assertThat(scopedWindowFinder.targetWindow(), CoreMatchers.is(windowInWindow));
+    }
+
     @Test
     public void targetWindow_window() {
         // when:
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class BaselineStoreTest {
+
+    @Rule(order = 0)
+    public TestRule rule = new TestFXRule();
+    @Rule(order = 1)
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path directory;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() {
+        directory = testFolder.getRoot().toPath();
+    }
+
+    @Test
+    public void load_returns_saved_image() {
+        // given:
+        BaselineStore store = BaselineStore.open(directory);
+        Image image = createImage(100, 70, 90, 10);
+
+        // when:
+        store.save("window", image);
+
+        // then:
+        assertThat(pixels(store.load("window")), equalTo(pixels(image)));
+        assertThat(pixels(BaselineStore.open(directory).load("window")), equalTo(pixels(image)));
+    }
+
+    @Test
+    public void identical_tiles_are_stored_once() throws Exception {
+        // given:
+        BaselineStore store = BaselineStore.open(directory);
+        store.save("plain", createImage(128, 128, -1, -1));
+        long plainPackSize = Files.size(directory.resolve("tiles.pack"));
+
+        // when:
+        store.save("marked", createImage(128, 128, 100, 100), "plain");
+
+        // then:
+        long tileSize = BaselineStore.TILE_SIZE * BaselineStore.TILE_SIZE * Integer.BYTES;
+        assertThat(plainPackSize < 2 * tileSize, equalTo(true));
+        assertThat(Files.size(directory.resolve("tiles.pack")) - plainPackSize < 2 * tileSize, equalTo(true));
+        assertThat(pixels(BaselineStore.open(directory).load("marked")),
+                equalTo(pixels(createImage(128, 128, 100, 100))));
+    }
+
+    @Test
+    public void tiles_are_compressed() throws Exception {
+        // given:
+        BaselineStore store = BaselineStore.open(directory);
+        WritableImage gradient = new WritableImage(256, 256);
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                gradient.getPixelWriter().setArgb(x, y, 0xFF000000 | x << 8 | y);
+            }
+        }
+
+        // when:
+        store.save("gradient", gradient);
+
+        // then:
+        assertThat(Files.size(directory.resolve("tiles.pack")) < 256 * 256 * Integer.BYTES / 2, equalTo(true));
+        assertThat(pixels(BaselineStore.open(directory).load("gradient")), equalTo(pixels(gradient)));
+    }
+
+    @Test
+    public void find_differing_tiles() {
+        // given:
+        BaselineStore store = BaselineStore.open(directory);
+        store.save("window", createImage(128, 100, -1, -1));
+
+        // when:
+        Image changed = createImage(128, 100, 70, 80);
+
+        // then:
+        assertThat(store.findDifferingTiles("window", createImage(128, 100, -1, -1)), empty());
+        assertThat(store.findDifferingTiles("window", changed), contains(new Rectangle2D(64, 64, 64, 36)));
+        assertThatThrownBy(() -> store.findDifferingTiles("window", createImage(10, 10, -1, -1)))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void stores_in_same_directory_share_tiles() throws Exception {
+        // given:
+        BaselineStore first = BaselineStore.open(directory);
+        BaselineStore second = BaselineStore.open(directory);
+        first.save("marked", createImage(128, 128, 100, 100));
+        long packSize = Files.size(directory.resolve("tiles.pack"));
+
+        // when:
+        second.save("copy", createImage(128, 128, 100, 100));
+
+        // then:
+        assertThat(Files.size(directory.resolve("tiles.pack")), equalTo(packSize));
+        assertThat(pixels(second.load("marked")), equalTo(pixels(createImage(128, 128, 100, 100))));
+    }
+
+    @Test
+    public void tiles_of_different_size_are_stored_separately() throws Exception {
+        // given:
+        BaselineStore store = BaselineStore.open(directory);
+        store.save("wide", createImage(2, 1, -1, -1));
+        long packSize = Files.size(directory.resolve("tiles.pack"));
+
+        // when:
+        store.save("tall", createImage(1, 2, -1, -1));
+
+        // then:
+        assertThat(Files.size(directory.resolve("tiles.pack")) > packSize, equalTo(true));
+        assertThat(BaselineStore.open(directory).load("tall").getHeight(), equalTo(2.0));
+    }
+
+    @Test
+    public void save_fails_for_own_parent() {
+        // given:
+        BaselineStore store = BaselineStore.open(directory);
+        store.save("window", createImage(10, 10, -1, -1));
+
+        // then:
+        assertThatThrownBy(() -> store.save("window", createImage(10, 10, 5, 5), "window"))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("baseline \"window\" can not be its own parent");
+    }
+
+    @Test
+    public void load_fails_if_parent_was_replaced() {
+        // given:
+        BaselineStore store = BaselineStore.open(directory);
+        store.save("plain", createImage(128, 128, -1, -1));
+        store.save("marked", createImage(128, 128, 100, 100), "plain");
+
+        // when:
+        store.save("plain", createImage(128, 128, 10, 10));
+
+        // then:
+        assertThatThrownBy(() -> BaselineStore.open(directory).load("marked"))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessageEndingWith("refers to parent baseline \"plain\", which has been replaced since");
+    }
+
+    /**
+     * Creates a white image with a single black pixel at the given position, if it lies within the image.
+     */
+    private static Image createImage(int width, int height, int markX, int markY) {
+        WritableImage image = new WritableImage(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.getPixelWriter().setColor(x, y, x == markX && y == markY ? Color.BLACK : Color.WHITE);
+            }
+        }
+        return image;
+    }
+
+    private static int[] pixels(Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return pixels;
+    }
+
+}
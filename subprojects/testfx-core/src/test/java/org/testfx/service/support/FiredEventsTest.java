@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support;
+
+import java.util.concurrent.TimeoutException;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.stage.Stage;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+
+public class FiredEventsTest {
+
+    private static final EventType<Event> SAMPLED = new EventType<>(Event.ANY, "FIRED_EVENTS_TEST_SAMPLED");
+
+    @Rule
+    public TestRule rule = new TestFXRule();
+
+    Stage stage;
+
+    @Before
+    public void setup() throws TimeoutException {
+        stage = FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void keeps_only_the_most_recent_events() {
+        // given:
+        FiredEvents firedEvents = FiredEvents.beginStoringFiredEventsOf(stage, 2, true);
+
+        // when:
+        fire(keyPressed(KeyCode.A), keyPressed(KeyCode.B), keyPressed(KeyCode.C));
+        firedEvents.stopStoringFiredEvents();
+
+        // then:
+        assertThat(firedEvents.getEvents(), hasSize(2));
+        assertThat(((KeyEvent) firedEvents.getEvents().get(0)).getCode(), equalTo(KeyCode.B));
+        assertThat(((KeyEvent) firedEvents.getEvents().get(1)).getCode(), equalTo(KeyCode.C));
+        assertThat(firedEvents.describeEvents(), hasSize(2));
+        assertThat(firedEvents.describeEvents().get(0), startsWith("+"));
+        assertThat(firedEvents.describeEvents().get(0).endsWith("KeyEvent KEY_PRESSED on Stage B"), equalTo(true));
+        assertThat(firedEvents.describeEvents().get(1).endsWith("KeyEvent KEY_PRESSED on Stage C"), equalTo(true));
+        assertThat(firedEvents.getCounts().get(KeyEvent.KEY_PRESSED), equalTo(3L));
+        assertThat(firedEvents.getSummary(), equalTo("2 of 3 events stored: KEY_PRESSED=3"));
+    }
+
+    @Test
+    public void does_not_retain_events_by_default() {
+        // given:
+        FiredEvents firedEvents = FiredEvents.beginStoringFiredEventsOf(stage, 10);
+
+        // when:
+        fire(keyPressed(KeyCode.A));
+        firedEvents.stopStoringFiredEvents();
+
+        // then:
+        assertThat(firedEvents.getEvents(), empty());
+        assertThat(firedEvents.describeEvents(), hasSize(1));
+    }
+
+    @Test
+    public void samples_and_drops_events_per_type() {
+        // given:
+        FiredEvents firedEvents = FiredEvents.beginStoringFiredEventsOf(stage, 10);
+        firedEvents.setSampling(SAMPLED, 2);
+        firedEvents.setSampling(KeyEvent.ANY, 0);
+
+        // when:
+        fire(new Event(SAMPLED), new Event(SAMPLED), keyPressed(KeyCode.A), new Event(SAMPLED),
+            new Event(SAMPLED));
+        firedEvents.stopStoringFiredEvents();
+
+        // then:
+        assertThat(firedEvents.describeEvents(), hasSize(2));
+        assertThat(firedEvents.getCounts().keySet(), contains(SAMPLED, KeyEvent.KEY_PRESSED));
+        assertThat(firedEvents.getSummary(),
+            equalTo("2 of 5 events stored: FIRED_EVENTS_TEST_SAMPLED=4, KEY_PRESSED=1"));
+    }
+
+    @Test
+    public void clear_events_resets_stored_events_and_counts() {
+        // given:
+        FiredEvents firedEvents = FiredEvents.beginStoringFiredEventsOf(stage, 10);
+        fire(keyPressed(KeyCode.A), new Event(SAMPLED));
+
+        // when:
+        firedEvents.clearEvents();
+        fire(new Event(SAMPLED));
+        firedEvents.stopStoringFiredEvents();
+
+        // then:
+        assertThat(firedEvents.describeEvents(), hasSize(1));
+        assertThat(firedEvents.getSummary(), equalTo("1 of 1 events stored: FIRED_EVENTS_TEST_SAMPLED=1"));
+    }
+
+    private void fire(Event... events) {
+        WaitForAsyncUtils.waitForAsyncFx(10000, () -> {
+            for (Event event : events) {
+                Event.fireEvent(stage, event);
+            }
+        });
+    }
+
+    private static KeyEvent keyPressed(KeyCode code) {
+        return new KeyEvent(KeyEvent.KEY_PRESSED, "", "", code, false, false, false, false);
+    }
+
+}
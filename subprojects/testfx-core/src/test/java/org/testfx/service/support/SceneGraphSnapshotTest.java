@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support;
+
+import java.nio.file.Path;
+import java.util.List;
+import javafx.scene.control.Button;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+public class SceneGraphSnapshotTest {
+
+    @Rule(order = 0)
+    public TestRule rule = new TestFXRule();
+    @Rule(order = 1)
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void capture() {
+        // given:
+        Rectangle rectangle = new Rectangle(10, 20, 30, 40);
+        rectangle.setId("box");
+        rectangle.getStyleClass().add("shape");
+        Text text = new Text("say \"hi\"");
+        text.setVisible(false);
+        Pane pane = new Pane(rectangle, text, new Button("ok"));
+
+        // when:
+        SceneGraphSnapshot snapshot = SceneGraphSnapshot.capture(pane);
+
+        // then:
+        String[] lines = snapshot.toString().split("\n");
+        assertThat(lines.length, equalTo(4));
+        assertThat(lines[1], equalTo("  Rectangle#box.shape @10,20 30x40"));
+        assertThat(lines[2].startsWith("  Text \"say \\\"hi\\\"\" @"), equalTo(true));
+        assertThat(lines[2].endsWith(" hidden"), equalTo(true));
+        assertThat(lines[3].startsWith("  Button.button \"ok\" @"), equalTo(true));
+    }
+
+    @Test
+    public void capture_anonymous_class() {
+        // given:
+        Pane pane = new Pane() { };
+
+        // when:
+        SceneGraphSnapshot snapshot = SceneGraphSnapshot.capture(pane);
+
+        // then:
+        assertThat(snapshot.toString(), startsWith("SceneGraphSnapshotTest$"));
+        assertThat(SceneGraphSnapshot.parse(snapshot.toString()), equalTo(snapshot));
+    }
+
+    @Test
+    public void parse_round_trips_text_form() {
+        // given:
+        String text = "VBox#root @0,0 200x60.5\n" +
+            "  Label.label \"a\\nb\" @0,0 40x17\n" +
+            "  HBox @0,17 200x25 hidden\n" +
+            "    Button#ok.button.default \"OK\" @0,0 36x25\n";
+
+        // when:
+        SceneGraphSnapshot snapshot = SceneGraphSnapshot.parse(text);
+
+        // then:
+        assertThat(snapshot.toString(), equalTo(text));
+        assertThat(snapshot.diff(SceneGraphSnapshot.parse(text)), empty());
+    }
+
+    @Test
+    public void parse_round_trips_escaped_selectors() {
+        // given:
+        Rectangle rectangle = new Rectangle(10, 20);
+        rectangle.setId("a.b#c d");
+        rectangle.getStyleClass().addAll("x.y", "back\\slash");
+        SceneGraphSnapshot snapshot = SceneGraphSnapshot.capture(new Pane(rectangle));
+
+        // when:
+        SceneGraphSnapshot parsed = SceneGraphSnapshot.parse(snapshot.toString());
+
+        // then:
+        assertThat(snapshot.toString().split("\n")[1],
+            equalTo("  Rectangle#a\\.b\\#c\\ d.x\\.y.back\\\\slash @0,0 10x20"));
+        assertThat(parsed, equalTo(snapshot));
+        assertThat(parsed.diff(snapshot), empty());
+    }
+
+    @Test
+    public void parse_fails_for_invalid_text() {
+        assertThatThrownBy(() -> SceneGraphSnapshot.parse("VBox @0,0 10x10\nHBox @0,0 10x10\n"))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("invalid snapshot line 2: snapshot must have exactly one root node");
+        assertThatThrownBy(() -> SceneGraphSnapshot.parse("VBox 0,0"))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("invalid snapshot line 1");
+    }
+
+    @Test
+    public void diff() {
+        // given:
+        SceneGraphSnapshot expected = SceneGraphSnapshot.parse("VBox @0,0 100x50\n" +
+            "  Label.label \"foo\" @0,0 40x17\n" +
+            "  Button#ok @0,17 36x25\n");
+        SceneGraphSnapshot actual = SceneGraphSnapshot.parse("VBox @0,0 100x50\n" +
+            "  Label.label \"bar\" @0,0 40x17\n" +
+            "  Button#cancel @0,17 36x25 hidden\n" +
+            "  Region @0,42 10x8\n");
+
+        // when:
+        List<String> differences = expected.diff(actual);
+
+        // then:
+        assertThat(differences, contains(
+            "/VBox: expected 2 children but was 3",
+            "/VBox/Label[0]: expected text \"foo\" but was \"bar\"",
+            "/VBox/Button[1]: expected id ok but was cancel",
+            "/VBox/Button[1]: expected visible true but was false"));
+    }
+
+    @Test
+    public void write_and_read_golden_file() throws Exception {
+        // given:
+        SceneGraphSnapshot snapshot = SceneGraphSnapshot.capture(new Pane(new Rectangle(0, 0, 5, 5)));
+        Path goldenFile = testFolder.getRoot().toPath().resolve("golden/pane.snapshot");
+
+        // when:
+        snapshot.writeTo(goldenFile);
+
+        // then:
+        assertThat(SceneGraphSnapshot.readFrom(goldenFile), equalTo(snapshot));
+    }
+
+}
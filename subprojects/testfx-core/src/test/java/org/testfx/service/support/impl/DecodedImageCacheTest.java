@@ -0,0 +1,196 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class DecodedImageCacheTest {
+
+    @Rule(order = 0)
+    public TestRule rule = new TestFXRule();
+    @Rule(order = 1)
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private final AtomicInteger decodeCount = new AtomicInteger();
+    private final Function<Path, Image> decoder = path -> {
+        decodeCount.incrementAndGet();
+        WritableImage image = new WritableImage(4, 2);
+        image.getPixelWriter().setColor(3, 1, Color.RED);
+        return image;
+    };
+
+    private Path imageFile;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        imageFile = testFolder.newFile("golden.png").toPath();
+    }
+
+    @Test
+    public void repeated_loads_decode_once() {
+        // given:
+        DecodedImageCache cache = new DecodedImageCache(testFolder.getRoot().toPath().resolve("cache"), 1024);
+
+        // when:
+        cache.load(imageFile, decoder);
+        Image image = cache.load(imageFile, decoder);
+
+        // then:
+        assertThat(decodeCount.get(), equalTo(1));
+        assertThat(image.getWidth(), equalTo(4.0));
+        assertThat(image.getPixelReader().getColor(3, 1), equalTo(Color.RED));
+        assertThat(image.getPixelReader().getColor(0, 0), equalTo(Color.TRANSPARENT));
+    }
+
+    @Test
+    public void sidecar_is_reused_by_another_cache() {
+        // given:
+        Path directory = testFolder.getRoot().toPath().resolve("cache");
+        new DecodedImageCache(directory, 1024).load(imageFile, decoder);
+
+        // when:
+        Image image = new DecodedImageCache(directory, 1024).load(imageFile, decoder);
+
+        // then:
+        assertThat(decodeCount.get(), equalTo(1));
+        assertThat(image.getPixelReader().getColor(3, 1), equalTo(Color.RED));
+    }
+
+    @Test
+    public void changed_file_is_decoded_again() throws Exception {
+        // given:
+        DecodedImageCache cache = new DecodedImageCache(testFolder.getRoot().toPath().resolve("cache"), 1024);
+        cache.load(imageFile, decoder);
+
+        // when:
+        Files.setLastModifiedTime(imageFile, FileTime.fromMillis(Files.getLastModifiedTime(imageFile).toMillis() -
+                60000));
+        cache.load(imageFile, decoder);
+
+        // then:
+        assertThat(decodeCount.get(), equalTo(2));
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    @Test
+    public void changed_size_is_decoded_again() throws Exception {
+        // given:
+        DecodedImageCache cache = new DecodedImageCache(testFolder.getRoot().toPath().resolve("cache"), 1024);
+        cache.load(imageFile, decoder);
+
+        // when:
+        FileTime lastModified = Files.getLastModifiedTime(imageFile);
+        Files.write(imageFile, new byte[] {1, 2, 3});
+        Files.setLastModifiedTime(imageFile, lastModified);
+        cache.load(imageFile, decoder);
+
+        // then:
+        assertThat(decodeCount.get(), equalTo(2));
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    @Test
+    public void least_recently_used_images_are_evicted() throws Exception {
+        // given:
+        Path directory = testFolder.getRoot().toPath().resolve("cache");
+        DecodedImageCache cache = new DecodedImageCache(directory, 50);
+        Path otherImageFile = testFolder.newFile("other.png").toPath();
+
+        // when:
+        cache.load(imageFile, decoder);
+        cache.load(otherImageFile, decoder);
+
+        // then:
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.getTotalBytes(), equalTo(44L));
+        assertThat(sidecars(directory).size(), equalTo(1));
+    }
+
+    @Test
+    public void least_recently_used_sidecars_of_earlier_runs_are_deleted() throws Exception {
+        // given:
+        Path directory = Files.createDirectory(testFolder.getRoot().toPath().resolve("cache"));
+        Path oldSidecar = Files.write(directory.resolve("old.argb"), new byte[40]);
+        Files.setLastModifiedTime(oldSidecar, FileTime.fromMillis(0));
+        Path recentSidecar = Files.write(directory.resolve("recent.argb"), new byte[40]);
+        DecodedImageCache cache = new DecodedImageCache(directory, 100);
+
+        // when:
+        cache.load(imageFile, decoder);
+
+        // then:
+        assertThat(Files.exists(oldSidecar), equalTo(false));
+        assertThat(Files.exists(recentSidecar), equalTo(true));
+        assertThat(sidecars(directory).size(), equalTo(2));
+    }
+
+    @Test
+    public void cache_is_disabled_by_default() {
+        // given:
+        String maxBytes = System.clearProperty("testfx.image.cache.bytes");
+        try {
+            DecodedImageCache cache = DecodedImageCache.fromSystemProperties();
+
+            // when:
+            cache.load(imageFile, decoder);
+            cache.load(imageFile, decoder);
+
+            // then:
+            assertThat(decodeCount.get(), equalTo(2));
+            assertThat(cache.size(), equalTo(0));
+        }
+        finally {
+            if (maxBytes != null) {
+                System.setProperty("testfx.image.cache.bytes", maxBytes);
+            }
+        }
+    }
+
+    private static List<Path> sidecars(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".argb")).collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.robot.impl.SleepRobotImpl;
+import org.testfx.service.support.RobotInstrumentation.Stage;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+public class RobotTimingsCollectorTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    RobotTimingsCollector timings;
+
+    @Before
+    public void setup() {
+        timings = new RobotTimingsCollector();
+    }
+
+    @Test
+    public void record() {
+        // when:
+        timings.record(Stage.POINT_QUERY, TimeUnit.MILLISECONDS.toNanos(3));
+        timings.record(Stage.POINT_QUERY, TimeUnit.MILLISECONDS.toNanos(5));
+
+        // then:
+        assertThat(timings.getCount(Stage.POINT_QUERY), is(2L));
+        assertThat(timings.getTotal(Stage.POINT_QUERY, TimeUnit.MILLISECONDS), is(8L));
+        assertThat(timings.getMax(Stage.POINT_QUERY, TimeUnit.MILLISECONDS), is(5L));
+        assertThat(timings.getCount(Stage.SLEEP), is(0L));
+    }
+
+    @Test
+    public void records_sleeps_of_sleep_robot() {
+        // when:
+        new SleepRobotImpl(timings).sleep(20);
+
+        // then:
+        assertThat(timings.getCount(Stage.SLEEP), is(1L));
+        assertThat(timings.getTotal(Stage.SLEEP, TimeUnit.MILLISECONDS), greaterThanOrEqualTo(20L));
+    }
+
+    @Test
+    public void summary_lists_recorded_stages_only() {
+        // given:
+        timings.record(Stage.WAIT_FOR_FX_EVENTS, 1000);
+
+        // when:
+        String summary = timings.summary();
+
+        // then:
+        assertThat(summary, containsString("WAIT_FOR_FX_EVENTS"));
+        assertThat(summary, not(containsString("MOVE_STEPS")));
+    }
+
+    @Test
+    public void reset() {
+        // given:
+        timings.record(Stage.ROBOT_ADAPTER, 1000);
+
+        // when:
+        timings.reset();
+
+        // then:
+        assertThat(timings.getCount(Stage.ROBOT_ADAPTER), is(0L));
+        assertThat(timings.getMax(Stage.ROBOT_ADAPTER, TimeUnit.NANOSECONDS), is(0L));
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.toolkit.impl;
+
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+import org.testfx.toolkit.PrimaryStageApplication;
+import org.testfx.toolkit.StagePool;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.testfx.util.WaitForAsyncUtils.waitFor;
+import static org.testfx.util.WaitForAsyncUtils.waitForAsyncFx;
+
+public class StagePoolImplTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    static Stage primaryStage;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        primaryStage = FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void acquire_returns_primary_stage_first_and_then_new_stages() throws Exception {
+        // given:
+        StagePool stagePool = new StagePoolImpl(PrimaryStageApplication.PRIMARY_STAGE_FUTURE);
+
+        // when:
+        Stage firstStage = waitFor(5, TimeUnit.SECONDS, stagePool.acquire());
+        Stage secondStage = waitFor(5, TimeUnit.SECONDS, stagePool.acquire());
+
+        // then:
+        assertThat(firstStage, is(sameInstance(primaryStage)));
+        assertThat(secondStage, is(not(sameInstance(primaryStage))));
+    }
+
+    @Test
+    public void release_resets_stage_and_keeps_stylesheets() throws Exception {
+        // given:
+        StagePool stagePool = new StagePoolImpl(PrimaryStageApplication.PRIMARY_STAGE_FUTURE);
+        Stage stage = waitFor(5, TimeUnit.SECONDS, stagePool.acquire());
+        Scene scene = waitForAsyncFx(2000, () -> {
+            Scene testScene = new Scene(new StackPane(new Label("test")));
+            testScene.getStylesheets().add("/org/testfx/cases/acceptance/style.css");
+            stage.setScene(testScene);
+            stage.setOnCloseRequest(event -> {});
+            return testScene;
+        });
+
+        // when:
+        waitFor(5, TimeUnit.SECONDS, stagePool.release(stage));
+
+        // then:
+        assertThat(stage.getScene(), is(not(sameInstance(scene))));
+        assertThat(stage.getScene().getStylesheets(), contains("/org/testfx/cases/acceptance/style.css"));
+        assertThat(stage.getOnCloseRequest(), is(nullValue()));
+        assertThat(waitFor(5, TimeUnit.SECONDS, stagePool.acquire()), is(sameInstance(stage)));
+    }
+
+    @Test
+    public void release_fails_for_released_stage() throws Exception {
+        // given:
+        StagePool stagePool = new StagePoolImpl(PrimaryStageApplication.PRIMARY_STAGE_FUTURE);
+        Stage stage = waitFor(5, TimeUnit.SECONDS, stagePool.acquire());
+        waitFor(5, TimeUnit.SECONDS, stagePool.release(stage));
+
+        // then:
+        assertThatThrownBy(() -> stagePool.release(stage))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("stage has already been released");
+        assertThat(waitFor(5, TimeUnit.SECONDS, stagePool.acquire()), is(sameInstance(stage)));
+    }
+
+    @Test
+    public void release_hides_only_owned_windows_while_another_stage_is_in_use() throws Exception {
+        // given:
+        StagePool stagePool = new StagePoolImpl(PrimaryStageApplication.PRIMARY_STAGE_FUTURE);
+        Stage firstStage = waitFor(5, TimeUnit.SECONDS, stagePool.acquire());
+        Stage secondStage = waitFor(5, TimeUnit.SECONDS, stagePool.acquire());
+        Stage ownedWindow = waitForAsyncFx(2000, () -> {
+            Stage window = new Stage();
+            window.initOwner(secondStage);
+            window.show();
+            return window;
+        });
+        Stage otherWindow = waitForAsyncFx(2000, () -> {
+            Stage window = new Stage();
+            window.show();
+            return window;
+        });
+
+        try {
+            // when:
+            waitFor(5, TimeUnit.SECONDS, stagePool.release(secondStage));
+
+            // then:
+            assertThat(ownedWindow.isShowing(), is(false));
+            assertThat(otherWindow.isShowing(), is(true));
+        }
+        finally {
+            waitForAsyncFx(2000, otherWindow::hide);
+            waitFor(5, TimeUnit.SECONDS, stagePool.release(firstStage));
+        }
+    }
+
+}
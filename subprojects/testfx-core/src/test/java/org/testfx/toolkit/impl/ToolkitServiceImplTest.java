@@ -19,6 +19,7 @@ package org.testfx.toolkit.impl;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Parent;
@@ -38,7 +39,9 @@ import org.testfx.toolkit.PrimaryStageApplication;
 import org.testfx.toolkit.ToolkitService;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.testfx.util.WaitForAsyncUtils.sleep;
 import static org.testfx.util.WaitForAsyncUtils.waitFor;
@@ -103,6 +106,32 @@ public class ToolkitServiceImplTest {
         assertThat(scene, instanceOf(FixtureScene.class));
     }
 
+    @Test
+    public void should_reuse_cached_scene_root() throws Exception {
+        // given:
+        AtomicInteger constructions = new AtomicInteger();
+        AtomicInteger resets = new AtomicInteger();
+        Parent firstRoot = waitFor(5, TimeUnit.SECONDS, toolkitService.setupCachedSceneRoot(primaryStage, "fixture",
+            () -> {
+                constructions.incrementAndGet();
+                return new StackPane(new Label("cached"));
+            }, parent -> resets.incrementAndGet()));
+
+        // when:
+        Parent secondRoot = waitFor(5, TimeUnit.SECONDS, toolkitService.setupCachedSceneRoot(primaryStage, "fixture",
+            () -> {
+                constructions.incrementAndGet();
+                return new StackPane(new Label("cached"));
+            }, parent -> resets.incrementAndGet()));
+        toolkitService.clearCachedSceneRoots();
+
+        // then:
+        assertThat(secondRoot, sameInstance(firstRoot));
+        assertThat(primaryStage.getScene().getRoot(), sameInstance(firstRoot));
+        assertThat(constructions.get(), is(1));
+        assertThat(resets.get(), is(1));
+    }
+
     public static class FixtureApplication extends Application {
         @Override
         public void init() {
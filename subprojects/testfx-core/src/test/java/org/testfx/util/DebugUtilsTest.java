@@ -16,6 +16,10 @@
  */
 package org.testfx.util;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -23,6 +27,8 @@ import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 
 import org.hamcrest.BaseMatcher;
@@ -42,9 +48,11 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.testfx.api.FxAssert.verifyThat;
+import static org.testfx.util.DebugUtils.captureNode;
 import static org.testfx.util.DebugUtils.compose;
 import static org.testfx.util.DebugUtils.insertHeader;
 import static org.testfx.util.DebugUtils.runCode;
+import static org.testfx.util.DebugUtils.saveScreenshotOnce;
 import static org.testfx.util.DebugUtils.showFiredEvents;
 import static org.testfx.util.DebugUtils.showKeysPressedAtTestFailure;
 import static org.testfx.util.DebugUtils.showMouseButtonsPressedAtTestFailure;
@@ -169,6 +177,25 @@ public class DebugUtilsTest extends TestCaseBase {
         assertThat(error.getMessage(), not(containsString("ScrollEvent")));
     }
 
+    @Test
+    public void saveIdenticalScreenshotOnlyOncePerTest() throws Exception {
+        // given:
+        Object test = new Object();
+        Rectangle node = new Rectangle(40, 30, Color.CORAL);
+
+        // when:
+        AssertionError first = getThrownErrorPostMapper(saveScreenshotOnce(test, captureNode(node), INDENT));
+        AssertionError second = getThrownErrorPostMapper(saveScreenshotOnce(test, captureNode(node), INDENT));
+
+        // then:
+        assertThat(second.getMessage(), equalTo(first.getMessage()));
+        assertThat(FailureScreenshots.awaitPendingWrites(10, TimeUnit.SECONDS), is(true));
+        String message = first.getMessage();
+        Path path = Paths.get(message.substring(message.lastIndexOf('\n') + 1).trim());
+        assertThat(Files.exists(path), is(true));
+        Files.delete(path);
+    }
+
     private AssertionError getThrownErrorPostMapper(Function<StringBuilder, StringBuilder> errorMessageMapper) {
         try {
             // by returning a new StringBuilder, the resulting error message will only have
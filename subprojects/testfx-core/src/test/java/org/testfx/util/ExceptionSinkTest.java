@@ -0,0 +1,145 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class ExceptionSinkTest {
+
+    @Rule
+    public TestRule timeout = Timeout.millis(5000);
+
+    @BeforeClass
+    public static void setupSpec() throws TimeoutException {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() {
+        WaitForAsyncUtils.printException = false;
+        WaitForAsyncUtils.clearExceptions();
+    }
+
+    @After
+    public void cleanup() {
+        WaitForAsyncUtils.printException = true;
+    }
+
+    @Test
+    public void collects_exceptions_of_tasks_scheduled_while_open() throws Exception {
+        try (ExceptionSink sink = ExceptionSink.open()) {
+            // when:
+            Future<Void> future = WaitForAsyncUtils.asyncFx(() -> {
+                throw new UnsupportedOperationException();
+            });
+            waitUntilDone(future);
+
+            // then:
+            assertThat(sink.getExceptions(), hasSize(1));
+            assertThat(sink.getExceptions().get(0), instanceOf(UnsupportedOperationException.class));
+            assertThat(ExceptionSink.GLOBAL.getExceptions(), is(empty()));
+            try {
+                WaitForAsyncUtils.checkException();
+                fail("checkException didn't detect exception");
+            }
+            catch (Throwable throwable) {
+                assertThat(throwable, instanceOf(UnsupportedOperationException.class));
+            }
+            assertThat(sink.getExceptions(), is(empty()));
+        }
+    }
+
+    @Test
+    public void close_restores_previous_sink() {
+        // given:
+        ExceptionSink outerSink = ExceptionSink.open();
+        ExceptionSink innerSink = ExceptionSink.open();
+
+        // when:
+        innerSink.close();
+
+        // then:
+        assertThat(ExceptionSink.current(), is(sameInstance(outerSink)));
+        outerSink.close();
+        assertThat(ExceptionSink.current(), is(sameInstance(ExceptionSink.GLOBAL)));
+    }
+
+    @Test
+    public void collects_uncaught_exceptions_of_thread_group() throws Exception {
+        // given:
+        ThreadGroup threadGroup = new ThreadGroup("exception-sink-test");
+        try (ExceptionSink sink = ExceptionSink.open(threadGroup)) {
+            // when:
+            Thread thread = new Thread(threadGroup, () -> {
+                throw new UnsupportedOperationException();
+            });
+            thread.start();
+            thread.join();
+
+            // then:
+            assertThat(sink.getExceptions(), hasSize(1));
+            assertThat(sink.getExceptions().get(0).getCause(), instanceOf(UnsupportedOperationException.class));
+        }
+    }
+
+    @Test
+    public void cancelled_fx_task_is_not_pending() throws Exception {
+        try (ExceptionSink sink = ExceptionSink.open()) {
+            // given:
+            CountDownLatch fxThreadBlocked = new CountDownLatch(1);
+            Future<Boolean> blocker = WaitForAsyncUtils.asyncFx(() -> fxThreadBlocked.await(2, TimeUnit.SECONDS));
+            Future<Void> future = WaitForAsyncUtils.asyncFx(() -> { });
+
+            // when:
+            future.cancel(false);
+            fxThreadBlocked.countDown();
+            waitUntilDone(blocker);
+            WaitForAsyncUtils.waitForFxEvents();
+
+            // then:
+            assertThat(sink.hasPendingFxTasks(), is(false));
+            assertThat(WaitForAsyncUtils.getPendingFxTasksCount(), is(0));
+        }
+    }
+
+    private static void waitUntilDone(Future<?> future) {
+        while (!future.isDone()) {
+            WaitForAsyncUtils.sleep(10, TimeUnit.MILLISECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeoutException;
+import javafx.scene.Scene;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Region;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class FrameRecorderTest {
+
+    @Rule
+    public TestRule timeout = Timeout.millis(10000);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static Region region;
+
+    @BeforeClass
+    public static void setupSpec() throws TimeoutException {
+        FxToolkit.registerPrimaryStage();
+        FxToolkit.setupStage(stage -> {
+            region = new Region();
+            region.setStyle("-fx-background-color: red;");
+            stage.setScene(new Scene(region, 200, 100));
+            stage.show();
+        });
+        FrameRecorder.start(1024 * 1024, 100, 0);
+    }
+
+    @AfterClass
+    public static void cleanupSpec() {
+        FrameRecorder.stop();
+    }
+
+    @After
+    public void cleanup() {
+        FrameRecorder.reset();
+    }
+
+    @Test
+    public void compress_and_decompress_delta_frame() {
+        // given:
+        int[] previous = {0xFF000000, 0xFFFF0000, 0xFF00FF00, 0xFF0000FF};
+        int[] pixels = {0xFF000000, 0xFFFF0000, 0xFFFFFFFF, 0xFF0000FF};
+
+        // when:
+        byte[] data = FrameRecorder.compress(pixels, previous);
+
+        // then:
+        assertThat(FrameRecorder.decompress(data, previous, pixels.length), equalTo(pixels));
+        assertThat(FrameRecorder.decompress(FrameRecorder.compress(pixels, null), null, pixels.length),
+                equalTo(pixels));
+    }
+
+    @Test
+    public void unchanged_frames_take_a_few_bytes() {
+        // given:
+        FrameRecorder.recordFrame();
+        WaitForAsyncUtils.waitForFxEvents();
+        FrameRecorder.dumpFrames(tempFolder.getRoot().toPath(), 0);
+        int keyframeBytes = FrameRecorder.getBufferedBytes();
+
+        // when:
+        FrameRecorder.recordFrame();
+        FrameRecorder.dumpFrames(tempFolder.getRoot().toPath(), 0);
+
+        // then:
+        assertThat(FrameRecorder.getFrameCount(), is(2));
+        assertThat(FrameRecorder.getBufferedBytes() - keyframeBytes, is(lessThan(8)));
+    }
+
+    @Test
+    public void evict_oldest_frames_and_wrap_around_buffer_end() {
+        // given:
+        FrameRecorder.stop();
+        FrameRecorder.start(150, 100, 0);
+        Random random = new Random(42);
+        List<int[]> encodedFrames = new ArrayList<>();
+
+        try {
+            // when:
+            for (int i = 0; i < 7; i++) {
+                // alternating sizes make every frame a keyframe of about 50 or 62 bytes
+                int width = i % 2 == 0 ? 4 : 5;
+                int[] pixels = new int[width * 4];
+                for (int j = 0; j < pixels.length; j++) {
+                    pixels[j] = 0xFF000000 | (random.nextInt(0xFFFFFF) + 1);
+                }
+                FrameRecorder.encode(pixels, width, 4);
+                encodedFrames.add(pixels);
+            }
+            List<WritableImage> images = FrameRecorder.decodeFrames(Integer.MAX_VALUE);
+
+            // then:
+            assertThat(FrameRecorder.getFrameCount(), is(2));
+            assertThat(FrameRecorder.getBufferedBytes(), is(lessThanOrEqualTo(150)));
+            assertThat(images, hasSize(2));
+            for (int i = 0; i < images.size(); i++) {
+                WritableImage image = images.get(i);
+                int width = (int) image.getWidth();
+                int height = (int) image.getHeight();
+                int[] pixels = new int[width * height];
+                image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0,
+                        width);
+                assertThat(pixels, equalTo(encodedFrames.get(encodedFrames.size() - images.size() + i)));
+            }
+        }
+        finally {
+            FrameRecorder.stop();
+            FrameRecorder.start(1024 * 1024, 100, 0);
+        }
+    }
+
+    @Test
+    public void dump_last_frames_as_png_sequence() {
+        // given:
+        for (int i = 0; i < 3; i++) {
+            FrameRecorder.recordFrame();
+            WaitForAsyncUtils.waitForFxEvents();
+        }
+
+        // when:
+        List<Path> frames = FrameRecorder.dumpFrames(tempFolder.getRoot().toPath(), 2);
+
+        // then:
+        assertThat(frames, hasSize(2));
+        assertThat(frames.get(0).getFileName().toString(), is("frame-000.png"));
+        assertThat(Files.exists(frames.get(1)), is(true));
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+public class FxThreadWatchdogTest {
+
+    @Rule
+    public TestRule timeout = Timeout.millis(5000);
+
+    @BeforeClass
+    public static void setupSpec() throws TimeoutException {
+        FxToolkit.registerPrimaryStage();
+        FxThreadWatchdog.start(100);
+    }
+
+    @AfterClass
+    public static void cleanupSpec() {
+        FxThreadWatchdog.stop();
+    }
+
+    @After
+    public void cleanup() {
+        FxThreadWatchdog.reset();
+    }
+
+    @Test
+    public void records_stall_with_stack_sample_of_blocked_fx_thread() throws Exception {
+        // given:
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // when:
+        WaitForAsyncUtils.asyncFx(() -> blockFxThread(400)).get();
+        WaitForAsyncUtils.sleep(2 * FxThreadWatchdog.HEARTBEAT_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+
+        // then:
+        assertThat(FxThreadWatchdog.getStallCount(), is(greaterThanOrEqualTo(1)));
+        assertThat(FxThreadWatchdog.report(), containsString("blockFxThread"));
+    }
+
+    @Test
+    public void report_contains_histogram_of_fx_tasks() throws Exception {
+        // when:
+        WaitForAsyncUtils.asyncFx(() -> blockFxThread(30)).get();
+
+        // then:
+        assertThat(FxThreadWatchdog.report(), containsString("asyncFx task times:   <50ms: 1"));
+    }
+
+    private static void blockFxThread(long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException ignore) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
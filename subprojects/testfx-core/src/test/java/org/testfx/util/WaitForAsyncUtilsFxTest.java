@@ -17,9 +17,11 @@
 package org.testfx.util;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.BeforeClass;
 import org.junit.Rule;
@@ -32,6 +34,8 @@ import org.testfx.api.FxToolkit;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -115,6 +119,42 @@ public class WaitForAsyncUtilsFxTest {
         waitForThreads(future);
     }
 
+    @Test
+    public void deferFxEventsWaits_waits_once_at_end_of_scope() {
+        // given:
+        AtomicBoolean lastEventHandled = new AtomicBoolean(false);
+
+        // when:
+        WaitForAsyncUtils.deferFxEventsWaits(() -> {
+            WaitForAsyncUtils.asyncFx(() -> WaitForAsyncUtils.sleep(200, MILLISECONDS));
+            WaitForAsyncUtils.waitForFxEvents();
+            WaitForAsyncUtils.asyncFx(() -> lastEventHandled.set(true));
+
+            // then:
+            assertFalse(lastEventHandled.get());
+        });
+
+        // then:
+        assertTrue(lastEventHandled.get());
+    }
+
+    @Test
+    public void getPendingFxTasksCount_counts_tasks_not_yet_started() throws Exception {
+        // given:
+        CountDownLatch blockFxThread = new CountDownLatch(1);
+        WaitForAsyncUtils.asyncFx(() -> blockFxThread.await(500, MILLISECONDS));
+        Future<Void> pendingTask = WaitForAsyncUtils.asyncFx(() -> { });
+
+        // when:
+        int pendingCount = WaitForAsyncUtils.getPendingFxTasksCount();
+        blockFxThread.countDown();
+        WaitForAsyncUtils.waitFor(pendingTask);
+
+        // then:
+        assertTrue(pendingCount >= 1);
+        assertEquals(0, WaitForAsyncUtils.getPendingFxTasksCount());
+    }
+
     void waitForException(Future<?> f) throws InterruptedException {
         Thread.sleep(50);
         assertTrue(f.isDone());
@@ -16,6 +16,7 @@
  */
 package org.testfx.framework.junit;
 
+import java.util.concurrent.TimeUnit;
 import javafx.application.Application;
 import javafx.scene.Node;
 import javafx.scene.input.KeyCode;
@@ -26,6 +27,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.testfx.api.FxRobot;
 import org.testfx.api.FxToolkit;
+import org.testfx.util.FailureScreenshots;
+import org.testfx.util.FrameRecorder;
 
 /**
  * The base class that your JUnit test classes should extend from that interact with and/or verify the
@@ -75,6 +78,8 @@ import org.testfx.api.FxToolkit;
  */
 public abstract class ApplicationTest extends FxRobot implements ApplicationFixture {
 
+    private Stage pooledStage;
+
     public static void launch(Class<? extends Application> appClass, String... appArgs) throws Exception {
         FxToolkit.registerPrimaryStage();
         FxToolkit.setupApplication(appClass, appArgs);
@@ -83,6 +88,11 @@ public abstract class ApplicationTest extends FxRobot implements ApplicationFixt
     @Before
     public final void internalBefore() throws Exception {
         FxToolkit.registerPrimaryStage();
+        // frames recorded during earlier tests must not be saved as the frames before a failure of this test
+        FrameRecorder.reset();
+        if (FxToolkit.toolkitContext().isStageReuse()) {
+            pooledStage = FxToolkit.acquireStage();
+        }
         FxToolkit.setupApplication(() -> new ApplicationAdapter(this));
     }
 
@@ -92,8 +102,17 @@ public abstract class ApplicationTest extends FxRobot implements ApplicationFixt
         release(new KeyCode[0]);
         // release all mouse buttons
         release(new MouseButton[0]);
-        FxToolkit.cleanupStages();
-        FxToolkit.cleanupApplication(new ApplicationAdapter(this));
+        if (pooledStage != null) {
+            // keep the stage warm for the next test and only reset its content
+            FxToolkit.cleanupApplication(new ApplicationAdapter(this));
+            FxToolkit.releaseStage(pooledStage);
+            pooledStage = null;
+        } else {
+            FxToolkit.cleanupStages();
+            FxToolkit.cleanupApplication(new ApplicationAdapter(this));
+        }
+        // the failure screenshots of this test are written in the background, finish them before the next test
+        FailureScreenshots.awaitPendingWrites(10, TimeUnit.SECONDS);
     }
 
     @Override
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.framework.junit;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests that with stage reuse ({@code -Dtestfx.stage.reuse=true}) consecutive tests get the same warm stage with
+ * a fresh scene.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class StageReuseTest extends ApplicationTest {
+
+    private static Stage firstStage;
+    private static Scene firstScene;
+
+    private Stage stage;
+
+    @BeforeClass
+    public static void setupSpec() {
+        FxToolkit.toolkitContext().setStageReuse(true);
+    }
+
+    @AfterClass
+    public static void cleanupSpec() {
+        FxToolkit.toolkitContext().setStageReuse(false);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        this.stage = stage;
+        stage.setScene(new Scene(new Label("reused"), 100, 100));
+        stage.show();
+    }
+
+    @Test
+    public void a_When_a_test_uses_a_pooled_stage() {
+        firstStage = stage;
+        firstScene = stage.getScene();
+    }
+
+    @Test
+    public void b_Then_the_next_test_gets_the_same_stage_with_a_new_scene() {
+        assertThat(stage, is(sameInstance(firstStage)));
+        assertThat(stage.getScene(), is(not(sameInstance(firstScene))));
+    }
+
+}
@@ -17,10 +17,7 @@
 package org.testfx.framework.junit5;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
 import javafx.stage.Stage;
@@ -33,39 +30,26 @@ import org.junit.jupiter.api.extension.ParameterResolver;
 import org.junit.jupiter.api.extension.TestInstancePostProcessor;
 import org.testfx.api.FxRobot;
 import org.testfx.api.FxToolkit;
+import org.testfx.util.FailureScreenshots;
+import org.testfx.util.FrameRecorder;
 import org.testfx.util.WaitForAsyncUtils;
 
 public class ApplicationExtension extends FxRobot implements BeforeEachCallback, AfterEachCallback,
         TestInstancePostProcessor, ParameterResolver {
 
     private ApplicationFixture applicationFixture;
+    private Stage pooledStage;
 
     @Override
     public void postProcessTestInstance(Object testInstance, ExtensionContext context) throws Exception {
-        List<Method> init = new ArrayList<>();
-        List<Method> start = new ArrayList<>();
-        List<Method> stop = new ArrayList<>();
         Class<?> testClass = testInstance.getClass();
-        Method[] methods = testClass.getDeclaredMethods();
-        for (Method method : methods) {
-            method.setAccessible(true);
-            if (method.isAnnotationPresent(Init.class)) {
-                init.add(validateInitMethod(method));
-            }
-            if (method.isAnnotationPresent(Start.class)) {
-                start.add(validateStartMethod(method));
-            }
-            if (method.isAnnotationPresent(Stop.class)) {
-                stop.add(validateStopMethod(method));
-            }
-        }
         Field[] fields = testClass.getDeclaredFields();
         for (Field field : fields) {
             if (field.getType().isAssignableFrom(FxRobot.class)) {
                 setField(testInstance, field, this);
             }
         }
-        applicationFixture = new AnnotationBasedApplicationFixture(testInstance, init, start, stop);
+        applicationFixture = AnnotationBasedApplicationFixture.of(testInstance);
     }
 
     @Override
@@ -81,41 +65,30 @@ public class ApplicationExtension extends FxRobot implements BeforeEachCallback,
     @Override
     public void beforeEach(ExtensionContext context) throws Exception {
         FxToolkit.registerPrimaryStage();
+        // frames recorded during earlier tests must not be saved as the frames before a failure of this test
+        FrameRecorder.reset();
+        if (FxToolkit.toolkitContext().isStageReuse()) {
+            pooledStage = FxToolkit.acquireStage();
+        }
         FxToolkit.setupApplication(() -> new ApplicationAdapter(applicationFixture));
     }
 
     @Override
     public void afterEach(ExtensionContext context) throws Exception {
         FxToolkit.cleanupApplication(new ApplicationAdapter(applicationFixture));
+        if (pooledStage != null) {
+            // keep the stage warm for the next test and only reset its content
+            FxToolkit.releaseStage(pooledStage);
+            pooledStage = null;
+        }
         // Cleaning the remaining UI events (e.g. a mouse press that is still waiting for a mouse release)
         // Not cleaning these events may have side-effects on the next UI tests
         release(new KeyCode[0]);
         release(new MouseButton[0]);
         // Required to wait for the end of the UI events processing
         WaitForAsyncUtils.waitForFxEvents();
-    }
-
-    private Method validateInitMethod(Method initMethod) {
-        if (initMethod.getParameterCount() != 0) {
-            throw new IllegalStateException("Method annotated with @Init should have no arguments");
-        }
-        return initMethod;
-    }
-
-    private Method validateStartMethod(Method startMethod) {
-        Class<?>[] parameterTypes = startMethod.getParameterTypes();
-        if (parameterTypes.length != 1 || !parameterTypes[0].isAssignableFrom(javafx.stage.Stage.class)) {
-            throw new IllegalStateException("Method annotated with @Start should have one argument of type " +
-                    "javafx.stage.Stage");
-        }
-        return startMethod;
-    }
-
-    private Method validateStopMethod(Method stopMethod) {
-        if (stopMethod.getParameterCount() != 0) {
-            throw new IllegalStateException("Method annotated with @Stop should have no arguments");
-        }
-        return stopMethod;
+        // the failure screenshots of this test are written in the background, finish them before the next test
+        FailureScreenshots.awaitPendingWrites(10, TimeUnit.SECONDS);
     }
 
     private void setField(Object instance, Field field, Object val) throws IllegalAccessException {
@@ -129,42 +102,4 @@ public class ApplicationExtension extends FxRobot implements BeforeEachCallback,
         }
     }
 
-    private static class AnnotationBasedApplicationFixture implements ApplicationFixture {
-
-        private final Object testInstance;
-        private final List<Method> init;
-        private final List<Method> start;
-        private final List<Method> stop;
-
-        private AnnotationBasedApplicationFixture(Object testInstance, List<Method> init,
-                                                  List<Method> start, List<Method> stop) {
-            this.testInstance = testInstance;
-            this.init = init;
-            this.start = start;
-            this.stop = stop;
-        }
-
-        @Override
-        public void init() throws InvocationTargetException, IllegalAccessException {
-            for (Method method : init) {
-                method.invoke(testInstance);
-            }
-        }
-
-        @Override
-        public void start(Stage stage) throws InvocationTargetException, IllegalAccessException {
-            for (Method method : start) {
-                method.invoke(testInstance, stage);
-            }
-        }
-
-        @Override
-        public void stop() throws InvocationTargetException, IllegalAccessException {
-            for (Method method : stop) {
-                method.invoke(testInstance);
-            }
-        }
-
-    }
-
 }
@@ -16,6 +16,7 @@
  */
 package org.testfx.framework.junit5;
 
+import java.util.concurrent.TimeUnit;
 import javafx.application.Application;
 import javafx.application.Application.Parameters;
 import javafx.application.HostServices;
@@ -28,9 +29,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.testfx.api.FxRobot;
 import org.testfx.api.FxToolkit;
+import org.testfx.util.FailureScreenshots;
+import org.testfx.util.FrameRecorder;
 
 public abstract class ApplicationTest extends FxRobot implements ApplicationFixture {
 
+    private Stage pooledStage;
+
     public static void launch(Class<? extends Application> appClass, String... appArgs) throws Exception {
         FxToolkit.registerPrimaryStage();
         FxToolkit.setupApplication(appClass, appArgs);
@@ -39,6 +44,11 @@ public abstract class ApplicationTest extends FxRobot implements ApplicationFixt
     @BeforeEach
     public final void internalBefore() throws Exception {
         FxToolkit.registerPrimaryStage();
+        // frames recorded during earlier tests must not be saved as the frames before a failure of this test
+        FrameRecorder.reset();
+        if (FxToolkit.toolkitContext().isStageReuse()) {
+            pooledStage = FxToolkit.acquireStage();
+        }
         FxToolkit.setupApplication(() -> new ApplicationAdapter(this));
     }
 
@@ -48,8 +58,17 @@ public abstract class ApplicationTest extends FxRobot implements ApplicationFixt
         release(new KeyCode[0]);
         // release all mouse buttons
         release(new MouseButton[0]);
-        FxToolkit.cleanupStages();
-        FxToolkit.cleanupApplication(new ApplicationAdapter(this));
+        if (pooledStage != null) {
+            // keep the stage warm for the next test and only reset its content
+            FxToolkit.cleanupApplication(new ApplicationAdapter(this));
+            FxToolkit.releaseStage(pooledStage);
+            pooledStage = null;
+        } else {
+            FxToolkit.cleanupStages();
+            FxToolkit.cleanupApplication(new ApplicationAdapter(this));
+        }
+        // the failure screenshots of this test are written in the background, finish them before the next test
+        FailureScreenshots.awaitPendingWrites(10, TimeUnit.SECONDS);
     }
 
     @Override
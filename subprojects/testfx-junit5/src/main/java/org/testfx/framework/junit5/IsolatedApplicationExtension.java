@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.framework.junit5;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Application;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.stage.Stage;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.testfx.api.FxRobot;
+import org.testfx.api.FxRobotContext;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.ExceptionSink;
+import org.testfx.util.FailureScreenshots;
+import org.testfx.util.FrameRecorder;
+import org.testfx.util.WaitForAsyncUtils;
+
+/**
+ * Like {@link ApplicationExtension}, but safe for JUnit 5 parallel execution
+ * ({@code junit.jupiter.execution.parallel.enabled=true}): every test gets its own stage from the stage pool and
+ * its own {@link FxRobot} whose {@link FxRobotContext#FxRobotContext(javafx.stage.Window) context} only sees
+ * (and only sends input to) that stage and the windows it owns. Requires the headless robot adapter
+ * ({@code -Dtestfx.robot=headless}). Exceptions of the {@code async} methods of {@link WaitForAsyncUtils} called by
+ * a test are collected in its own {@link ExceptionSink}, the ones the test did not check fail it after it ran.
+ * Uncaught exceptions of the JavaFX Application Thread itself (e.g. thrown by event handlers) cannot be attributed
+ * to a test and are not reported to it.
+ * <p>
+ * The robot is injected into {@link FxRobot} fields before each test and can be declared as a test method
+ * parameter. Tests have to look up nodes with that robot (e.g. {@code verifyThat(robot.lookup(".button"), ...)}),
+ * as the static lookups of {@link org.testfx.api.FxAssert} search all windows. Test instances must use the default
+ * per-method lifecycle.
+ */
+public class IsolatedApplicationExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final Namespace NAMESPACE = Namespace.create(IsolatedApplicationExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType().isAssignableFrom(FxRobot.class);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(FxRobot.class, FxRobot.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws Exception {
+        Object testInstance = context.getRequiredTestInstance();
+        FxToolkit.registerPrimaryStage();
+        // frames recorded during earlier tests must not be saved as the frames before a failure of this test
+        FrameRecorder.reset();
+        Stage stage = FxToolkit.acquireIsolatedStage();
+        FxRobot robot = new FxRobot(new FxRobotContext(stage));
+        ExtensionContext.Store store = context.getStore(NAMESPACE);
+        store.put(ExceptionSink.class, ExceptionSink.open());
+        store.put(Stage.class, stage);
+        store.put(FxRobot.class, robot);
+        for (Field field : testInstance.getClass().getDeclaredFields()) {
+            if (field.getType().isAssignableFrom(FxRobot.class)) {
+                setField(testInstance, field, robot);
+            }
+        }
+        ApplicationFixture applicationFixture = AnnotationBasedApplicationFixture.of(testInstance);
+        Application application = FxToolkit.setupApplication(stage, () -> new ApplicationAdapter(applicationFixture));
+        store.put(Application.class, application);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        ExtensionContext.Store store = context.getStore(NAMESPACE);
+        FxRobot robot = store.remove(FxRobot.class, FxRobot.class);
+        Application application = store.remove(Application.class, Application.class);
+        Stage stage = store.remove(Stage.class, Stage.class);
+        if (robot != null) {
+            // release what is still pressed, so that it does not leak into the next test using this stage
+            robot.release(new KeyCode[0]);
+            robot.release(new MouseButton[0]);
+        }
+        if (application != null) {
+            FxToolkit.cleanupApplication(application);
+        }
+        if (stage != null) {
+            FxToolkit.releaseStage(stage);
+        }
+        // the failure screenshots of this test are written in the background, finish them before the next test
+        FailureScreenshots.awaitPendingWrites(10, TimeUnit.SECONDS);
+        ExceptionSink sink = store.remove(ExceptionSink.class, ExceptionSink.class);
+        if (sink != null) {
+            sink.close();
+            // the exceptions the test did not check would get lost with its sink
+            List<Throwable> exceptions = sink.getExceptions();
+            if (!exceptions.isEmpty()) {
+                AssertionError error = new AssertionError("unchecked exception in an async task of the test",
+                        exceptions.get(0));
+                exceptions.stream().skip(1).forEach(error::addSuppressed);
+                throw error;
+            }
+        }
+    }
+
+    private void setField(Object instance, Field field, Object val) throws IllegalAccessException {
+        boolean wasAccessible = field.isAccessible();
+        try {
+            field.setAccessible(true);
+            field.set(instance, val);
+        }
+        finally {
+            field.setAccessible(wasAccessible);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2021 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.framework.junit5;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Scene;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.testfx.api.FxRobot;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Runs two tests at the same time, each on its own pooled stage, and checks that input and lookups of one test do
+ * not reach the stage of the other.
+ */
+@ExtendWith(IsolatedApplicationExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
+class IsolatedApplicationExtensionTest {
+
+    private static final CyclicBarrier BOTH_TESTS_STARTED = new CyclicBarrier(2);
+    private static String robotProperty;
+
+    FxRobot robot;
+    TextField field;
+
+    @BeforeAll
+    static void useHeadlessRobot() {
+        robotProperty = System.setProperty("testfx.robot", "headless");
+    }
+
+    @AfterAll
+    static void restoreRobot() {
+        if (robotProperty == null) {
+            System.clearProperty("testfx.robot");
+        }
+        else {
+            System.setProperty("testfx.robot", robotProperty);
+        }
+    }
+
+    @Start
+    void start(Stage stage) {
+        field = new TextField();
+        field.setId("field");
+        stage.setScene(new Scene(new StackPane(field), 200, 100));
+        stage.show();
+    }
+
+    @Test
+    void first_test_writes_only_into_its_own_stage() throws Exception {
+        writeIntoField("first");
+    }
+
+    @Test
+    void second_test_writes_only_into_its_own_stage() throws Exception {
+        writeIntoField("second");
+    }
+
+    private void writeIntoField(String text) throws Exception {
+        // given:
+        BOTH_TESTS_STARTED.await(10, TimeUnit.SECONDS);
+
+        // when:
+        robot.clickOn("#field").write(text);
+
+        // then:
+        assertThat(field.getText(), is(text));
+        assertThat(robot.lookup("#field").query(), is(sameInstance(field)));
+    }
+
+}
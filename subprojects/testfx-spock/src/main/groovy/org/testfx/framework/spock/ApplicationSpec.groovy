@@ -16,12 +16,15 @@
  */
 package org.testfx.framework.spock
 
+import java.util.concurrent.TimeUnit
 import javafx.application.Application
 import javafx.scene.input.KeyCode
 import javafx.scene.input.MouseButton
 import javafx.stage.Stage
 import org.testfx.api.FxRobot
 import org.testfx.api.FxToolkit
+import org.testfx.util.FailureScreenshots
+import org.testfx.util.FrameRecorder
 import spock.lang.Specification
 
 /**
@@ -53,6 +56,8 @@ abstract class ApplicationSpec extends Specification implements ApplicationFixtu
     @Delegate
     private final FxRobot robot = new FxRobot()
 
+    private Stage pooledStage
+
     static void launch(Class<? extends Application> appClass,
                               String... appArgs) throws Exception {
         FxToolkit.registerPrimaryStage()
@@ -69,6 +74,11 @@ abstract class ApplicationSpec extends Specification implements ApplicationFixtu
 
     final void internalBefore() throws Exception {
         FxToolkit.registerPrimaryStage()
+        // frames recorded during earlier tests must not be saved as the frames before a failure of this test
+        FrameRecorder.reset()
+        if (FxToolkit.toolkitContext().isStageReuse()) {
+            pooledStage = FxToolkit.acquireStage()
+        }
         FxToolkit.setupApplication { new ApplicationAdapter(this) }
     }
 
@@ -78,6 +88,13 @@ abstract class ApplicationSpec extends Specification implements ApplicationFixtu
         // release all mouse buttons
         release(new MouseButton[0])
         FxToolkit.cleanupApplication(new ApplicationAdapter(this))
+        if (pooledStage != null) {
+            // keep the stage warm for the next feature and only reset its content
+            FxToolkit.releaseStage(pooledStage)
+            pooledStage = null
+        }
+        // the failure screenshots of this feature are written in the background, finish them before the next one
+        FailureScreenshots.awaitPendingWrites(10, TimeUnit.SECONDS)
     }
 
     @Override